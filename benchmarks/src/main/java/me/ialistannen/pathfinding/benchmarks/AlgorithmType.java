@@ -0,0 +1,62 @@
+package me.ialistannen.pathfinding.benchmarks;
+
+import java.util.function.Supplier;
+import me.ialistannen.pathfinding.visualize.algorithms.anyangle.ThetaStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.astar.AStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.astar.AnytimeAStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.base.BaseAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.bfsgreedy.GreedyBFSAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.bidirectional.BidirectionalAStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.bidirectional.BidirectionalDijkstraAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.breadthfirst.BreadthFirstAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.depthfirst.DepthFirstSearch;
+import me.ialistannen.pathfinding.visualize.algorithms.dial.DialAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.dijkstra.DijkstraAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DefaultDistanceFunction;
+import me.ialistannen.pathfinding.visualize.algorithms.jps.BlockJumpPointSearchAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.jps.JumpPointSearchAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.jps.JumpPointSearchPlusAlgorithm;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * The algorithms under benchmark, configured like the GUI defaults (diagonal moves, euclidean
+ * heuristic). Dial's algorithm only supports straight moves.
+ */
+public enum AlgorithmType {
+  DIJKSTRA(() -> new DijkstraAlgorithm(Direction.WITH_DIAGONAL)),
+  DIJKSTRA_STRAIGHT(() -> new DijkstraAlgorithm(Direction.NO_DIAGONAL)),
+  DIAL(DialAlgorithm::new),
+  A_STAR(() -> new AStarAlgorithm(DefaultDistanceFunction.EUCLIDEAN, Direction.WITH_DIAGONAL)),
+  ANYTIME_A_STAR(() -> new AnytimeAStarAlgorithm(
+      DefaultDistanceFunction.EUCLIDEAN, Direction.WITH_DIAGONAL, 3, 0.5
+  )),
+  THETA_STAR(() -> new ThetaStarAlgorithm(
+      DefaultDistanceFunction.EUCLIDEAN, Direction.WITH_DIAGONAL
+  )),
+  BIDIRECTIONAL_DIJKSTRA(() -> new BidirectionalDijkstraAlgorithm(Direction.WITH_DIAGONAL)),
+  BIDIRECTIONAL_A_STAR(() -> new BidirectionalAStarAlgorithm(
+      DefaultDistanceFunction.EUCLIDEAN, Direction.WITH_DIAGONAL
+  )),
+  JPS(() -> new JumpPointSearchAlgorithm(DefaultDistanceFunction.EUCLIDEAN)),
+  JPS_PLUS(() -> new JumpPointSearchPlusAlgorithm(DefaultDistanceFunction.EUCLIDEAN)),
+  BLOCK_JPS(() -> new BlockJumpPointSearchAlgorithm(DefaultDistanceFunction.EUCLIDEAN)),
+  GREEDY_BFS(() -> new GreedyBFSAlgorithm(
+      Direction.WITH_DIAGONAL, DefaultDistanceFunction.EUCLIDEAN
+  )),
+  BREADTH_FIRST(() -> new BreadthFirstAlgorithm(Direction.WITH_DIAGONAL)),
+  DEPTH_FIRST(() -> new DepthFirstSearch(Direction.WITH_DIAGONAL));
+
+  private final Supplier<BaseAlgorithm<DefaultGridState>> factory;
+
+  AlgorithmType(Supplier<BaseAlgorithm<DefaultGridState>> factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * @return a new instance of the algorithm
+   */
+  public BaseAlgorithm<DefaultGridState> create() {
+    return factory.get();
+  }
+}
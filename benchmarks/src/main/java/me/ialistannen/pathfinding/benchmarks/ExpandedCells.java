@@ -0,0 +1,38 @@
+package me.ialistannen.pathfinding.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.AuxCounters.Type;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the cells the searches expanded, reported by JMH next to the score.
+ *
+ * <p>Both counters are totals per iteration, so {@code expandedCells / queries} is the amount of
+ * cells expanded by a single search.</p>
+ */
+@State(Scope.Thread)
+@AuxCounters(Type.EVENTS)
+public class ExpandedCells {
+
+  public long expandedCells;
+  public long queries;
+
+  @Setup(Level.Iteration)
+  public void clear() {
+    expandedCells = 0;
+    queries = 0;
+  }
+
+  /**
+   * Records a single search.
+   *
+   * @param expanded the amount of cells the search expanded
+   */
+  void record(int expanded) {
+    expandedCells += expanded;
+    queries++;
+  }
+}
@@ -0,0 +1,117 @@
+package me.ialistannen.pathfinding.benchmarks;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.GridSnapshot;
+import me.ialistannen.pathfinding.visualize.algorithms.astar.AStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.base.SearchState;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DefaultDistanceFunction;
+import me.ialistannen.pathfinding.visualize.algorithms.flowfield.FlowField;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Moves a crowd of agents at random cells to the center of a generated grid, either with one A*
+ * per agent or with a single {@link FlowField} that all agents follow.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowFieldBenchmark {
+
+  private static final long SEED = 42;
+
+  @Param({"OPEN", "RANDOM", "MAZE", "ROOMS", "TERRAIN"})
+  public GridType gridType;
+
+  @Param({"256"})
+  public int size;
+
+  @Param({"1", "16", "256"})
+  public int agentCount;
+
+  private AStarAlgorithm aStar;
+  private GridSnapshot snapshot;
+  private int[] agents;
+  private int goal;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    aStar = new AStarAlgorithm(DefaultDistanceFunction.EUCLIDEAN, Direction.WITH_DIAGONAL);
+    AlgorithmGrid<DefaultGridState> grid = gridType.generate(size, size, SEED);
+
+    goal = closestPassable(grid, size / 2 * size + size / 2);
+    snapshot = grid.snapshot();
+
+    Random random = new Random(SEED);
+    agents = new int[agentCount];
+    for (int i = 0; i < agents.length; i++) {
+      agents[i] = closestPassable(grid, random.nextInt(size * size));
+    }
+  }
+
+  /**
+   * Searches a path for every agent.
+   *
+   * @return the summed up path costs
+   */
+  @Benchmark
+  public double searchPerAgent() {
+    double cost = 0;
+    for (int agent : agents) {
+      cost += aStar.findPath(snapshot, agent, goal).getCost();
+    }
+    return cost;
+  }
+
+  /**
+   * Builds one flow field and walks every agent along it to the goal.
+   *
+   * @return the summed up amount of steps
+   */
+  @Benchmark
+  public long followFlowField() {
+    FlowField flowField = FlowField.build(
+        snapshot,
+        Collections.singletonList(new GridCoordinate(goal % size, goal / size)),
+        Direction.WITH_DIAGONAL
+    );
+
+    long steps = 0;
+    for (int agent : agents) {
+      for (int cell = flowField.getNextCell(agent); cell != SearchState.NO_CELL;
+          cell = flowField.getNextCell(cell)) {
+        steps++;
+      }
+    }
+    return steps;
+  }
+
+  private int closestPassable(AlgorithmGrid<DefaultGridState> grid, int cell) {
+    for (int offset = 0; offset < size * size; offset++) {
+      int candidate = (cell + offset) % (size * size);
+      if (grid.isPassable(candidate % size, candidate / size)) {
+        return candidate;
+      }
+    }
+    throw new IllegalStateException("Grid has no passable cell");
+  }
+}
@@ -0,0 +1,170 @@
+package me.ialistannen.pathfinding.benchmarks;
+
+import java.util.Random;
+import me.ialistannen.collections.IntArrayDeque;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+
+/**
+ * The kinds of grids the benchmarks run on. All generators are deterministic for a given seed.
+ */
+public enum GridType {
+  /**
+   * A grid without any walls.
+   */
+  OPEN {
+    @Override
+    void carve(AlgorithmGrid<DefaultGridState> grid, Random random) {
+      // nothing to do
+    }
+  },
+  /**
+   * A grid where roughly a quarter of all cells are walls.
+   */
+  RANDOM {
+    @Override
+    void carve(AlgorithmGrid<DefaultGridState> grid, Random random) {
+      for (int row = 0; row < grid.getHeight(); row++) {
+        for (int column = 0; column < grid.getWidth(); column++) {
+          if (random.nextInt(4) == 0) {
+            grid.setStateAt(column, row, DefaultGridState.WALL);
+          }
+        }
+      }
+    }
+  },
+  /**
+   * A perfect maze with corridors of width one, made by a randomized depth first search.
+   */
+  MAZE {
+    @Override
+    void carve(AlgorithmGrid<DefaultGridState> grid, Random random) {
+      int width = grid.getWidth();
+      int height = grid.getHeight();
+      fill(grid, DefaultGridState.WALL);
+
+      // rooms are at even coordinates, the cells between them are the walls we can break
+      int roomColumns = (width + 1) / 2;
+      int roomRows = (height + 1) / 2;
+      boolean[] visited = new boolean[roomColumns * roomRows];
+      int[] neighbours = new int[4];
+
+      IntArrayDeque stack = new IntArrayDeque();
+      stack.addLast(0);
+      visited[0] = true;
+      grid.setStateAt(0, 0, DefaultGridState.EMPTY);
+
+      while (!stack.isEmpty()) {
+        int room = stack.pollLast();
+        int column = room % roomColumns;
+        int row = room / roomColumns;
+
+        int count = 0;
+        if (column > 0 && !visited[room - 1]) {
+          neighbours[count++] = room - 1;
+        }
+        if (column < roomColumns - 1 && !visited[room + 1]) {
+          neighbours[count++] = room + 1;
+        }
+        if (row > 0 && !visited[room - roomColumns]) {
+          neighbours[count++] = room - roomColumns;
+        }
+        if (row < roomRows - 1 && !visited[room + roomColumns]) {
+          neighbours[count++] = room + roomColumns;
+        }
+        if (count == 0) {
+          continue;
+        }
+
+        int next = neighbours[random.nextInt(count)];
+        int nextColumn = next % roomColumns;
+        int nextRow = next / roomColumns;
+        visited[next] = true;
+
+        grid.setStateAt(column + nextColumn, row + nextRow, DefaultGridState.EMPTY);
+        grid.setStateAt(nextColumn * 2, nextRow * 2, DefaultGridState.EMPTY);
+
+        stack.addLast(room);
+        stack.addLast(next);
+      }
+    }
+  },
+  /**
+   * A grid without walls, where every cell has a random cost between 1 and 9.
+   */
+  TERRAIN {
+    @Override
+    void carve(AlgorithmGrid<DefaultGridState> grid, Random random) {
+      for (int row = 0; row < grid.getHeight(); row++) {
+        for (int column = 0; column < grid.getWidth(); column++) {
+          grid.setCostAt(column, row, 1 + random.nextInt(9));
+        }
+      }
+    }
+  },
+  /**
+   * Square rooms separated by walls, with a door in every wall.
+   */
+  ROOMS {
+    private static final int ROOM_SIZE = 16;
+
+    @Override
+    void carve(AlgorithmGrid<DefaultGridState> grid, Random random) {
+      int width = grid.getWidth();
+      int height = grid.getHeight();
+
+      for (int column = ROOM_SIZE; column < width; column += ROOM_SIZE + 1) {
+        for (int row = 0; row < height; row++) {
+          grid.setStateAt(column, row, DefaultGridState.WALL);
+        }
+        for (int row = 0; row < height; row += ROOM_SIZE + 1) {
+          int door = row + random.nextInt(Math.min(ROOM_SIZE, height - row));
+          grid.setStateAt(column, door, DefaultGridState.EMPTY);
+        }
+      }
+      for (int row = ROOM_SIZE; row < height; row += ROOM_SIZE + 1) {
+        for (int column = 0; column < width; column++) {
+          if (column % (ROOM_SIZE + 1) != ROOM_SIZE) {
+            grid.setStateAt(column, row, DefaultGridState.WALL);
+          }
+        }
+        for (int column = 0; column < width; column += ROOM_SIZE + 1) {
+          int door = column + random.nextInt(Math.min(ROOM_SIZE, width - column));
+          grid.setStateAt(door, row, DefaultGridState.EMPTY);
+        }
+      }
+    }
+  };
+
+  /**
+   * Generates a new grid of this type.
+   *
+   * @param width the width of the grid
+   * @param height the height of the grid
+   * @param seed the seed for the random number generator
+   * @return the generated grid
+   */
+  public AlgorithmGrid<DefaultGridState> generate(int width, int height, long seed) {
+    AlgorithmGrid<DefaultGridState> grid = new AlgorithmGrid<>(
+        DefaultGridState.EMPTY, width, height
+    );
+    carve(grid, new Random(seed));
+    return grid;
+  }
+
+  /**
+   * Carves the structure of this grid type into an empty grid.
+   *
+   * @param grid the grid
+   * @param random the random number generator to use
+   */
+  abstract void carve(AlgorithmGrid<DefaultGridState> grid, Random random);
+
+  private static void fill(AlgorithmGrid<DefaultGridState> grid, DefaultGridState state) {
+    for (int row = 0; row < grid.getHeight(); row++) {
+      for (int column = 0; column < grid.getWidth(); column++) {
+        grid.setStateAt(column, row, state);
+      }
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package me.ialistannen.pathfinding.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.PassabilityBitmap;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.algorithms.base.SearchState;
+import me.ialistannen.pathfinding.visualize.algorithms.breadthfirst.BitParallelBreadthFirstSearch;
+import me.ialistannen.pathfinding.visualize.algorithms.breadthfirst.BreadthFirstAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.breadthfirst.ParallelBreadthFirstSearch;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Floods a whole generated grid from its top left cell, with the sequential
+ * {@link BreadthFirstAlgorithm}, the {@link BitParallelBreadthFirstSearch} and the
+ * {@link ParallelBreadthFirstSearch} on pools of different sizes. All of them move straight only,
+ * so they compute the same distances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParallelBreadthFirstBenchmark {
+
+  private static final long SEED = 42;
+
+  @Param({"OPEN", "RANDOM", "MAZE"})
+  public GridType gridType;
+
+  @Param({"1024", "4096"})
+  public int size;
+
+  @Param({"1", "2", "4", "8"})
+  public int threads;
+
+  private ForkJoinPool pool;
+  private ParallelBreadthFirstSearch parallelSearch;
+  private BreadthFirstAlgorithm sequentialSearch;
+  private BitParallelBreadthFirstSearch bitParallelSearch;
+  private PassabilityBitmap bitmap;
+  private int source;
+  private int target;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    AlgorithmGrid<DefaultGridState> grid = gridType.generate(size, size, SEED);
+    bitmap = PassabilityBitmap.of(grid);
+
+    source = 0;
+    while (!bitmap.isPassable(source % size, source / size)) {
+      source++;
+    }
+    target = size * size - 1;
+    while (!bitmap.isPassable(target % size, target / size)) {
+      target--;
+    }
+
+    pool = new ForkJoinPool(threads);
+    parallelSearch = new ParallelBreadthFirstSearch(Direction.NO_DIAGONAL, pool);
+    sequentialSearch = new BreadthFirstAlgorithm(Direction.NO_DIAGONAL);
+    bitParallelSearch = new BitParallelBreadthFirstSearch();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  /**
+   * The sequential baseline. It does not use the pool, so it only needs to be compared for one
+   * thread count.
+   *
+   * @return the (not found) result
+   */
+  @Benchmark
+  public PathResult sequential() {
+    return sequentialSearch.findPath(bitmap, source, SearchState.NO_CELL);
+  }
+
+  /**
+   * The search expanding 64 cells at once, which does not use the pool either.
+   *
+   * @return the depths of all cells
+   */
+  @Benchmark
+  public int[] bitParallel() {
+    return bitParallelSearch.computeDepths(
+        bitmap, Collections.singletonList(new GridCoordinate(source % size, source / size))
+    );
+  }
+
+  /**
+   * Only checks whether the last passable cell can be reached, filling whole runs of cells.
+   *
+   * @return true if it can be reached
+   */
+  @Benchmark
+  public boolean bitParallelReachability() {
+    return bitParallelSearch.canReach(bitmap, source, target);
+  }
+
+  /**
+   * The level synchronous search on a pool with {@link #threads} workers.
+   *
+   * @return the levels of all cells
+   */
+  @Benchmark
+  public int[] parallel() {
+    return parallelSearch.computeLevels(
+        bitmap, Collections.singletonList(new GridCoordinate(source % size, source / size))
+    );
+  }
+}
@@ -0,0 +1,125 @@
+package me.ialistannen.pathfinding.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.ConnectivityIndex;
+import me.ialistannen.pathfinding.visualize.algorithms.astar.AStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.cache.PathCache;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DefaultDistanceFunction;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Repeats a fixed set of queries on a generated grid, adding or removing a random wall between
+ * two rounds, with and without a {@link PathCache}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathCacheBenchmark {
+
+  private static final long SEED = 42;
+  private static final int QUERY_COUNT = 64;
+
+  @Param({"OPEN", "RANDOM", "ROOMS"})
+  public GridType gridType;
+
+  @Param({"512"})
+  public int size;
+
+  private AlgorithmGrid<DefaultGridState> grid;
+  private AStarAlgorithm aStar;
+  private PathCache cache;
+  private Random random;
+  private int[] starts;
+  private int[] goals;
+  private int toggledWall;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    grid = gridType.generate(size, size, SEED);
+    aStar = new AStarAlgorithm(DefaultDistanceFunction.OCTILE, Direction.WITH_DIAGONAL);
+    cache = new PathCache(grid, QUERY_COUNT);
+    random = new Random(SEED);
+    toggledWall = -1;
+
+    // short queries between connected cells, like units moving around in a part of the map
+    ConnectivityIndex connectivityIndex = new ConnectivityIndex(grid.snapshot());
+    starts = new int[QUERY_COUNT];
+    goals = new int[QUERY_COUNT];
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      do {
+        int column = random.nextInt(size - 32);
+        int row = random.nextInt(size - 32);
+        starts[i] = row * size + column;
+        goals[i] = (row + random.nextInt(32)) * size + column + random.nextInt(32);
+      } while (!connectivityIndex.canReach(starts[i], goals[i]));
+    }
+  }
+
+  /**
+   * Searches every query again.
+   *
+   * @return the summed up path costs
+   */
+  @Benchmark
+  public double uncached() {
+    toggleRandomWall();
+
+    double cost = 0;
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      cost += aStar.findPath(grid, starts[i], goals[i]).getCost();
+    }
+    return cost;
+  }
+
+  /**
+   * Only searches the queries whose results the toggled wall might have changed.
+   *
+   * @return the summed up path costs
+   */
+  @Benchmark
+  public double cached() {
+    toggleRandomWall();
+
+    double cost = 0;
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      cost += cache.findPath(aStar, starts[i], goals[i]).getCost();
+    }
+    return cost;
+  }
+
+  /**
+   * Adds a wall at a random empty cell or removes the wall added last, so the grid stays close
+   * to the generated one.
+   */
+  private void toggleRandomWall() {
+    if (toggledWall >= 0) {
+      grid.setStateAt(toggledWall % size, toggledWall / size, DefaultGridState.EMPTY);
+      toggledWall = -1;
+      return;
+    }
+
+    int cell = random.nextInt(size * size);
+    if (grid.getStateAt(cell % size, cell / size) == DefaultGridState.EMPTY) {
+      grid.setStateAt(cell % size, cell / size, DefaultGridState.WALL);
+      toggledWall = cell;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package me.ialistannen.pathfinding.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.GridSnapshot;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.algorithms.base.BaseAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.steps.PackedStepRecorder;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs a single query between the first and the last passable cell of a generated grid.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate. The expanded cells are reported as
+ * auxiliary counters, see {@link ExpandedCells}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindingBenchmark {
+
+  private static final long SEED = 42;
+
+  @Param({"DIJKSTRA", "DIJKSTRA_STRAIGHT", "DIAL", "A_STAR", "BIDIRECTIONAL_DIJKSTRA",
+      "BIDIRECTIONAL_A_STAR", "JPS", "JPS_PLUS", "BLOCK_JPS", "GREEDY_BFS", "BREADTH_FIRST",
+      "DEPTH_FIRST"})
+  public AlgorithmType algorithm;
+
+  @Param({"OPEN", "RANDOM", "MAZE", "ROOMS", "TERRAIN"})
+  public GridType gridType;
+
+  @Param({"64", "256", "1024"})
+  public int size;
+
+  private BaseAlgorithm<DefaultGridState> instance;
+  private AlgorithmGrid<DefaultGridState> grid;
+  private GridSnapshot snapshot;
+  private int start;
+  private int goal;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    instance = algorithm.create();
+    grid = gridType.generate(size, size, SEED);
+
+    start = firstPassable();
+    goal = lastPassable();
+
+    grid.setStateAt(start % size, start / size, DefaultGridState.START);
+    grid.setStateAt(goal % size, goal / size, DefaultGridState.END);
+
+    snapshot = grid.snapshot();
+  }
+
+  /**
+   * A headless query, as a game or server would run it.
+   *
+   * @param counter the counter for the expanded cells
+   * @return the found path
+   */
+  @Benchmark
+  public PathResult findPath(ExpandedCells counter) {
+    PathResult result = instance.findPath(snapshot, start, goal);
+    counter.record(result.getExpandedCells());
+    return result;
+  }
+
+  /**
+   * A query as the GUI runs it, recording every step for the playback.
+   *
+   * @return the recorded steps
+   */
+  @Benchmark
+  public PackedStepRecorder<DefaultGridState> recordSteps() {
+    PackedStepRecorder<DefaultGridState> recorder = new PackedStepRecorder<>();
+    instance.compute(grid, recorder);
+    return recorder;
+  }
+
+  private int firstPassable() {
+    for (int cell = 0; cell < size * size; cell++) {
+      if (grid.isPassable(cell % size, cell / size)) {
+        return cell;
+      }
+    }
+    throw new IllegalStateException("Grid has no passable cell");
+  }
+
+  private int lastPassable() {
+    for (int cell = size * size - 1; cell >= 0; cell--) {
+      if (grid.isPassable(cell % size, cell / size)) {
+        return cell;
+      }
+    }
+    throw new IllegalStateException("Grid has no passable cell");
+  }
+}
@@ -0,0 +1,183 @@
+package me.ialistannen.pathfinding.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import me.ialistannen.pathfinding.visualize.algorithms.GridSnapshot;
+import me.ialistannen.pathfinding.visualize.algorithms.PathFinder;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.algorithms.movingai.MovingAiMapReader;
+import me.ialistannen.pathfinding.visualize.algorithms.movingai.MovingAiScenarioReader;
+import me.ialistannen.pathfinding.visualize.algorithms.movingai.ScenarioEntry;
+
+/**
+ * Runs every query of a Moving AI scenario with each algorithm, checks the path costs against the
+ * reference lengths and prints latency percentiles per bucket.
+ *
+ * <p>Usage: {@code ScenarioRunner <scen file> [map file] [algorithm...]}. If no map is given,
+ * the map named in the scenario is looked up next to the scenario file.</p>
+ *
+ * <p>The reference lengths forbid cutting corners, while the grids here allow a diagonal move if
+ * one of the two orthogonal cells is free. Paths can therefore be <em>shorter</em> than the
+ * reference, which is reported separately from suboptimal (longer) paths.</p>
+ */
+public class ScenarioRunner {
+
+  private static final double EPSILON = 1e-4;
+  private static final int WARMUP_ROUNDS = 2;
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: ScenarioRunner <scen file> [map file] [algorithm...]");
+      System.exit(1);
+    }
+
+    Path scenarioPath = Paths.get(args[0]);
+    List<ScenarioEntry> entries = MovingAiScenarioReader.read(scenarioPath);
+    if (entries.isEmpty()) {
+      System.err.println("The scenario is empty");
+      System.exit(1);
+    }
+
+    int argumentIndex = 1;
+    Path mapPath;
+    if (args.length > 1 && args[1].endsWith(".map")) {
+      mapPath = Paths.get(args[1]);
+      argumentIndex++;
+    } else {
+      mapPath = resolveMap(scenarioPath, entries.get(0).getMapName());
+    }
+
+    List<AlgorithmType> algorithms = new ArrayList<>();
+    for (int i = argumentIndex; i < args.length; i++) {
+      algorithms.add(AlgorithmType.valueOf(args[i]));
+    }
+    if (algorithms.isEmpty()) {
+      algorithms.addAll(Arrays.asList(AlgorithmType.values()));
+    }
+
+    long loadStart = System.nanoTime();
+    GridSnapshot grid = MovingAiMapReader.read(mapPath).snapshot();
+    System.out.printf(
+        "Loaded %s (%dx%d) in %d ms, %d queries%n%n",
+        mapPath, grid.getWidth(), grid.getHeight(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart), entries.size()
+    );
+
+    for (AlgorithmType algorithm : algorithms) {
+      run(algorithm, grid, entries);
+    }
+  }
+
+  private static Path resolveMap(Path scenarioPath, String mapName) {
+    Path directory = scenarioPath.toAbsolutePath().getParent();
+    Path candidate = directory.resolve(mapName);
+    if (Files.exists(candidate)) {
+      return candidate;
+    }
+    return directory.resolve(Paths.get(mapName).getFileName());
+  }
+
+  private static void run(AlgorithmType algorithm, GridSnapshot grid,
+      List<ScenarioEntry> entries) {
+    PathFinder pathFinder = algorithm.create();
+
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      for (ScenarioEntry entry : entries) {
+        pathFinder.findPath(grid, start(grid, entry), goal(grid, entry));
+      }
+    }
+
+    Map<Integer, BucketStats> buckets = new TreeMap<>();
+    for (ScenarioEntry entry : entries) {
+      long start = System.nanoTime();
+      PathResult result = pathFinder.findPath(grid, start(grid, entry), goal(grid, entry));
+      long duration = System.nanoTime() - start;
+
+      buckets.computeIfAbsent(entry.getBucket(), bucket -> new BucketStats())
+          .record(entry, result, duration);
+    }
+
+    System.out.println(algorithm);
+    System.out.printf(
+        "%6s %7s %9s %9s %9s %9s %12s %7s %7s %7s %7s%n",
+        "bucket", "queries", "p50 us", "p90 us", "p99 us", "max us", "avg exp",
+        "optimal", "shorter", "longer", "no path"
+    );
+    for (Map.Entry<Integer, BucketStats> bucket : buckets.entrySet()) {
+      bucket.getValue().print(bucket.getKey());
+    }
+    System.out.println();
+  }
+
+  private static int start(GridSnapshot grid, ScenarioEntry entry) {
+    return entry.getStartRow() * grid.getWidth() + entry.getStartColumn();
+  }
+
+  private static int goal(GridSnapshot grid, ScenarioEntry entry) {
+    return entry.getGoalRow() * grid.getWidth() + entry.getGoalColumn();
+  }
+
+  private static class BucketStats {
+
+    private long[] latencies = new long[16];
+    private int queries;
+    private long expandedCells;
+    private int optimal;
+    private int shorter;
+    private int longer;
+    private int unreachable;
+
+    void record(ScenarioEntry entry, PathResult result, long duration) {
+      if (queries == latencies.length) {
+        latencies = Arrays.copyOf(latencies, queries * 2);
+      }
+      latencies[queries++] = duration;
+      expandedCells += result.getExpandedCells();
+
+      if (!result.isFound()) {
+        unreachable++;
+        return;
+      }
+
+      double difference = result.getCost() - entry.getOptimalLength();
+      if (Math.abs(difference) <= EPSILON * Math.max(1, entry.getOptimalLength())) {
+        optimal++;
+      } else if (difference < 0) {
+        shorter++;
+      } else {
+        longer++;
+      }
+    }
+
+    void print(int bucket) {
+      long[] sorted = Arrays.copyOf(latencies, queries);
+      Arrays.sort(sorted);
+
+      System.out.printf(
+          "%6d %7d %9.1f %9.1f %9.1f %9.1f %12d %7d %7d %7d %7d%n",
+          bucket, queries,
+          micros(percentile(sorted, 0.5)), micros(percentile(sorted, 0.9)),
+          micros(percentile(sorted, 0.99)), micros(sorted[sorted.length - 1]),
+          expandedCells / queries,
+          optimal, shorter, longer, unreachable
+      );
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+      int index = (int) Math.ceil(percentile * sorted.length) - 1;
+      return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double micros(long nanos) {
+      return nanos / 1000.0;
+    }
+  }
+}
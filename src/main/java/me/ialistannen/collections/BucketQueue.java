@@ -0,0 +1,116 @@
+package me.ialistannen.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone priority queue of primitive ints with small integer priorities, also known as Dial's
+ * buckets.
+ *
+ * <p>Every priority has its own bucket, so inserting and polling never compare elements. Only
+ * {@code maxStep + 1} buckets exist, which are reused in a ring: a new priority may be at most
+ * {@code maxStep} larger than the priority of the last polled element and never smaller. This
+ * holds for Dijkstra's algorithm, if no edge costs more than {@code maxStep}.</p>
+ *
+ * <p>There is no way to decrease a priority. Insert the element again and skip outdated
+ * entries when polling them instead.</p>
+ */
+public class BucketQueue {
+
+  private final IntArrayDeque[] buckets;
+  private int currentPriority;
+  private int size;
+
+  /**
+   * Creates a new bucket queue.
+   *
+   * @param maxStep the maximum difference between the priority of a new element and the current
+   *     priority
+   * @throws IllegalArgumentException if maxStep is negative
+   */
+  public BucketQueue(int maxStep) {
+    if (maxStep < 0) {
+      throw new IllegalArgumentException("maxStep can not be negative: " + maxStep);
+    }
+    this.buckets = new IntArrayDeque[maxStep + 1];
+
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new IntArrayDeque();
+    }
+  }
+
+  /**
+   * Adds an element.
+   *
+   * @param element the element to add
+   * @param priority the priority of the element
+   * @throws IllegalArgumentException if the priority is smaller than the current one or more than
+   *     {@code maxStep} larger
+   */
+  public void insert(int element, int priority) {
+    if (priority < currentPriority || priority - currentPriority >= buckets.length) {
+      throw new IllegalArgumentException(
+          "priority " + priority + " is out of range for current priority " + currentPriority
+      );
+    }
+    buckets[priority % buckets.length].addLast(element);
+    size++;
+  }
+
+  /**
+   * Removes an element with the smallest priority. Elements with the same priority are returned
+   * in the order they were inserted.
+   *
+   * @return the removed element
+   * @throws NoSuchElementException if the queue is empty
+   */
+  public int poll() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+
+    IntArrayDeque bucket = buckets[currentPriority % buckets.length];
+    while (bucket.isEmpty()) {
+      currentPriority++;
+      bucket = buckets[currentPriority % buckets.length];
+    }
+
+    size--;
+    return bucket.pollFirst();
+  }
+
+  /**
+   * Returns the priority of the element returned by the last {@link #poll()}. All remaining
+   * elements have at least this priority.
+   *
+   * @return the current priority
+   */
+  public int getCurrentPriority() {
+    return currentPriority;
+  }
+
+  /**
+   * @return the amount of elements in this queue
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return true if this queue is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes all elements and resets the current priority to zero. The buckets keep their
+   * allocated capacity.
+   */
+  public void clear() {
+    for (IntArrayDeque bucket : buckets) {
+      bucket.clear();
+    }
+    currentPriority = 0;
+    size = 0;
+  }
+}
@@ -0,0 +1,119 @@
+package me.ialistannen.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A growable ring buffer of primitive ints, usable as a queue or a stack.
+ *
+ * <p>Unlike {@link java.util.ArrayDeque} no boxing happens and {@link #clear()} keeps the
+ * backing array, so a cleared deque can be reused without allocating.</p>
+ */
+public class IntArrayDeque {
+
+  private int[] elements;
+  private int head;
+  private int size;
+
+  /**
+   * Creates a new deque with a default initial capacity.
+   */
+  public IntArrayDeque() {
+    this(16);
+  }
+
+  /**
+   * Creates a new deque.
+   *
+   * @param initialCapacity the initial capacity
+   */
+  public IntArrayDeque(int initialCapacity) {
+    this.elements = new int[Math.max(initialCapacity, 1)];
+  }
+
+  /**
+   * Adds an element at the front.
+   *
+   * @param element the element to add
+   */
+  public void addFirst(int element) {
+    ensureCapacity();
+    head = (head - 1 + elements.length) % elements.length;
+    elements[head] = element;
+    size++;
+  }
+
+  /**
+   * Adds an element at the end.
+   *
+   * @param element the element to add
+   */
+  public void addLast(int element) {
+    ensureCapacity();
+    elements[(head + size) % elements.length] = element;
+    size++;
+  }
+
+  /**
+   * Removes the first element.
+   *
+   * @return the removed element
+   * @throws NoSuchElementException if the deque is empty
+   */
+  public int pollFirst() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    int element = elements[head];
+    head = (head + 1) % elements.length;
+    size--;
+    return element;
+  }
+
+  /**
+   * Removes the last element.
+   *
+   * @return the removed element
+   * @throws NoSuchElementException if the deque is empty
+   */
+  public int pollLast() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    size--;
+    return elements[(head + size) % elements.length];
+  }
+
+  /**
+   * @return the amount of elements in this deque
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return true if this deque is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes all elements, but keeps the allocated capacity.
+   */
+  public void clear() {
+    head = 0;
+    size = 0;
+  }
+
+  private void ensureCapacity() {
+    if (size < elements.length) {
+      return;
+    }
+    int[] newElements = new int[elements.length * 2];
+    for (int i = 0; i < size; i++) {
+      newElements[i] = elements[(head + i) % elements.length];
+    }
+    elements = newElements;
+    head = 0;
+  }
+}
@@ -0,0 +1,400 @@
+package me.ialistannen.collections.heap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A d-ary min heap of integer keys with primitive {@code double} priorities.
+ *
+ * <p>Keys are small non-negative integers (e.g. cell ids), which allows the heap to remember the
+ * position of every key in an array. This makes {@link #contains(int)} O(1) and allows a real
+ * {@link #decreaseKey(int, double)} in O(log n), without allocating anything.</p>
+ *
+ * <p>Every key can additionally carry a tie breaker, which orders keys with equal priorities
+ * (smaller first). It defaults to zero.</p>
+ *
+ * <p><br><em>Every key can be in the heap at most once.</em></p>
+ */
+public class IndexedMinHeap {
+
+  private static final int ABSENT = -1;
+
+  private final int arity;
+
+  private int[] keys;
+  private double[] priorities;
+  private double[] tieBreakers;
+  private int[] positions;
+  private int size;
+
+  /**
+   * Creates a new 4-ary heap.
+   *
+   * @param capacity the amount of distinct keys, i.e. all keys must be smaller than this
+   */
+  public IndexedMinHeap(int capacity) {
+    this(4, capacity);
+  }
+
+  /**
+   * Creates a new heap.
+   *
+   * @param arity the amount of children per node
+   * @param capacity the amount of distinct keys, i.e. all keys must be smaller than this
+   * @throws IllegalArgumentException if the arity is smaller than two
+   */
+  public IndexedMinHeap(int arity, int capacity) {
+    if (arity < 2) {
+      throw new IllegalArgumentException("arity must be at least 2, was " + arity);
+    }
+    this.arity = arity;
+    this.keys = new int[Math.max(capacity, 1)];
+    this.priorities = new double[Math.max(capacity, 1)];
+    this.tieBreakers = new double[Math.max(capacity, 1)];
+    this.positions = new int[capacity];
+
+    Arrays.fill(positions, ABSENT);
+  }
+
+  /**
+   * Makes sure keys up to (excluding) the given capacity can be stored.
+   *
+   * @param capacity the new minimum capacity
+   */
+  public void ensureCapacity(int capacity) {
+    if (capacity <= positions.length) {
+      return;
+    }
+    int oldLength = positions.length;
+
+    positions = Arrays.copyOf(positions, capacity);
+    Arrays.fill(positions, oldLength, capacity, ABSENT);
+
+    keys = Arrays.copyOf(keys, capacity);
+    priorities = Arrays.copyOf(priorities, capacity);
+    tieBreakers = Arrays.copyOf(tieBreakers, capacity);
+  }
+
+  /**
+   * @return the amount of keys in the heap
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return true if the heap is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Checks if a key is in the heap.
+   *
+   * @param key the key
+   * @return true if the key is in the heap
+   */
+  public boolean contains(int key) {
+    return positions[key] != ABSENT;
+  }
+
+  /**
+   * Returns the priority of a key.
+   *
+   * @param key the key
+   * @return the priority of the key
+   * @throws NoSuchElementException if the key is not in the heap
+   */
+  public double getPriority(int key) {
+    if (!contains(key)) {
+      throw new NoSuchElementException("Key not in heap: " + key);
+    }
+    return priorities[positions[key]];
+  }
+
+  /**
+   * Adds a new key.
+   *
+   * @param key the key
+   * @param priority the priority of the key
+   * @throws IllegalStateException if the key already is in the heap
+   */
+  public void insert(int key, double priority) {
+    insert(key, priority, 0);
+  }
+
+  /**
+   * Adds a new key with a tie breaker.
+   *
+   * @param key the key
+   * @param priority the priority of the key
+   * @param tieBreaker the tie breaker, which orders keys with equal priorities
+   * @throws IllegalStateException if the key already is in the heap
+   */
+  public void insert(int key, double priority, double tieBreaker) {
+    if (contains(key)) {
+      throw new IllegalStateException("Key already in heap: " + key);
+    }
+    keys[size] = key;
+    priorities[size] = priority;
+    tieBreakers[size] = tieBreaker;
+    positions[key] = size;
+    size++;
+
+    siftUp(size - 1);
+  }
+
+  /**
+   * Lowers the priority of a key already in the heap.
+   *
+   * @param key the key
+   * @param priority the new priority, must not be bigger than the current one
+   * @throws NoSuchElementException if the key is not in the heap
+   * @throws IllegalArgumentException if the priority would increase
+   */
+  public void decreaseKey(int key, double priority) {
+    double current = getPriority(key);
+    if (priority > current) {
+      throw new IllegalArgumentException(
+          "Priority can only decrease (" + current + " -> " + priority + ")"
+      );
+    }
+    priorities[positions[key]] = priority;
+
+    siftUp(positions[key]);
+  }
+
+  /**
+   * Changes the priority of a key already in the heap, which may increase or decrease it. The tie
+   * breaker is kept.
+   *
+   * @param key the key
+   * @param priority the new priority
+   * @throws NoSuchElementException if the key is not in the heap
+   */
+  public void update(int key, double priority) {
+    if (!contains(key)) {
+      throw new NoSuchElementException("Key not in heap: " + key);
+    }
+    update(key, priority, tieBreakers[positions[key]]);
+  }
+
+  /**
+   * Changes the priority and tie breaker of a key already in the heap, which may increase or
+   * decrease them.
+   *
+   * @param key the key
+   * @param priority the new priority
+   * @param tieBreaker the new tie breaker
+   * @throws NoSuchElementException if the key is not in the heap
+   */
+  public void update(int key, double priority, double tieBreaker) {
+    if (!contains(key)) {
+      throw new NoSuchElementException("Key not in heap: " + key);
+    }
+    int index = positions[key];
+    boolean decreased = isBefore(priority, tieBreaker, index);
+    priorities[index] = priority;
+    tieBreakers[index] = tieBreaker;
+
+    if (decreased) {
+      siftUp(index);
+    } else {
+      siftDown(index);
+    }
+  }
+
+  /**
+   * Inserts the key or lowers its priority, if it is already contained and the new priority is
+   * smaller. Does nothing otherwise.
+   *
+   * @param key the key
+   * @param priority the priority
+   * @return true if the key was newly inserted
+   */
+  public boolean insertOrDecrease(int key, double priority) {
+    if (!contains(key)) {
+      insert(key, priority);
+      return true;
+    }
+    if (priority < priorities[positions[key]]) {
+      decreaseKey(key, priority);
+    }
+    return false;
+  }
+
+  /**
+   * Returns the key with the smallest priority without removing it.
+   *
+   * @return the key with the smallest priority
+   * @throws NoSuchElementException if the heap is empty
+   */
+  public int peek() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    return keys[0];
+  }
+
+  /**
+   * Returns the smallest priority in the heap.
+   *
+   * @return the smallest priority
+   * @throws NoSuchElementException if the heap is empty
+   */
+  public double peekPriority() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    return priorities[0];
+  }
+
+  /**
+   * Returns the tie breaker of the key with the smallest priority.
+   *
+   * @return the tie breaker of the first key
+   * @throws NoSuchElementException if the heap is empty
+   */
+  public double peekTieBreaker() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    return tieBreakers[0];
+  }
+
+  /**
+   * Removes the key with the smallest priority.
+   *
+   * @return the removed key
+   * @throws NoSuchElementException if the heap is empty
+   */
+  public int poll() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    int min = keys[0];
+    positions[min] = ABSENT;
+    size--;
+
+    if (size > 0) {
+      keys[0] = keys[size];
+      priorities[0] = priorities[size];
+      tieBreakers[0] = tieBreakers[size];
+      positions[keys[0]] = 0;
+
+      siftDown(0);
+    }
+
+    return min;
+  }
+
+  /**
+   * Removes a key from anywhere in the heap.
+   *
+   * @param key the key
+   * @throws NoSuchElementException if the key is not in the heap
+   */
+  public void remove(int key) {
+    if (!contains(key)) {
+      throw new NoSuchElementException("Key not in heap: " + key);
+    }
+    int index = positions[key];
+    positions[key] = ABSENT;
+    size--;
+
+    if (index == size) {
+      return;
+    }
+
+    int moved = keys[size];
+    keys[index] = moved;
+    priorities[index] = priorities[size];
+    tieBreakers[index] = tieBreakers[size];
+    positions[moved] = index;
+
+    siftDown(index);
+    if (positions[moved] == index) {
+      siftUp(index);
+    }
+  }
+
+  /**
+   * Removes all keys. Runs in O(size), not O(capacity).
+   */
+  public void clear() {
+    for (int i = 0; i < size; i++) {
+      positions[keys[i]] = ABSENT;
+    }
+    size = 0;
+  }
+
+  private void siftUp(int index) {
+    int key = keys[index];
+    double priority = priorities[index];
+    double tieBreaker = tieBreakers[index];
+
+    while (index > 0) {
+      int parentIndex = (index - 1) / arity;
+      if (!isBefore(priority, tieBreaker, parentIndex)) {
+        break;
+      }
+      move(parentIndex, index);
+      index = parentIndex;
+    }
+
+    place(key, priority, tieBreaker, index);
+  }
+
+  private void siftDown(int index) {
+    int key = keys[index];
+    double priority = priorities[index];
+    double tieBreaker = tieBreakers[index];
+
+    while (true) {
+      int firstChild = index * arity + 1;
+      if (firstChild >= size) {
+        break;
+      }
+      int lastChild = Math.min(firstChild + arity, size);
+
+      int smallest = firstChild;
+      for (int child = firstChild + 1; child < lastChild; child++) {
+        if (isBefore(priorities[child], tieBreakers[child], smallest)) {
+          smallest = child;
+        }
+      }
+
+      if (!isBefore(priorities[smallest], tieBreakers[smallest], priority, tieBreaker)) {
+        break;
+      }
+      move(smallest, index);
+      index = smallest;
+    }
+
+    place(key, priority, tieBreaker, index);
+  }
+
+  private boolean isBefore(double priority, double tieBreaker, int index) {
+    return isBefore(priority, tieBreaker, priorities[index], tieBreakers[index]);
+  }
+
+  private static boolean isBefore(double priority, double tieBreaker, double otherPriority,
+      double otherTieBreaker) {
+    return priority < otherPriority || (priority == otherPriority && tieBreaker < otherTieBreaker);
+  }
+
+  private void move(int from, int to) {
+    keys[to] = keys[from];
+    priorities[to] = priorities[from];
+    tieBreakers[to] = tieBreakers[from];
+    positions[keys[to]] = to;
+  }
+
+  private void place(int key, double priority, double tieBreaker, int index) {
+    keys[index] = key;
+    priorities[index] = priority;
+    tieBreakers[index] = tieBreaker;
+    positions[key] = index;
+  }
+}
@@ -1,5 +1,7 @@
 package me.ialistannen.pathfinding.visualize.algorithms;
 
+import me.ialistannen.pathfinding.visualize.algorithms.steps.PackedStepRecorder;
+import me.ialistannen.pathfinding.visualize.algorithms.steps.StepSink;
 import me.ialistannen.pathfinding.visualize.grid.GridCellState;
 
 public interface Algorithm<T extends GridCellState> {
@@ -10,6 +12,19 @@ public interface Algorithm<T extends GridCellState> {
    * @param grid the grid to apply it to
    * @return the computed result
    */
-  AlgorithmResult<T> compute(AlgorithmGrid<T> grid);
+  default AlgorithmResult<T> compute(AlgorithmGrid<T> grid) {
+    PackedStepRecorder<T> recorder = new PackedStepRecorder<>();
+
+    return new AlgorithmResult<>(compute(grid, recorder), recorder);
+  }
+
+  /**
+   * Applies to algorithm to the passed grid and streams all steps to the given sink.
+   *
+   * @param grid the grid to apply it to
+   * @param stepSink the sink to push the steps into
+   * @return true if a path was found
+   */
+  boolean compute(AlgorithmGrid<T> grid, StepSink<T> stepSink);
 
 }
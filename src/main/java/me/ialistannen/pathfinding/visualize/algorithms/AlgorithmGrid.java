@@ -1,47 +1,107 @@
 package me.ialistannen.pathfinding.visualize.algorithms;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
+import me.ialistannen.pathfinding.visualize.algorithms.storage.CellStorage;
+import me.ialistannen.pathfinding.visualize.algorithms.storage.DenseCellStorage;
+import me.ialistannen.pathfinding.visualize.algorithms.storage.SparseCellStorage;
 import me.ialistannen.pathfinding.visualize.grid.GridCellState;
 import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
 
-public class AlgorithmGrid<T extends GridCellState> {
+public class AlgorithmGrid<T extends GridCellState> implements SearchGrid {
 
-  private Map<GridCoordinate, T> values;
+  private CellStorage<T> values;
   private T defaultState;
   private GridCoordinate endState;
   private Set<GridCoordinate> startStates;
 
-  private ChangeCallback<T> changeCallback;
+  private List<ChangeCallback<T>> changeCallbacks;
+  private ConnectivityIndex connectivityIndex;
+  private byte[] costs;
+  private AtomicLong version;
 
   private int width;
   private int height;
 
+  /**
+   * Creates a new grid with {@link StorageType#DENSE dense} storage.
+   *
+   * @param defaultState the state all cells start with
+   * @param width the width of the grid
+   * @param height the height of the grid
+   */
   public AlgorithmGrid(T defaultState, int width, int height) {
+    this(defaultState, width, height, StorageType.DENSE);
+  }
+
+  /**
+   * Creates a new grid.
+   *
+   * @param defaultState the state all cells start with
+   * @param width the width of the grid
+   * @param height the height of the grid
+   * @param storageType the way the cell states are stored
+   */
+  public AlgorithmGrid(T defaultState, int width, int height, StorageType storageType) {
+    Objects.requireNonNull(defaultState, "defaultState can not be null!");
+    Objects.requireNonNull(storageType, "storageType can not be null!");
+
     this.defaultState = defaultState;
     this.width = width;
     this.height = height;
 
-    this.values = new HashMap<>();
+    this.values = storageType == StorageType.DENSE
+        ? new DenseCellStorage<>(defaultState, width, height)
+        : new SparseCellStorage<>(defaultState);
     this.startStates = new HashSet<>();
+    this.changeCallbacks = new CopyOnWriteArrayList<>();
+    this.version = new AtomicLong();
+  }
+
+  /**
+   * Adds a callback that is notified about every changed cell.
+   *
+   * @param changeCallback the callback to add
+   */
+  public void addChangeCallback(ChangeCallback<T> changeCallback) {
+    changeCallbacks.add(Objects.requireNonNull(changeCallback, "changeCallback can not be null!"));
+  }
+
+  /**
+   * Removes a callback.
+   *
+   * @param changeCallback the callback to remove
+   */
+  public void removeChangeCallback(ChangeCallback<T> changeCallback) {
+    changeCallbacks.remove(changeCallback);
   }
 
-  public void setChangeCallback(ChangeCallback<T> changeCallback) {
-    this.changeCallback = changeCallback;
+  /**
+   * Returns the version of this grid. It is increased whenever a cell state or cost is set, and
+   * before the {@link ChangeCallback}s are notified about it, so they see the new version.
+   *
+   * @return the current version
+   */
+  public long getVersion() {
+    return version.get();
   }
 
   public T getDefaultState() {
     return defaultState;
   }
 
+  @Override
   public int getWidth() {
     return width;
   }
 
+  @Override
   public int getHeight() {
     return height;
   }
@@ -53,7 +113,7 @@ public class AlgorithmGrid<T extends GridCellState> {
    * @return the state at the coordinate or the default value
    */
   public T getStateAt(GridCoordinate coordinate) {
-    return values.getOrDefault(coordinate, defaultState);
+    return getStateAt(coordinate.getColumn(), coordinate.getRow());
   }
 
   /**
@@ -63,8 +123,11 @@ public class AlgorithmGrid<T extends GridCellState> {
    * @param row the row
    * @return the state at the coordinate or the default value
    */
-  private T getStateAt(int column, int row) {
-    return getStateAt(new GridCoordinate(column, row));
+  public T getStateAt(int column, int row) {
+    if (isOutside(column, row)) {
+      return defaultState;
+    }
+    return values.get(column, row);
   }
 
   /**
@@ -72,20 +135,31 @@ public class AlgorithmGrid<T extends GridCellState> {
    *
    * @param coordinate the coordinate to set it at
    * @param state the new state
+   * @throws IllegalArgumentException if the coordinate is outside the grid
    */
   public void setStateAt(GridCoordinate coordinate, T state) {
     Objects.requireNonNull(coordinate, "coordinate can not be null!");
     Objects.requireNonNull(state, "state can not be null!");
 
+    if (isOutside(coordinate)) {
+      throw new IllegalArgumentException("coordinate is outside the grid: " + coordinate);
+    }
+
     handleStateRemoval(coordinate);
 
     T oldState = getStateAt(coordinate);
 
-    values.put(coordinate, state);
+    values.set(coordinate.getColumn(), coordinate.getRow(), state);
+
+    if (oldState.isPassable() != state.isPassable()) {
+      updateConnectivity(coordinate.getColumn(), coordinate.getRow(), state.isPassable());
+    }
 
     handleStateAddition(coordinate, state);
 
-    if (changeCallback != null) {
+    version.incrementAndGet();
+
+    for (ChangeCallback<T> changeCallback : changeCallbacks) {
       changeCallback.onStateChanged(coordinate, oldState, state);
     }
   }
@@ -101,6 +175,103 @@ public class AlgorithmGrid<T extends GridCellState> {
     setStateAt(new GridCoordinate(column, row), state);
   }
 
+  /**
+   * Sets a run of cells in a row to the same state. Much faster than setting them one by one, if
+   * no {@link ChangeCallback} is registered.
+   *
+   * @param row the row
+   * @param fromColumn the first column (inclusive)
+   * @param toColumn the last column (exclusive)
+   * @param state the new state
+   * @throws IllegalArgumentException if the run is not inside the grid
+   */
+  public void fillRow(int row, int fromColumn, int toColumn, T state) {
+    Objects.requireNonNull(state, "state can not be null!");
+
+    if (fromColumn > toColumn || isOutside(fromColumn, row) || toColumn > getWidth()) {
+      throw new IllegalArgumentException(
+          "run is outside the grid: " + fromColumn + "-" + toColumn + " in row " + row
+      );
+    }
+
+    boolean needsSingleUpdates = !changeCallbacks.isEmpty() || state.isStart() || state.isEnd()
+        || hasConnectivityIndex() || hasStartOrEnd(row, fromColumn, toColumn);
+
+    if (needsSingleUpdates) {
+      for (int column = fromColumn; column < toColumn; column++) {
+        setStateAt(column, row, state);
+      }
+      return;
+    }
+
+    values.fillRow(row, fromColumn, toColumn, state);
+    version.incrementAndGet();
+  }
+
+  private boolean hasStartOrEnd(int row, int fromColumn, int toColumn) {
+    if (endState == null && startStates.isEmpty()) {
+      return false;
+    }
+    if (endState != null && endState.getRow() == row
+        && endState.getColumn() >= fromColumn && endState.getColumn() < toColumn) {
+      return true;
+    }
+    for (GridCoordinate start : startStates) {
+      if (start.getRow() == row
+          && start.getColumn() >= fromColumn && start.getColumn() < toColumn) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the cost of entering a cell. Costs are independent of the cell states, so they
+   * survive playing back a search.
+   *
+   * @param column the column
+   * @param row the row
+   * @return the cost of the cell, 1 if it was never set or the cell is outside the grid
+   */
+  @Override
+  public int getCost(int column, int row) {
+    if (costs == null || isOutside(column, row)) {
+      return 1;
+    }
+    return costs[row * width + column] & 0xFF;
+  }
+
+  /**
+   * Sets the cost of entering a cell. The costs are stored in one byte per cell, which is only
+   * allocated once the first cost other than 1 is set.
+   *
+   * @param column the column
+   * @param row the row
+   * @param cost the new cost, between 1 and {@link #MAX_COST}
+   * @throws IllegalArgumentException if the cell is outside the grid or the cost is invalid
+   * @throws IllegalStateException if the grid has too many cells to store costs for
+   */
+  public void setCostAt(int column, int row, int cost) {
+    if (isOutside(column, row)) {
+      throw new IllegalArgumentException("cell is outside the grid: " + column + " " + row);
+    }
+    if (cost < 1 || cost > MAX_COST) {
+      throw new IllegalArgumentException("cost must be between 1 and " + MAX_COST + ": " + cost);
+    }
+    if (costs == null) {
+      if (cost == 1) {
+        return;
+      }
+      if ((long) width * height > Integer.MAX_VALUE) {
+        throw new IllegalStateException("A grid of " + width + "x" + height + " is too big!");
+      }
+      costs = new byte[width * height];
+      Arrays.fill(costs, (byte) 1);
+    }
+    costs[row * width + column] = (byte) cost;
+    version.incrementAndGet();
+  }
+
   /**
    * Replaces all states that match the predicate with the passed one.
    *
@@ -108,8 +279,8 @@ public class AlgorithmGrid<T extends GridCellState> {
    * @param filter the filter
    */
   public void replaceIf(T replacement, Predicate<T> filter) {
-    for (int column = 0; column < getWidth(); column++) {
-      for (int row = 0; row < getHeight(); row++) {
+    for (int row = 0; row < getHeight(); row++) {
+      for (int column = 0; column < getWidth(); column++) {
         if (filter.test(getStateAt(column, row))) {
           setStateAt(column, row, replacement);
         }
@@ -118,16 +289,14 @@ public class AlgorithmGrid<T extends GridCellState> {
   }
 
   private void handleStateRemoval(GridCoordinate coordinate) {
-    if (values.containsKey(coordinate)) {
-      T old = getStateAt(coordinate);
+    T old = getStateAt(coordinate);
 
-      if (old.isStart()) {
-        startStates.remove(coordinate);
-      }
+    if (old.isStart()) {
+      startStates.remove(coordinate);
+    }
 
-      if (old.isEnd()) {
-        endState = null;
-      }
+    if (old.isEnd()) {
+      endState = null;
     }
   }
 
@@ -170,20 +339,29 @@ public class AlgorithmGrid<T extends GridCellState> {
    * @return true if you can move that way
    */
   public boolean canMove(GridCoordinate from, GridCoordinate to) {
-    if (isOutside(from) || isOutside(to)) {
+    return canMove(from.getColumn(), from.getRow(), to.getColumn(), to.getRow());
+  }
+
+  /**
+   * Checks if you can move from the given cell to the given neighbour.
+   *
+   * @param fromColumn the column of the start cell
+   * @param fromRow the row of the start cell
+   * @param toColumn the column of the neighbour
+   * @param toRow the row of the neighbour
+   * @return true if you can move that way
+   */
+  @Override
+  public boolean canMove(int fromColumn, int fromRow, int toColumn, int toRow) {
+    if (isOutside(fromColumn, fromRow) || isOutside(toColumn, toRow)) {
       return false;
     }
 
-    T state = getStateAt(to);
-    if (!state.isPassable()) {
+    if (!values.isPassable(toColumn, toRow)) {
       return false;
     }
 
-    int dX = to.getColumn() - from.getColumn();
-    int dY = to.getRow() - from.getRow();
-
-    return getStateAt(from.getColumn() + dX, from.getRow()).isPassable()
-        || getStateAt(from.getColumn(), from.getRow() + dY).isPassable();
+    return values.isPassable(toColumn, fromRow) || values.isPassable(fromColumn, toRow);
   }
 
   /**
@@ -193,8 +371,18 @@ public class AlgorithmGrid<T extends GridCellState> {
    * @return true if the coordinate is outside the grid
    */
   private boolean isOutside(GridCoordinate coordinate) {
-    return coordinate.getColumn() >= getWidth() || coordinate.getRow() >= getHeight()
-        || coordinate.getColumn() < 0 || coordinate.getRow() < 0;
+    return isOutside(coordinate.getColumn(), coordinate.getRow());
+  }
+
+  /**
+   * Checks if a cell is outside the grid.
+   *
+   * @param column the column
+   * @param row the row
+   * @return true if the cell is outside the grid
+   */
+  private boolean isOutside(int column, int row) {
+    return column >= getWidth() || row >= getHeight() || column < 0 || row < 0;
   }
 
   /**
@@ -207,6 +395,64 @@ public class AlgorithmGrid<T extends GridCellState> {
     return !getStateAt(coordinate).isPassable();
   }
 
+  /**
+   * Checks if you can walk through a cell. Cells outside the grid are never passable.
+   *
+   * @param column the column
+   * @param row the row
+   * @return true if the cell is inside the grid and passable
+   */
+  @Override
+  public boolean isPassable(int column, int row) {
+    return !isOutside(column, row) && values.isPassable(column, row);
+  }
+
+  /**
+   * Returns the {@link ConnectivityIndex} of this grid. It is built on the first call and then
+   * kept up to date whenever the passability of a cell changes.
+   *
+   * @return the connectivity index
+   */
+  public synchronized ConnectivityIndex getConnectivityIndex() {
+    if (connectivityIndex == null) {
+      connectivityIndex = new ConnectivityIndex(this);
+    }
+    return connectivityIndex;
+  }
+
+  private synchronized boolean hasConnectivityIndex() {
+    return connectivityIndex != null;
+  }
+
+  private synchronized void updateConnectivity(int column, int row, boolean passable) {
+    if (connectivityIndex != null) {
+      connectivityIndex.setPassable(column, row, passable);
+    }
+  }
+
+  /**
+   * Copies the current passability of this grid into an immutable snapshot, that can be searched
+   * concurrently while this grid keeps changing.
+   *
+   * @return the created snapshot
+   */
+  public GridSnapshot snapshot() {
+    return GridSnapshot.of(this);
+  }
+
+  /**
+   * The ways the cell states of a grid can be stored.
+   */
+  public enum StorageType {
+    /**
+     * One byte per cell. Fast and compact for everything but huge, mostly empty grids.
+     */
+    DENSE,
+    /**
+     * Only cells differing from the default state are stored, in a hash map.
+     */
+    SPARSE
+  }
 
   public interface ChangeCallback<T> {
 
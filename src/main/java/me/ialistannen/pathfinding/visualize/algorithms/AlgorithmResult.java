@@ -1,26 +1,53 @@
 package me.ialistannen.pathfinding.visualize.algorithms;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import me.ialistannen.pathfinding.visualize.algorithms.steps.PackedStepRecorder;
 import me.ialistannen.pathfinding.visualize.grid.GridCellState;
 import me.ialistannen.pathfinding.visualize.grid.StatefulGridCoordinate;
 
 public class AlgorithmResult<T extends GridCellState> {
 
   private boolean successful;
-  private List<StatefulGridCoordinate<T>> steps;
+  private PackedStepRecorder<T> steps;
 
-  public AlgorithmResult(boolean successful, List<StatefulGridCoordinate<T>> steps) {
+  /**
+   * Creates a result without recorded steps, e.g. because they were streamed somewhere else.
+   *
+   * @param successful whether a path was found
+   */
+  public AlgorithmResult(boolean successful) {
+    this(successful, new PackedStepRecorder<>());
+  }
+
+  /**
+   * Creates a result with the recorded steps.
+   *
+   * @param successful whether a path was found
+   * @param steps the recorded steps
+   */
+  public AlgorithmResult(boolean successful, PackedStepRecorder<T> steps) {
     this.successful = successful;
-    this.steps = new ArrayList<>(steps);
+    this.steps = steps;
   }
 
   public boolean isSuccessful() {
     return successful;
   }
 
+  /**
+   * @return the recorded steps in their compact form
+   */
+  public PackedStepRecorder<T> getStepRecorder() {
+    return steps;
+  }
+
+  /**
+   * Returns the steps. The elements are created lazily when they are accessed.
+   *
+   * @return an unmodifiable view of the steps
+   */
   public List<StatefulGridCoordinate<T>> getSteps() {
-    return Collections.unmodifiableList(steps);
+    return Collections.unmodifiableList(steps.asList());
   }
 }
@@ -0,0 +1,316 @@
+package me.ialistannen.pathfinding.visualize.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Labels the connected regions of passable cells, so that queries between two regions can be
+ * rejected without searching.
+ *
+ * <p>Regions are connected through straight moves. Diagonal moves never connect anything else,
+ * as they are only allowed if one of the cells they cut past is passable (see
+ * {@link SearchGrid#canMove(int, int, int, int)}). Every cell stores the label of its region and
+ * labels are merged in a union-find structure when a cell becomes passable.</p>
+ *
+ * <p>Blocking a cell may split its region. If its passable neighbours are still connected around
+ * it, nothing needs to happen. Otherwise the region is only marked and relabeled the next time a
+ * query needs it, so that drawing a wall cell by cell does not relabel the region every time.</p>
+ *
+ * <p>All methods are synchronized, the index may be changed and queried from different
+ * threads.</p>
+ */
+public class ConnectivityIndex {
+
+  /**
+   * The component of a blocked cell.
+   */
+  public static final int NO_COMPONENT = -1;
+
+  /**
+   * The neighbours of a cell in clockwise order, starting at the top.
+   */
+  private static final int[] RING_COLUMNS = {0, 1, 1, 1, 0, -1, -1, -1};
+  private static final int[] RING_ROWS = {-1, -1, 0, 1, 1, 1, 0, -1};
+
+  private final int width;
+  private final int height;
+  private final int[] labels;
+  private final int[] fillStack;
+
+  private int[] parents;
+  private int labelCount;
+
+  private int[] splitLabels;
+  private int splitCount;
+
+  /**
+   * Labels the regions of a grid.
+   *
+   * @param grid the grid
+   */
+  public ConnectivityIndex(SearchGrid grid) {
+    this.width = grid.getWidth();
+    this.height = grid.getHeight();
+    this.labels = new int[width * height];
+    this.fillStack = new int[width * height];
+    this.parents = new int[16];
+    this.splitLabels = new int[16];
+
+    for (int row = 0; row < height; row++) {
+      for (int column = 0; column < width; column++) {
+        labels[row * width + column] = grid.isPassable(column, row) ? 0 : NO_COMPONENT;
+      }
+    }
+    relabelAll();
+  }
+
+  /**
+   * Sets whether a cell is passable and updates the regions.
+   *
+   * @param column the column
+   * @param row the row
+   * @param passable whether the cell is passable
+   * @throws IllegalArgumentException if the cell is outside the grid
+   */
+  public synchronized void setPassable(int column, int row, boolean passable) {
+    if (!isInside(column, row)) {
+      throw new IllegalArgumentException("cell is outside the grid: " + column + " " + row);
+    }
+    int cell = row * width + column;
+
+    if (passable == (labels[cell] != NO_COMPONENT)) {
+      return;
+    }
+
+    if (passable) {
+      labels[cell] = joinNeighbours(column, row);
+      return;
+    }
+
+    int label = labels[cell];
+    labels[cell] = NO_COMPONENT;
+
+    if (mayHaveSplit(column, row)) {
+      if (splitCount == splitLabels.length) {
+        splitLabels = Arrays.copyOf(splitLabels, splitCount * 2);
+      }
+      splitLabels[splitCount++] = label;
+    }
+  }
+
+  /**
+   * Returns the region of a cell. Region ids stay the same until the index is changed.
+   *
+   * @param column the column
+   * @param row the row
+   * @return the id of the region or {@link #NO_COMPONENT} if the cell is blocked or outside the
+   *     grid
+   */
+  public synchronized int getComponent(int column, int row) {
+    if (!isInside(column, row)) {
+      return NO_COMPONENT;
+    }
+    relabelSplits();
+
+    int label = labels[row * width + column];
+    return label == NO_COMPONENT ? NO_COMPONENT : find(label);
+  }
+
+  /**
+   * Checks whether a path between two cells may exist. A blocked start can still be left, so its
+   * neighbours are looked at instead.
+   *
+   * @param start the cell id of the start ({@code row * width + column})
+   * @param goal the cell id of the goal
+   * @return false if there is no path for sure
+   */
+  public synchronized boolean canReach(int start, int goal) {
+    if (start == goal) {
+      return true;
+    }
+    int goalComponent = getComponent(goal % width, goal / width);
+    if (goalComponent == NO_COMPONENT) {
+      return false;
+    }
+
+    int column = start % width;
+    int row = start / width;
+    if (labels[start] != NO_COMPONENT) {
+      return getComponent(column, row) == goalComponent;
+    }
+
+    return getComponent(column, row - 1) == goalComponent
+        || getComponent(column + 1, row) == goalComponent
+        || getComponent(column, row + 1) == goalComponent
+        || getComponent(column - 1, row) == goalComponent;
+  }
+
+  /**
+   * Merges the regions of the passable straight neighbours of a cell.
+   *
+   * @param column the column of the cell
+   * @param row the row of the cell
+   * @return the label of the merged region, which is a new one if there are no neighbours
+   */
+  private int joinNeighbours(int column, int row) {
+    int root = NO_COMPONENT;
+
+    for (int i = 0; i < RING_COLUMNS.length; i += 2) {
+      int newColumn = column + RING_COLUMNS[i];
+      int newRow = row + RING_ROWS[i];
+      if (!isInside(newColumn, newRow) || labels[newRow * width + newColumn] == NO_COMPONENT) {
+        continue;
+      }
+
+      int neighbourRoot = find(labels[newRow * width + newColumn]);
+      if (root == NO_COMPONENT) {
+        root = neighbourRoot;
+      } else if (neighbourRoot != root) {
+        parents[neighbourRoot] = root;
+      }
+    }
+
+    return root == NO_COMPONENT ? newLabel() : root;
+  }
+
+  /**
+   * Checks whether blocking a cell may have split its region. This is not the case, if all its
+   * passable straight neighbours are connected through the ring of cells around it.
+   *
+   * @param column the column of the blocked cell
+   * @param row the row of the blocked cell
+   * @return true if the region needs to be relabeled
+   */
+  private boolean mayHaveSplit(int column, int row) {
+    // the amount of runs of passable cells in the ring, that contain a straight neighbour
+    int runs = 0;
+    boolean inRun = false;
+    boolean runCounted = false;
+    boolean firstRunCounted = false;
+
+    for (int i = 0; i < RING_COLUMNS.length; i++) {
+      if (!isPassable(column + RING_COLUMNS[i], row + RING_ROWS[i])) {
+        inRun = false;
+        continue;
+      }
+      if (!inRun) {
+        inRun = true;
+        runCounted = false;
+      }
+      if (i % 2 == 0 && !runCounted) {
+        runCounted = true;
+        runs++;
+        firstRunCounted |= i == 0;
+      }
+    }
+
+    // the last run continues into the first one
+    boolean wraps = inRun && isPassable(column + RING_COLUMNS[0], row + RING_ROWS[0]);
+    if (wraps && runCounted && firstRunCounted) {
+      runs--;
+    }
+
+    return runs > 1;
+  }
+
+  /**
+   * Gives every region that may have been split fresh labels, by flood filling it.
+   */
+  private void relabelSplits() {
+    if (splitCount == 0) {
+      return;
+    }
+    if (labelCount > labels.length) {
+      relabelAll();
+      return;
+    }
+
+    boolean[] split = new boolean[labelCount];
+    for (int i = 0; i < splitCount; i++) {
+      split[find(splitLabels[i])] = true;
+    }
+    splitCount = 0;
+
+    int oldLabelCount = labelCount;
+    for (int cell = 0; cell < labels.length; cell++) {
+      int label = labels[cell];
+      if (label != NO_COMPONENT && label < oldLabelCount && split[find(label)]) {
+        fill(cell, newLabel());
+      }
+    }
+  }
+
+  /**
+   * Relabels all regions from scratch, which also forgets all unused labels.
+   */
+  private void relabelAll() {
+    labelCount = 0;
+    splitCount = 0;
+
+    for (int cell = 0; cell < labels.length; cell++) {
+      if (labels[cell] != NO_COMPONENT) {
+        labels[cell] = Integer.MAX_VALUE;
+      }
+    }
+    for (int cell = 0; cell < labels.length; cell++) {
+      if (labels[cell] == Integer.MAX_VALUE) {
+        fill(cell, newLabel());
+      }
+    }
+  }
+
+  /**
+   * Assigns a label to every passable cell reachable from a cell, that does not have it yet.
+   *
+   * @param start the cell to start at
+   * @param label the label to assign
+   */
+  private void fill(int start, int label) {
+    int size = 0;
+    fillStack[size++] = start;
+    labels[start] = label;
+
+    while (size > 0) {
+      int cell = fillStack[--size];
+      int column = cell % width;
+      int row = cell / width;
+
+      for (int i = 0; i < RING_COLUMNS.length; i += 2) {
+        int newColumn = column + RING_COLUMNS[i];
+        int newRow = row + RING_ROWS[i];
+        if (!isInside(newColumn, newRow)) {
+          continue;
+        }
+
+        int neighbour = newRow * width + newColumn;
+        if (labels[neighbour] != NO_COMPONENT && labels[neighbour] != label) {
+          labels[neighbour] = label;
+          fillStack[size++] = neighbour;
+        }
+      }
+    }
+  }
+
+  private int newLabel() {
+    if (labelCount == parents.length) {
+      parents = Arrays.copyOf(parents, labelCount * 2);
+    }
+    parents[labelCount] = labelCount;
+    return labelCount++;
+  }
+
+  private int find(int label) {
+    while (parents[label] != label) {
+      parents[label] = parents[parents[label]];
+      label = parents[label];
+    }
+    return label;
+  }
+
+  private boolean isPassable(int column, int row) {
+    return isInside(column, row) && labels[row * width + column] != NO_COMPONENT;
+  }
+
+  private boolean isInside(int column, int row) {
+    return column >= 0 && row >= 0 && column < width && row < height;
+  }
+}
@@ -0,0 +1,84 @@
+package me.ialistannen.pathfinding.visualize.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * An immutable copy of the passability of a {@link SearchGrid}, one bit per cell, and of its
+ * costs, one byte per cell. The costs are only stored if any cell has a cost other than 1.
+ *
+ * <p>Snapshots can be shared freely between threads.</p>
+ */
+public final class GridSnapshot implements SearchGrid {
+
+  private final int width;
+  private final int height;
+  private final long[] passable;
+  private final byte[] costs;
+
+  private GridSnapshot(int width, int height, long[] passable, byte[] costs) {
+    this.width = width;
+    this.height = height;
+    this.passable = passable;
+    this.costs = costs;
+  }
+
+  /**
+   * Copies the current passability of a grid.
+   *
+   * @param grid the grid to copy
+   * @return the created snapshot
+   */
+  public static GridSnapshot of(SearchGrid grid) {
+    int width = grid.getWidth();
+    int height = grid.getHeight();
+    long[] passable = new long[(int) (((long) width * height + 63) >>> 6)];
+    byte[] costs = null;
+
+    for (int row = 0; row < height; row++) {
+      for (int column = 0; column < width; column++) {
+        int cell = row * width + column;
+        if (grid.isPassable(column, row)) {
+          passable[cell >>> 6] |= 1L << cell;
+        }
+
+        int cost = grid.getCost(column, row);
+        if (cost != 1 && costs == null) {
+          costs = new byte[width * height];
+          Arrays.fill(costs, (byte) 1);
+        }
+        if (costs != null) {
+          costs[cell] = (byte) cost;
+        }
+      }
+    }
+
+    return new GridSnapshot(width, height, passable, costs);
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public boolean isPassable(int column, int row) {
+    if (column < 0 || row < 0 || column >= width || row >= height) {
+      return false;
+    }
+    int cell = row * width + column;
+    return (passable[cell >>> 6] & (1L << cell)) != 0;
+  }
+
+  @Override
+  public int getCost(int column, int row) {
+    if (costs == null || column < 0 || row < 0 || column >= width || row >= height) {
+      return 1;
+    }
+    return costs[row * width + column] & 0xFF;
+  }
+}
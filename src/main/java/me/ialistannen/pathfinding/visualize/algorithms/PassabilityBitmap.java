@@ -0,0 +1,134 @@
+package me.ialistannen.pathfinding.visualize.algorithms;
+
+/**
+ * The passability of a grid, one bit per cell, where every row starts at a new {@code long}
+ * word.
+ *
+ * <p>Bit {@code i} of word {@code w} in a row is the cell in column {@code w * 64 + i}. This
+ * allows searches to look at 64 cells of a row (and its neighbours) at once. Bits after the last
+ * column are always zero, i.e. blocked.</p>
+ */
+public class PassabilityBitmap implements SearchGrid {
+
+  private final int width;
+  private final int height;
+  private final int wordsPerRow;
+  private final long[] words;
+
+  /**
+   * Creates a new bitmap where every cell is blocked.
+   *
+   * @param width the width of the grid
+   * @param height the height of the grid
+   */
+  public PassabilityBitmap(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.wordsPerRow = (width + 63) >>> 6;
+    this.words = new long[wordsPerRow * height];
+  }
+
+  /**
+   * Copies the current passability of a grid.
+   *
+   * @param grid the grid to copy
+   * @return the created bitmap
+   */
+  public static PassabilityBitmap of(SearchGrid grid) {
+    PassabilityBitmap bitmap = new PassabilityBitmap(grid.getWidth(), grid.getHeight());
+
+    for (int row = 0; row < grid.getHeight(); row++) {
+      for (int column = 0; column < grid.getWidth(); column++) {
+        if (grid.isPassable(column, row)) {
+          bitmap.words[row * bitmap.wordsPerRow + (column >>> 6)] |= 1L << column;
+        }
+      }
+    }
+
+    return bitmap;
+  }
+
+  /**
+   * Returns a transposed copy, whose rows are the columns of this bitmap. This allows scanning
+   * columns word by word as well.
+   *
+   * @return the transposed bitmap
+   */
+  public PassabilityBitmap transpose() {
+    PassabilityBitmap transposed = new PassabilityBitmap(height, width);
+
+    for (int row = 0; row < height; row++) {
+      for (int column = 0; column < width; column++) {
+        if (isPassable(column, row)) {
+          transposed.setPassable(row, column, true);
+        }
+      }
+    }
+
+    return transposed;
+  }
+
+  /**
+   * Sets whether a cell is passable.
+   *
+   * @param column the column
+   * @param row the row
+   * @param passable whether the cell is passable
+   * @throws IllegalArgumentException if the cell is outside the grid
+   */
+  public void setPassable(int column, int row, boolean passable) {
+    if (!isInside(column, row)) {
+      throw new IllegalArgumentException("cell is outside the grid: " + column + " " + row);
+    }
+    int index = row * wordsPerRow + (column >>> 6);
+
+    if (passable) {
+      words[index] |= 1L << column;
+    } else {
+      words[index] &= ~(1L << column);
+    }
+  }
+
+  /**
+   * @return the amount of words every row has
+   */
+  public int getWordsPerRow() {
+    return wordsPerRow;
+  }
+
+  /**
+   * Returns a word of a row.
+   *
+   * @param row the row
+   * @param index the index of the word in the row
+   * @return the word, or zero if the row is outside the grid
+   */
+  public long getWord(int row, int index) {
+    if (row < 0 || row >= height) {
+      return 0;
+    }
+    return words[row * wordsPerRow + index];
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public boolean isPassable(int column, int row) {
+    if (!isInside(column, row)) {
+      return false;
+    }
+    return (words[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+  }
+
+  private boolean isInside(int column, int row) {
+    return column >= 0 && row >= 0 && column < width && row < height;
+  }
+}
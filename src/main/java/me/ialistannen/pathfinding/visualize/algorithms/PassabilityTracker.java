@@ -0,0 +1,70 @@
+package me.ialistannen.pathfinding.visualize.algorithms;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid.ChangeCallback;
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+
+/**
+ * Collects the cells of an {@link AlgorithmGrid} whose passability changed, so that data derived
+ * from the grid can be repaired before its next use instead of being rebuilt.
+ *
+ * <p>The grid may be changed on any thread, the changes are applied by whoever polls them.</p>
+ *
+ * @param <T> the type of the cell states
+ */
+public class PassabilityTracker<T extends GridCellState> {
+
+  private final ChangeCallback<T> changeCallback;
+  private final Queue<GridCoordinate> changes;
+  private AlgorithmGrid<T> grid;
+
+  public PassabilityTracker() {
+    this.changes = new ConcurrentLinkedQueue<>();
+    this.changeCallback = (coordinate, oldState, newState) -> {
+      if (oldState.isPassable() != newState.isPassable()) {
+        changes.add(coordinate);
+      }
+    };
+  }
+
+  /**
+   * Starts tracking a grid, if it is not tracked already. Tracking another grid stops.
+   *
+   * <p>If this returns true, everything derived from the grid must be rebuilt from its current
+   * state. Changes happening while doing so are reported again, which is harmless.</p>
+   *
+   * @param grid the grid to track
+   * @return true if the grid was not tracked before
+   */
+  public boolean track(AlgorithmGrid<T> grid) {
+    if (grid == this.grid) {
+      return false;
+    }
+    detach();
+    grid.addChangeCallback(changeCallback);
+    this.grid = grid;
+    return true;
+  }
+
+  /**
+   * Removes the oldest change.
+   *
+   * @return the changed cell or null if there are no changes
+   */
+  public GridCoordinate poll() {
+    return changes.poll();
+  }
+
+  /**
+   * Stops tracking the grid and forgets all changes.
+   */
+  public void detach() {
+    if (grid != null) {
+      grid.removeChangeCallback(changeCallback);
+      grid = null;
+    }
+    changes.clear();
+  }
+}
@@ -0,0 +1,20 @@
+package me.ialistannen.pathfinding.visualize.algorithms;
+
+/**
+ * A search that answers single path queries without recording any visualization.
+ *
+ * <p>Implementations keep mutable per query state and are therefore not thread safe. Use one
+ * instance per thread.</p>
+ */
+public interface PathFinder {
+
+  /**
+   * Finds a path between two cells.
+   *
+   * @param grid the grid to search in
+   * @param start the cell id of the start ({@code row * width + column})
+   * @param goal the cell id of the goal
+   * @return the found path
+   */
+  PathResult findPath(SearchGrid grid, int start, int goal);
+}
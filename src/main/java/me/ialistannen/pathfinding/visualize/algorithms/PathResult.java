@@ -0,0 +1,96 @@
+package me.ialistannen.pathfinding.visualize.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * The compact result of a single path query.
+ */
+public final class PathResult {
+
+  private static final int[] NO_PATH = new int[0];
+
+  private final int[] path;
+  private final double cost;
+  private final int expandedCells;
+
+  /**
+   * Creates a new path result.
+   *
+   * @param path the waypoints as cell ids, from start to goal. Consecutive waypoints are connected
+   *     by a straight or diagonal line, or by a line at any angle for any-angle paths. Empty if no
+   *     path was found.
+   * @param cost the cost of the path
+   * @param expandedCells the amount of cells the search expanded
+   */
+  public PathResult(int[] path, double cost, int expandedCells) {
+    this.path = path;
+    this.cost = cost;
+    this.expandedCells = expandedCells;
+  }
+
+  /**
+   * Creates a result for a query without a path.
+   *
+   * @param expandedCells the amount of cells the search expanded
+   * @return the created result
+   */
+  public static PathResult notFound(int expandedCells) {
+    return new PathResult(NO_PATH, Double.POSITIVE_INFINITY, expandedCells);
+  }
+
+  /**
+   * @return true if a path was found
+   */
+  public boolean isFound() {
+    return path.length > 0;
+  }
+
+  /**
+   * Returns the waypoints of the path as cell ids ({@code row * width + column}).
+   *
+   * @return the waypoints from start to goal. Empty if no path was found.
+   */
+  public int[] getPath() {
+    return path.clone();
+  }
+
+  /**
+   * @return the amount of waypoints in the path
+   */
+  public int getWaypointCount() {
+    return path.length;
+  }
+
+  /**
+   * Returns a single waypoint, without copying the path.
+   *
+   * @param index the index of the waypoint
+   * @return the cell id of the waypoint
+   */
+  public int getWaypoint(int index) {
+    return path[index];
+  }
+
+  /**
+   * @return the cost of the path or {@link Double#POSITIVE_INFINITY} if none was found
+   */
+  public double getCost() {
+    return cost;
+  }
+
+  /**
+   * @return the amount of cells the search expanded
+   */
+  public int getExpandedCells() {
+    return expandedCells;
+  }
+
+  @Override
+  public String toString() {
+    return "PathResult{" +
+        "path=" + Arrays.toString(path) +
+        ", cost=" + cost +
+        ", expandedCells=" + expandedCells +
+        '}';
+  }
+}
@@ -0,0 +1,65 @@
+package me.ialistannen.pathfinding.visualize.algorithms;
+
+/**
+ * The passability information a search needs, without any knowledge of cell states.
+ */
+public interface SearchGrid {
+
+  /**
+   * The highest cost a cell can have.
+   */
+  int MAX_COST = 255;
+
+  /**
+   * @return the amount of columns
+   */
+  int getWidth();
+
+  /**
+   * @return the amount of rows
+   */
+  int getHeight();
+
+  /**
+   * Checks if you can walk through a cell. Cells outside the grid are never passable.
+   *
+   * @param column the column
+   * @param row the row
+   * @return true if the cell is inside the grid and passable
+   */
+  boolean isPassable(int column, int row);
+
+  /**
+   * Returns the cost of entering a cell, which multiplies the cost of the move. Dijkstra, A*
+   * and the bidirectional searches honour it, all other algorithms treat every cell as cost 1.
+   *
+   * @param column the column
+   * @param row the row
+   * @return the cost of the cell, between 1 and {@link #MAX_COST}
+   */
+  default int getCost(int column, int row) {
+    return 1;
+  }
+
+  /**
+   * Checks if you can move from the given cell to the given neighbour. Diagonal moves are allowed
+   * as long as one of the two cells they cut past is passable.
+   *
+   * @param fromColumn the column of the start cell
+   * @param fromRow the row of the start cell
+   * @param toColumn the column of the neighbour
+   * @param toRow the row of the neighbour
+   * @return true if you can move that way
+   */
+  default boolean canMove(int fromColumn, int fromRow, int toColumn, int toRow) {
+    if (fromColumn < 0 || fromRow < 0 || fromColumn >= getWidth() || fromRow >= getHeight()) {
+      return false;
+    }
+
+    if (!isPassable(toColumn, toRow)) {
+      return false;
+    }
+
+    return isPassable(toColumn, fromRow) || isPassable(fromColumn, toRow);
+  }
+}
@@ -0,0 +1,101 @@
+package me.ialistannen.pathfinding.visualize.algorithms.anyangle;
+
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+
+/**
+ * Checks whether a straight line between the centers of two cells only crosses passable cells.
+ *
+ * <p>The line is traced with an integer supercover walk, which visits every cell the line
+ * touches and not only one per column or row like Bresenham's algorithm. A line passing exactly
+ * through the corner of four cells squeezes past it like a diagonal move: one of the two cells it
+ * cuts past has to be passable (see {@link SearchGrid#canMove(int, int, int, int)}).</p>
+ */
+public final class LineOfSight {
+
+  private LineOfSight() {
+    throw new UnsupportedOperationException("No instantiation");
+  }
+
+  /**
+   * Checks if the straight line between the centers of two cells is free.
+   *
+   * @param grid the grid to check in
+   * @param fromColumn the column of the first cell
+   * @param fromRow the row of the first cell
+   * @param toColumn the column of the second cell
+   * @param toRow the row of the second cell
+   * @return true if both cells and all cells the line crosses are passable
+   */
+  public static boolean isVisible(SearchGrid grid, int fromColumn, int fromRow, int toColumn,
+      int toRow) {
+    int column = fromColumn;
+    int row = fromRow;
+    if (!grid.isPassable(column, row)) {
+      return false;
+    }
+
+    int dX = Math.abs(toColumn - fromColumn);
+    int dY = Math.abs(toRow - fromRow);
+    int stepX = toColumn > fromColumn ? 1 : -1;
+    int stepY = toRow > fromRow ? 1 : -1;
+
+    // > 0 if the line leaves the current cell through its vertical side, < 0 if through its
+    // horizontal one and 0 if exactly through the corner
+    long error = (long) dX - dY;
+    long doubleDX = 2L * dX;
+    long doubleDY = 2L * dY;
+
+    for (int remaining = dX + dY; remaining > 0; remaining--) {
+      if (error > 0) {
+        column += stepX;
+        error -= doubleDY;
+      } else if (error < 0) {
+        row += stepY;
+        error += doubleDX;
+      } else {
+        if (!grid.isPassable(column + stepX, row) && !grid.isPassable(column, row + stepY)) {
+          return false;
+        }
+        column += stepX;
+        row += stepY;
+        error += doubleDX - doubleDY;
+        remaining--;
+      }
+
+      if (!grid.isPassable(column, row)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Checks if the straight line between the centers of two cells is free.
+   *
+   * @param grid the grid to check in
+   * @param from the id of the first cell ({@code row * width + column})
+   * @param to the id of the second cell
+   * @return true if both cells and all cells the line crosses are passable
+   * @see #isVisible(SearchGrid, int, int, int, int)
+   */
+  public static boolean isVisible(SearchGrid grid, int from, int to) {
+    int width = grid.getWidth();
+    return isVisible(grid, from % width, from / width, to % width, to / width);
+  }
+
+  /**
+   * Returns the length of the straight line between the centers of two cells.
+   *
+   * @param grid the grid the cells are in
+   * @param from the id of the first cell ({@code row * width + column})
+   * @param to the id of the second cell
+   * @return the euclidean distance between the cells
+   */
+  public static double getLength(SearchGrid grid, int from, int to) {
+    int width = grid.getWidth();
+    double dX = from % width - to % width;
+    double dY = from / width - to / width;
+    return Math.sqrt(dX * dX + dY * dY);
+  }
+}
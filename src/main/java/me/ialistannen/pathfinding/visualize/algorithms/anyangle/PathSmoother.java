@@ -0,0 +1,70 @@
+package me.ialistannen.pathfinding.visualize.algorithms.anyangle;
+
+import java.util.Arrays;
+import java.util.Objects;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+
+/**
+ * Removes the redundant waypoints of a path by string pulling.
+ *
+ * <p>Starting at the first waypoint, the smoother walks along the path as long as the next
+ * waypoint is in {@link LineOfSight line of sight} and only keeps the last visible one. This
+ * turns the zig-zag of a search on eight directions into a few straight lines at any angle. The
+ * smoothed path is never longer than the original one, but not necessarily the shortest path:
+ * use {@link ThetaStarAlgorithm} to search for any-angle paths directly.</p>
+ *
+ * <p>Like {@link ThetaStarAlgorithm}, the smoother measures the euclidean length of the lines and
+ * ignores the {@link SearchGrid#getCost(int, int) cost} of the cells. A pulled line may therefore
+ * cross expensive cells the original path walked around.</p>
+ */
+public final class PathSmoother {
+
+  private PathSmoother() {
+    throw new UnsupportedOperationException("No instantiation");
+  }
+
+  /**
+   * Smooths a path.
+   *
+   * @param grid the grid the path was found in
+   * @param path the path to smooth
+   * @return the smoothed path, with its euclidean length as cost. The path itself if it was not
+   *     found or has no waypoint to remove.
+   */
+  public static PathResult smooth(SearchGrid grid, PathResult path) {
+    Objects.requireNonNull(grid, "grid can not be null!");
+    Objects.requireNonNull(path, "path can not be null!");
+
+    int waypointCount = path.getWaypointCount();
+    if (waypointCount <= 2) {
+      return path;
+    }
+
+    int[] smoothed = new int[waypointCount];
+    int length = 0;
+    double cost = 0;
+
+    int anchor = path.getWaypoint(0);
+    smoothed[length++] = anchor;
+
+    for (int i = 2; i < waypointCount; i++) {
+      if (LineOfSight.isVisible(grid, anchor, path.getWaypoint(i))) {
+        continue;
+      }
+      int corner = path.getWaypoint(i - 1);
+      cost += LineOfSight.getLength(grid, anchor, corner);
+      smoothed[length++] = corner;
+      anchor = corner;
+    }
+
+    int goal = path.getWaypoint(waypointCount - 1);
+    cost += LineOfSight.getLength(grid, anchor, goal);
+    smoothed[length++] = goal;
+
+    if (length == waypointCount) {
+      return path;
+    }
+    return new PathResult(Arrays.copyOf(smoothed, length), cost, path.getExpandedCells());
+  }
+}
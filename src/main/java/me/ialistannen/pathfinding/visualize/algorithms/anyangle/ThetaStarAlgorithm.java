@@ -0,0 +1,109 @@
+package me.ialistannen.pathfinding.visualize.algorithms.anyangle;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import java.util.List;
+import me.ialistannen.pathfinding.visualize.algorithms.astar.AStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * Theta*, an A* whose paths are not bound to the grid directions.
+ *
+ * <p>When a neighbour is reached, Theta* first tries to connect it directly to the parent of the
+ * expanded cell. If the parent is in {@link LineOfSight line of sight}, the neighbour gets the
+ * parent as its own parent and the straight line as distance. Paths therefore consist of a few
+ * waypoints at the corners of obstacles, connected by lines at any angle.</p>
+ *
+ * <p>Distances are euclidean lengths and the {@link
+ * me.ialistannen.pathfinding.visualize.algorithms.SearchGrid#getCost(int, int) cost} of the cells
+ * is ignored. Use the euclidean distance as heuristic, every other one may overestimate the
+ * length of a line.</p>
+ */
+public class ThetaStarAlgorithm extends AStarAlgorithm {
+
+  /**
+   * Creates a new Theta*.
+   *
+   * @param distanceFunction the heuristic
+   * @param directions the directions you can move in, when there is no line of sight
+   */
+  public ThetaStarAlgorithm(DistanceFunction distanceFunction, List<Direction> directions) {
+    super(distanceFunction, directions);
+  }
+
+  @Override
+  protected void expand(int cell) {
+    markAsClosed(cell);
+
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+    int parent = state.getParent(cell);
+    double distance = state.getDistance(cell);
+
+    for (int i = 0; i < directions.length; i++) {
+      Direction direction = directions[i];
+      int newColumn = column + direction.getxMod();
+      int newRow = row + direction.getyMod();
+
+      if (!canMoveTo(column, row, newColumn, newRow)) {
+        continue;
+      }
+
+      int neighbour = cell + neighbourOffsets[i];
+      if (isClosed(neighbour)) {
+        continue;
+      }
+
+      if (parent != NO_CELL) {
+        double lineDistance = state.getDistance(parent)
+            + LineOfSight.getLength(grid, parent, neighbour);
+
+        // the line of sight check is expensive, only trace lines that could improve the cell
+        if (lineDistance >= state.getDistance(neighbour)) {
+          continue;
+        }
+        if (LineOfSight.isVisible(grid, columnOf(parent), rowOf(parent), newColumn, newRow)) {
+          relax(parent, neighbour, lineDistance);
+          continue;
+        }
+      }
+
+      relax(cell, neighbour, distance + direction.getCost());
+    }
+  }
+
+  @Override
+  protected void addPathSegment(int cell, int parent, DefaultGridState solutionState) {
+    if (parent == NO_CELL) {
+      addStep(cell, solutionState);
+      return;
+    }
+
+    // waypoints are connected by lines at any angle, draw the cells between with Bresenham
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+    int targetColumn = columnOf(parent);
+    int targetRow = rowOf(parent);
+    int dX = Math.abs(targetColumn - column);
+    int dY = -Math.abs(targetRow - row);
+    int stepX = targetColumn > column ? 1 : -1;
+    int stepY = targetRow > row ? 1 : -1;
+    int error = dX + dY;
+
+    while (column != targetColumn || row != targetRow) {
+      addStep(cellId(column, row), solutionState);
+
+      int doubleError = 2 * error;
+      if (doubleError >= dY) {
+        error += dY;
+        column += stepX;
+      }
+      if (doubleError <= dX) {
+        error += dX;
+        row += stepY;
+      }
+    }
+  }
+}
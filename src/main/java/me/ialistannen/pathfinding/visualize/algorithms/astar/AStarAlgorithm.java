@@ -1,21 +1,18 @@
 package me.ialistannen.pathfinding.visualize.algorithms.astar;
 
-import java.util.Comparator;
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
 import java.util.List;
-import java.util.Objects;
-import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
-import me.ialistannen.pathfinding.visualize.algorithms.BaseNode;
-import me.ialistannen.pathfinding.visualize.algorithms.astar.AStarAlgorithm.AStarNode;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
 import me.ialistannen.pathfinding.visualize.algorithms.dijkstra.DijkstraBaseAlgorithm;
-import me.ialistannen.pathfinding.visualize.algorithms.distance.DefaultDistanceFunction;
 import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
-import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
-import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
 import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
 
-public class AStarAlgorithm extends DijkstraBaseAlgorithm<AStarNode> {
+public class AStarAlgorithm extends DijkstraBaseAlgorithm {
 
   private DistanceFunction distanceFunction;
+  private int targetColumn;
+  private int targetRow;
 
   public AStarAlgorithm(DistanceFunction distanceFunction, List<Direction> directions) {
     super(directions);
@@ -23,50 +20,39 @@ public class AStarAlgorithm extends DijkstraBaseAlgorithm<AStarNode> {
   }
 
   @Override
-  protected Comparator<AStarNode> createOpenSetComparator() {
-    return Comparator.comparingDouble(this::getTotalDistance)
-        .thenComparingDouble(this::getEuclideanDistanceToTarget)
-        .thenComparingInt(Objects::hashCode);
-  }
-
-  private double getTotalDistance(AStarNode node) {
-    return node.getDistanceToStart() + distanceFunction.getDistance(
-        node.getCoordinate(), node.getTarget()
-    );
-  }
+  protected void reset(SearchGrid grid) {
+    super.reset(grid);
 
-  private double getEuclideanDistanceToTarget(AStarNode node) {
-    return DefaultDistanceFunction.EUCLIDEAN.getDistance(node.getCoordinate(), node.getTarget());
+    if (goal != NO_CELL) {
+      this.targetColumn = columnOf(goal);
+      this.targetRow = rowOf(goal);
+    }
   }
 
   @Override
-  protected AStarNode createStartNode(GridCoordinate coordinate,
-      AlgorithmGrid<DefaultGridState> grid) {
-    return new AStarNode(0, coordinate, grid.getEnd(), null);
+  protected double getPriority(int cell) {
+    return state.getDistance(cell) + getHeuristic(cell);
   }
 
-  @Override
-  protected void expandImpl(AStarNode parent, Direction direction, GridCoordinate newCoordinate) {
-    double newDistance = parent.getDistanceToStart() + direction.getCost();
-
-    AStarNode node = getCachedOrCreate(
-        newCoordinate,
-        new AStarNode(newDistance, newCoordinate, parent.getTarget(), parent)
-    );
-
-    if (newDistance < node.getDistanceToStart()) {
-      node.setParent(parent);
-      node.setDistanceToStart(newDistance);
+  /**
+   * Returns the estimated distance from a cell to the target. It is computed once per cell and
+   * search and then cached in the search state.
+   *
+   * @param cell the id of the cell
+   * @return the estimated distance to the target
+   */
+  protected double getHeuristic(int cell) {
+    if (goal == NO_CELL) {
+      return 0;
     }
-
-    markNodeForExamination(node);
-  }
-
-  protected static class AStarNode extends BaseNode<AStarNode> {
-
-    public AStarNode(double distanceToStart, GridCoordinate coordinate, GridCoordinate target,
-        AStarNode parent) {
-      super(distanceToStart, coordinate, target, parent);
+    if (state.hasHeuristic(cell)) {
+      return state.getHeuristic(cell);
     }
+
+    double heuristic = distanceFunction.getDistance(
+        columnOf(cell), rowOf(cell), targetColumn, targetRow
+    );
+    state.setHeuristic(cell, heuristic);
+    return heuristic;
   }
 }
@@ -0,0 +1,218 @@
+package me.ialistannen.pathfinding.visualize.algorithms.astar;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import java.util.List;
+import me.ialistannen.collections.IntArrayDeque;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * Anytime repairing A* (ARA*), which quickly finds a path that is at most a few times as
+ * expensive as the optimal one and then improves it while time remains.
+ *
+ * <p>The first search weighs the heuristic with the initial weight and stops as soon as the goal
+ * can not get cheaper under that weight. Every following search lowers the weight and continues
+ * from the open cells of the previous one, plus the closed cells that got a shorter distance in
+ * the meantime. Distances and parents are kept, so a search only expands the cells whose
+ * distance may still improve. The searches stop at weight 1, when the path is optimal, or when
+ * the budget passed to {@link #findPath(SearchGrid, int, int, long, long)} runs out.</p>
+ *
+ * <p>The bounds only hold for an admissible and consistent heuristic, like the octile distance
+ * with diagonal moves.</p>
+ */
+public class AnytimeAStarAlgorithm extends AStarAlgorithm {
+
+  /**
+   * A deadline that is never reached.
+   */
+  public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+  /**
+   * The amount of expansions between two checks of the deadline.
+   */
+  private static final int EXPANSIONS_PER_CLOCK_CHECK = 64;
+
+  private final double initialWeight;
+  private final double weightDecrement;
+  // closed cells that got a shorter distance and need to be expanded in the next search
+  private final IntArrayDeque inconsistent;
+  private final IntArrayDeque frontier;
+
+  private long deadlineNanos;
+  private long maxExpansions;
+  private long expansions;
+  private double weight;
+  private double suboptimalityBound;
+  private int iterations;
+
+  /**
+   * Creates a new anytime A*.
+   *
+   * @param distanceFunction the heuristic
+   * @param directions the directions you can move in
+   * @param initialWeight the weight of the heuristic in the first search, at least 1
+   * @param weightDecrement how much the weight is lowered for every further search
+   * @throws IllegalArgumentException if the initial weight is smaller than 1 or the decrement is
+   *     not positive
+   */
+  public AnytimeAStarAlgorithm(DistanceFunction distanceFunction, List<Direction> directions,
+      double initialWeight, double weightDecrement) {
+    super(distanceFunction, directions);
+
+    if (initialWeight < 1) {
+      throw new IllegalArgumentException("initialWeight must be at least 1: " + initialWeight);
+    }
+    if (weightDecrement <= 0) {
+      throw new IllegalArgumentException("weightDecrement must be positive: " + weightDecrement);
+    }
+
+    this.initialWeight = initialWeight;
+    this.weightDecrement = weightDecrement;
+    this.inconsistent = new IntArrayDeque();
+    this.frontier = new IntArrayDeque();
+    this.deadlineNanos = NO_DEADLINE;
+    this.maxExpansions = Long.MAX_VALUE;
+    this.relaxClosedNeighbours = true;
+  }
+
+  /**
+   * Finds the best path possible within a budget.
+   *
+   * @param grid the grid to search in
+   * @param start the cell id of the start ({@code row * width + column})
+   * @param goal the cell id of the goal
+   * @param deadlineNanos the {@link System#nanoTime()} to stop at or {@link #NO_DEADLINE}
+   * @param maxExpansions the maximum amount of cells to expand, over all searches
+   * @return the best path found and how far from optimal it may be
+   */
+  public AnytimePathResult findPath(SearchGrid grid, int start, int goal, long deadlineNanos,
+      long maxExpansions) {
+    this.deadlineNanos = deadlineNanos;
+    this.maxExpansions = maxExpansions;
+
+    try {
+      PathResult path = findPath(grid, start, goal);
+      double bound = path.isFound() ? suboptimalityBound : Double.POSITIVE_INFINITY;
+      return new AnytimePathResult(path, bound, iterations);
+    } finally {
+      this.deadlineNanos = NO_DEADLINE;
+      this.maxExpansions = Long.MAX_VALUE;
+    }
+  }
+
+  @Override
+  protected int search() {
+    weight = initialWeight;
+    suboptimalityBound = Double.POSITIVE_INFINITY;
+    iterations = 0;
+    expansions = 0;
+    inconsistent.clear();
+    frontier.clear();
+
+    for (int cell : starts) {
+      state.visit(cell, 0, NO_CELL);
+      markNodeForExamination(cell);
+    }
+
+    while (improvePath()) {
+      if (goal == NO_CELL || !state.isVisited(goal)) {
+        // the open set ran empty, there is no path
+        break;
+      }
+      iterations++;
+
+      double distance = state.getDistance(goal);
+      double lowerBound = drainFrontier();
+      suboptimalityBound = lowerBound >= distance ? 1 : Math.min(weight, distance / lowerBound);
+      if (suboptimalityBound <= 1) {
+        break;
+      }
+
+      weight = Math.max(1, Math.min(weight - weightDecrement, suboptimalityBound));
+      state.reopenAll();
+      while (!frontier.isEmpty()) {
+        markNodeForExamination(frontier.pollFirst());
+      }
+    }
+
+    return goal != NO_CELL && state.isVisited(goal) ? goal : NO_CELL;
+  }
+
+  /**
+   * Expands cells until the goal can not get any cheaper under the current weight.
+   *
+   * @return false if the budget ran out first
+   */
+  private boolean improvePath() {
+    while (!openSet.isEmpty() && getGoalDistance() > openSet.peekPriority()) {
+      if (isOutOfBudget()) {
+        return false;
+      }
+
+      int cell = openSet.poll();
+      addStep(cell, DefaultGridState.EXAMINED);
+      expand(cell);
+      expansions++;
+    }
+    return true;
+  }
+
+  private double getGoalDistance() {
+    return goal == NO_CELL ? Double.POSITIVE_INFINITY : state.getDistance(goal);
+  }
+
+  private boolean isOutOfBudget() {
+    if (expansions >= maxExpansions) {
+      return true;
+    }
+    return deadlineNanos != NO_DEADLINE
+        && expansions % EXPANSIONS_PER_CLOCK_CHECK == 0
+        && System.nanoTime() - deadlineNanos >= 0;
+  }
+
+  /**
+   * Moves the open and inconsistent cells into the {@link #frontier}.
+   *
+   * @return the lowest unweighted estimate of a path through them, a lower bound for the cost of
+   *     the optimal path
+   */
+  private double drainFrontier() {
+    while (!openSet.isEmpty()) {
+      frontier.addLast(openSet.poll());
+    }
+    while (!inconsistent.isEmpty()) {
+      frontier.addLast(inconsistent.pollFirst());
+    }
+
+    double lowerBound = Double.POSITIVE_INFINITY;
+    for (int i = frontier.size(); i > 0; i--) {
+      int cell = frontier.pollFirst();
+      lowerBound = Math.min(lowerBound, state.getDistance(cell) + getHeuristic(cell));
+      frontier.addLast(cell);
+    }
+    return lowerBound;
+  }
+
+  @Override
+  protected double getPriority(int cell) {
+    return state.getDistance(cell) + weight * getHeuristic(cell);
+  }
+
+  @Override
+  protected void relax(int parent, int cell, double distance) {
+    if (distance >= state.getDistance(cell)) {
+      return;
+    }
+    state.visit(cell, distance, parent);
+
+    if (isClosed(cell)) {
+      inconsistent.addLast(cell);
+    } else {
+      markNodeForExamination(cell);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package me.ialistannen.pathfinding.visualize.algorithms.astar;
+
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+
+/**
+ * The best path an {@link AnytimeAStarAlgorithm} found within its budget.
+ */
+public final class AnytimePathResult {
+
+  private final PathResult path;
+  private final double suboptimalityBound;
+  private final int iterations;
+
+  AnytimePathResult(PathResult path, double suboptimalityBound, int iterations) {
+    this.path = path;
+    this.suboptimalityBound = suboptimalityBound;
+    this.iterations = iterations;
+  }
+
+  /**
+   * @return the best path found
+   */
+  public PathResult getPath() {
+    return path;
+  }
+
+  /**
+   * Returns how much more the path may cost than the optimal one.
+   *
+   * @return a factor of at least 1, so the optimal cost is at least the path cost divided by it.
+   *     {@link Double#POSITIVE_INFINITY} if no path was found.
+   */
+  public double getSuboptimalityBound() {
+    return suboptimalityBound;
+  }
+
+  /**
+   * @return true if the path is proven to be optimal
+   */
+  public boolean isOptimal() {
+    return suboptimalityBound <= 1;
+  }
+
+  /**
+   * @return the amount of searches that ran to completion
+   */
+  public int getIterations() {
+    return iterations;
+  }
+
+  @Override
+  public String toString() {
+    return "AnytimePathResult{" +
+        "path=" + path +
+        ", suboptimalityBound=" + suboptimalityBound +
+        ", iterations=" + iterations +
+        '}';
+  }
+}
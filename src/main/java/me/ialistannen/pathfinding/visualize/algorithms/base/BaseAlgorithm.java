@@ -1,120 +1,310 @@
 package me.ialistannen.pathfinding.visualize.algorithms.base;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.function.Consumer;
 import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
 import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
-import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmResult;
-import me.ialistannen.pathfinding.visualize.algorithms.BaseNode;
+import me.ialistannen.pathfinding.visualize.algorithms.ConnectivityIndex;
+import me.ialistannen.pathfinding.visualize.algorithms.GridSnapshot;
+import me.ialistannen.pathfinding.visualize.algorithms.PathFinder;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.steps.StepSink;
 import me.ialistannen.pathfinding.visualize.grid.GridCellState;
 import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
 import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
-import me.ialistannen.pathfinding.visualize.grid.StatefulGridCoordinate;
 
-public abstract class BaseAlgorithm<T extends GridCellState, U extends BaseNode<U>> implements
-    Algorithm<T> {
+/**
+ * The base for all grid search algorithms.
+ *
+ * <p>Cells are addressed by their id (see {@link #cellId(int, int)}) and all per cell data lives
+ * in a {@link SearchState}, which is reused between runs. The id of a neighbour is the id of the
+ * cell plus the {@link #neighbourOffsets offset} of the direction, once the move was checked to
+ * stay inside the grid.</p>
+ *
+ * <p>Algorithms can either be run on an {@link AlgorithmGrid}, pushing every step into a
+ * {@link StepSink}, or answer headless {@link PathFinder} queries on any {@link SearchGrid}.</p>
+ *
+ * <p>When run on an {@link AlgorithmGrid} the search works on a {@link GridSnapshot} of it, so
+ * the grid can be changed (e.g. by playing back steps) while the search is still running.
+ * Runs where no start is in the same region as the goal (see {@link ConnectivityIndex}) fail
+ * right away, instead of flooding the whole region of the starts.</p>
+ *
+ * @param <T> the type of the cell states
+ */
+public abstract class BaseAlgorithm<T extends GridCellState> implements Algorithm<T>,
+    PathFinder {
 
-  private Map<GridCoordinate, U> nodeCache;
-  private Set<GridCoordinate> closedSet;
-  protected AlgorithmGrid<T> grid;
-  private List<StatefulGridCoordinate<T>> steps;
-  protected List<Direction> directions;
+  protected final SearchState state;
+  protected SearchGrid grid;
+  protected int[] starts;
+  protected int goal;
+  private final int[] singleStart;
+  private final T solutionState;
+  private StepSink<T> stepSink;
+  private int expandedCells;
+  protected Direction[] directions;
+  /**
+   * The difference between the id of a cell and the id of its neighbour in the direction with
+   * the same index, for the current grid.
+   */
+  protected final int[] neighbourOffsets;
 
-  public BaseAlgorithm(List<Direction> directions) {
-    this.directions = new ArrayList<>(directions);
+  /**
+   * Creates a new algorithm.
+   *
+   * @param directions the directions the algorithm may move in
+   * @param solutionState the state to mark the solution path with
+   */
+  public BaseAlgorithm(List<Direction> directions, T solutionState) {
+    this.directions = directions.toArray(new Direction[0]);
+    this.neighbourOffsets = new int[this.directions.length];
+    this.solutionState = solutionState;
+    this.state = new SearchState();
+    this.singleStart = new int[1];
   }
 
   @Override
-  public AlgorithmResult<T> compute(AlgorithmGrid<T> grid) {
+  public boolean compute(AlgorithmGrid<T> grid, StepSink<T> stepSink) {
+    this.stepSink = stepSink;
+    this.starts = grid.getStarts().stream()
+        .mapToInt(start -> start.getRow() * grid.getWidth() + start.getColumn())
+        .toArray();
+    this.goal = grid.getEnd() == null
+        ? NO_CELL
+        : grid.getEnd().getRow() * grid.getWidth() + grid.getEnd().getColumn();
+
+    if (!isGoalReachable(grid.getConnectivityIndex())) {
+      return false;
+    }
+
+    reset(searchGridOf(grid));
+
+    return backtrackResolve(search(), solutionState);
+  }
+
+  /**
+   * Checks whether any start may reach the goal. Without a goal the search is left to fail.
+   *
+   * @param connectivityIndex the connectivity of the grid
+   * @return false if there is no path for sure
+   */
+  private boolean isGoalReachable(ConnectivityIndex connectivityIndex) {
+    if (goal == NO_CELL) {
+      return true;
+    }
+    for (int start : starts) {
+      if (connectivityIndex.canReach(start, goal)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the grid a run on an {@link AlgorithmGrid} searches in. Defaults to a
+   * {@link GridSnapshot}, so the grid can be changed while the search is running.
+   *
+   * @param grid the grid the algorithm is run on
+   * @return the grid to search in
+   */
+  protected SearchGrid searchGridOf(AlgorithmGrid<T> grid) {
+    return grid.snapshot();
+  }
+
+  @Override
+  public PathResult findPath(SearchGrid grid, int start, int goal) {
+    this.stepSink = StepSink.noOp();
+    this.singleStart[0] = start;
+    this.starts = singleStart;
+    this.goal = goal;
+
     reset(grid);
 
-    return compute();
+    return resolvePath(search());
   }
 
   /**
    * Runs this actual algorithm. Reset will be called before this and all fields set to the right
    * values.
    *
-   * @return the resulting {@link AlgorithmResult}.
+   * @return the id of the reached goal cell or {@link SearchState#NO_CELL} if there is no path
    */
-  protected abstract AlgorithmResult<T> compute();
+  protected abstract int search();
 
   /**
-   * Rests this algorithm. You need to call super.
+   * Rests this algorithm. You need to call super. The {@link #starts} and the {@link #goal} are
+   * already set when this is called.
    *
    * @param grid the grid
    */
-  protected void reset(AlgorithmGrid<T> grid) {
-    this.nodeCache = new HashMap<>();
-    this.closedSet = new HashSet<>();
-    this.steps = new ArrayList<>();
+  protected void reset(SearchGrid grid) {
     this.grid = grid;
+    this.expandedCells = 0;
+    this.state.begin(grid.getWidth() * grid.getHeight());
+
+    for (int i = 0; i < directions.length; i++) {
+      neighbourOffsets[i] = directions[i].getyMod() * grid.getWidth() + directions[i].getxMod();
+    }
   }
 
+  /**
+   * Returns the id of a cell, which is unique within the grid and in the range
+   * {@code [0, width * height)}.
+   *
+   * @param column the column of the cell
+   * @param row the row of the cell
+   * @return the id of the cell
+   */
+  protected int cellId(int column, int row) {
+    return row * grid.getWidth() + column;
+  }
 
   /**
-   * Returns a new node or a cached version.
+   * Returns the id of a cell.
    *
-   * @param coordinate the coordinate to get it for
-   * @param defaultNode the default node to cache, if the cache was a miss
-   * @param newNodeConsumer the consumer to be invoked when a new node was created
-   * @return the newly created node, or a cached one at the same position
+   * @param coordinate the coordinate of the cell
+   * @return the id of the cell
+   * @see #cellId(int, int)
    */
-  protected U newNodeOrCached(GridCoordinate coordinate, U defaultNode,
-      Consumer<U> newNodeConsumer) {
-    if (nodeCache.containsKey(coordinate)) {
-      return nodeCache.get(coordinate);
-    }
+  protected int cellId(GridCoordinate coordinate) {
+    return cellId(coordinate.getColumn(), coordinate.getRow());
+  }
 
-    nodeCache.put(coordinate, defaultNode);
+  /**
+   * @param cell the id of the cell
+   * @return the column of the cell
+   */
+  protected int columnOf(int cell) {
+    return cell % grid.getWidth();
+  }
 
-    newNodeConsumer.accept(defaultNode);
+  /**
+   * @param cell the id of the cell
+   * @return the row of the cell
+   */
+  protected int rowOf(int cell) {
+    return cell / grid.getWidth();
+  }
+
+  /**
+   * Returns the coordinate for a cell id.
+   *
+   * @param cell the id of the cell
+   * @return the coordinate of the cell
+   * @see #cellId(int, int)
+   */
+  protected GridCoordinate coordinateOf(int cell) {
+    return new GridCoordinate(columnOf(cell), rowOf(cell));
+  }
 
-    return defaultNode;
+  /**
+   * Checks if the given cell is the end.
+   *
+   * @param cell the id of the cell
+   * @return true if the cell is the goal
+   */
+  protected boolean isEnd(int cell) {
+    return cell == goal;
   }
 
   /**
-   * Resolves the path to the start via backtracking.
+   * Resolves the path to the start via backtracking the parents in the {@link SearchState}.
    *
-   * @param node the node to start at
+   * @param cell the cell to start at or {@link SearchState#NO_CELL}
    * @param solutionState the state to use for the solution
-   * @return the created {@link AlgorithmResult}. Can handle nulls and failures.
+   * @return true if a path was found
    */
-  protected AlgorithmResult<T> backtrackResolve(U node, T solutionState) {
-    if (node == null || !grid.getStateAt(node.getCoordinate()).isEnd()) {
-      return new AlgorithmResult<>(false, steps);
+  protected boolean backtrackResolve(int cell, T solutionState) {
+    if (cell == NO_CELL || !isEnd(cell)) {
+      return false;
+    }
+
+    while (cell != NO_CELL) {
+      int parent = state.getParent(cell);
+      addPathSegment(cell, parent, solutionState);
+      cell = parent;
+    }
+
+    return true;
+  }
+
+  /**
+   * Resolves the compact path to the start via backtracking the parents in the
+   * {@link SearchState}.
+   *
+   * @param cell the cell to start at or {@link SearchState#NO_CELL}
+   * @return the created {@link PathResult}
+   */
+  protected PathResult resolvePath(int cell) {
+    if (cell == NO_CELL || !isEnd(cell)) {
+      return PathResult.notFound(expandedCells);
+    }
+
+    int length = 0;
+    for (int current = cell; current != NO_CELL; current = state.getParent(current)) {
+      length++;
     }
 
-    while (node != null) {
-      addStep(node.getCoordinate(), solutionState);
-      node = node.getParent();
+    int[] path = new int[length];
+    for (int current = cell; current != NO_CELL; current = state.getParent(current)) {
+      path[--length] = current;
     }
 
-    return new AlgorithmResult<>(true, steps);
+    return new PathResult(path, state.getDistance(cell), expandedCells);
+  }
+
+  /**
+   * Adds the solution steps for one link of the resolved path. Algorithms whose parents are not
+   * adjacent to their children need to fill in the cells between.
+   *
+   * @param cell the cell
+   * @param parent the parent of the cell or {@link SearchState#NO_CELL}
+   * @param solutionState the state to use for the solution
+   */
+  protected void addPathSegment(int cell, int parent, T solutionState) {
+    addStep(cell, solutionState);
   }
 
   /**
-   * Makrs a given {@link GridCoordinate} as closed.
+   * Makrs a given cell as closed.
    *
-   * @param coordinate the coordinate to mark as closed
+   * @param cell the id of the cell to mark as closed
    */
-  protected void markAsClosed(GridCoordinate coordinate) {
-    closedSet.add(coordinate);
+  protected void markAsClosed(int cell) {
+    markAsClosed(state, cell);
   }
 
   /**
-   * Checks if a {@link GridCoordinate} is marked as closed.
+   * Marks a given cell as closed in another search state, e.g. the one of a backwards search.
    *
-   * @param coordinate the coordinate to check for
-   * @return true if the coordinate is closed
+   * @param searchState the search state to close it in
+   * @param cell the id of the cell to mark as closed
+   */
+  protected void markAsClosed(SearchState searchState, int cell) {
+    searchState.close(cell);
+    expandedCells++;
+  }
+
+  /**
+   * Checks if a cell is marked as closed.
+   *
+   * @param cell the id of the cell to check for
+   * @return true if the cell is closed
+   */
+  protected boolean isClosed(int cell) {
+    return state.isClosed(cell);
+  }
+
+  /**
+   * Adds a new step.
+   *
+   * @param cell the id of the cell to add it for
+   * @param state the state the cell had at this point
    */
-  protected boolean isClosed(GridCoordinate coordinate) {
-    return closedSet.contains(coordinate);
+  protected void addStep(int cell, T state) {
+    stepSink.accept(columnOf(cell), rowOf(cell), state);
   }
 
   /**
@@ -124,17 +314,19 @@ public abstract class BaseAlgorithm<T extends GridCellState, U extends BaseNode<
    * @param state the state the cell had at this point
    */
   protected void addStep(GridCoordinate coordinate, T state) {
-    steps.add(new StatefulGridCoordinate<>(coordinate, state));
+    stepSink.accept(coordinate.getColumn(), coordinate.getRow(), state);
   }
 
   /**
-   * Checks if you can move from the given coordinate to the given neighbour.
+   * Checks if you can move from the given cell to the given neighbour.
    *
-   * @param from the start coordinate
-   * @param to the neighbour to move to
+   * @param fromColumn the column of the start cell
+   * @param fromRow the row of the start cell
+   * @param toColumn the column of the neighbour
+   * @param toRow the row of the neighbour
    * @return true if you can move that way
    */
-  protected boolean canMoveTo(GridCoordinate from, GridCoordinate to) {
-    return grid.canMove(from, to);
+  protected boolean canMoveTo(int fromColumn, int fromRow, int toColumn, int toRow) {
+    return grid.canMove(fromColumn, fromRow, toColumn, toRow);
   }
 }
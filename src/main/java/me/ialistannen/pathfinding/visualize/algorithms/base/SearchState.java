@@ -0,0 +1,192 @@
+package me.ialistannen.pathfinding.visualize.algorithms.base;
+
+import java.util.Arrays;
+
+/**
+ * The per cell state of a search, stored as parallel primitive arrays indexed by cell id.
+ *
+ * <p>The state can be reused for any number of searches. Instead of clearing the arrays, every
+ * search gets a new generation and values written in an older generation are simply ignored.
+ * Closed flags are a bitset whose words are lazily zeroed when first touched in a generation.
+ * Heuristic values are cached the same way, so they are computed at most once per cell.</p>
+ *
+ * <p>The closed flags have a generation of their own, so all cells can be opened again without
+ * losing their distances, e.g. between the iterations of an anytime search.</p>
+ */
+public class SearchState {
+
+  /**
+   * Marks the absence of a cell, e.g. the parent of a start cell.
+   */
+  public static final int NO_CELL = -1;
+
+  private double[] distances;
+  private int[] parents;
+  private int[] stamps;
+
+  private double[] heuristics;
+  private int[] heuristicStamps;
+
+  private long[] closed;
+  private int[] closedStamps;
+
+  private int generation;
+  private int closedGeneration;
+  private int cellCount;
+
+  public SearchState() {
+    this.distances = new double[0];
+    this.parents = new int[0];
+    this.stamps = new int[0];
+    this.heuristics = new double[0];
+    this.heuristicStamps = new int[0];
+    this.closed = new long[0];
+    this.closedStamps = new int[0];
+  }
+
+  /**
+   * Starts a new search, forgetting everything from the previous one in O(1).
+   *
+   * @param cellCount the amount of cells in the searched grid
+   */
+  public void begin(int cellCount) {
+    this.cellCount = cellCount;
+
+    if (cellCount > stamps.length) {
+      distances = Arrays.copyOf(distances, cellCount);
+      parents = Arrays.copyOf(parents, cellCount);
+      stamps = Arrays.copyOf(stamps, cellCount);
+      heuristics = Arrays.copyOf(heuristics, cellCount);
+      heuristicStamps = Arrays.copyOf(heuristicStamps, cellCount);
+
+      int words = (cellCount + 63) >>> 6;
+      closed = Arrays.copyOf(closed, words);
+      closedStamps = Arrays.copyOf(closedStamps, words);
+    }
+
+    if (generation == Integer.MAX_VALUE) {
+      Arrays.fill(stamps, 0);
+      Arrays.fill(heuristicStamps, 0);
+      generation = 0;
+    }
+    generation++;
+    reopenAll();
+  }
+
+  /**
+   * Opens all closed cells again in O(1), keeping their distances and parents.
+   */
+  public void reopenAll() {
+    if (closedGeneration == Integer.MAX_VALUE) {
+      Arrays.fill(closedStamps, 0);
+      closedGeneration = 0;
+    }
+    closedGeneration++;
+  }
+
+  /**
+   * @return the amount of cells in the current search
+   */
+  public int getCellCount() {
+    return cellCount;
+  }
+
+  /**
+   * Checks if a cell was reached in the current search.
+   *
+   * @param cell the id of the cell
+   * @return true if the cell has a distance and parent
+   */
+  public boolean isVisited(int cell) {
+    return stamps[cell] == generation;
+  }
+
+  /**
+   * Records the distance and parent of a cell.
+   *
+   * @param cell the id of the cell
+   * @param distance the distance to the start
+   * @param parent the parent cell or {@link #NO_CELL}
+   */
+  public void visit(int cell, double distance, int parent) {
+    distances[cell] = distance;
+    parents[cell] = parent;
+    stamps[cell] = generation;
+  }
+
+  /**
+   * Returns the distance to the start.
+   *
+   * @param cell the id of the cell
+   * @return the distance or {@link Double#POSITIVE_INFINITY} if not visited
+   */
+  public double getDistance(int cell) {
+    return isVisited(cell) ? distances[cell] : Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Returns the parent of a cell.
+   *
+   * @param cell the id of the cell
+   * @return the parent or {@link #NO_CELL} if it has none or was not visited
+   */
+  public int getParent(int cell) {
+    return isVisited(cell) ? parents[cell] : NO_CELL;
+  }
+
+  /**
+   * Checks if the heuristic of a cell was cached in the current search.
+   *
+   * @param cell the id of the cell
+   * @return true if {@link #getHeuristic(int)} returns the cached value
+   */
+  public boolean hasHeuristic(int cell) {
+    return heuristicStamps[cell] == generation;
+  }
+
+  /**
+   * Returns the cached heuristic of a cell.
+   *
+   * @param cell the id of the cell
+   * @return the cached heuristic, only valid if {@link #hasHeuristic(int)} is true
+   */
+  public double getHeuristic(int cell) {
+    return heuristics[cell];
+  }
+
+  /**
+   * Caches the heuristic of a cell for the current search.
+   *
+   * @param cell the id of the cell
+   * @param heuristic the heuristic
+   */
+  public void setHeuristic(int cell, double heuristic) {
+    heuristics[cell] = heuristic;
+    heuristicStamps[cell] = generation;
+  }
+
+  /**
+   * Marks a cell as closed.
+   *
+   * @param cell the id of the cell
+   */
+  public void close(int cell) {
+    int word = cell >>> 6;
+    if (closedStamps[word] != closedGeneration) {
+      closedStamps[word] = closedGeneration;
+      closed[word] = 0;
+    }
+    closed[word] |= 1L << cell;
+  }
+
+  /**
+   * Checks if a cell is closed.
+   *
+   * @param cell the id of the cell
+   * @return true if the cell was closed in the current search and not opened again
+   */
+  public boolean isClosed(int cell) {
+    int word = cell >>> 6;
+    return closedStamps[word] == closedGeneration && (closed[word] & (1L << cell)) != 0;
+  }
+}
@@ -0,0 +1,125 @@
+package me.ialistannen.pathfinding.visualize.algorithms.batch;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+import me.ialistannen.pathfinding.visualize.algorithms.ConnectivityIndex;
+import me.ialistannen.pathfinding.visualize.algorithms.GridSnapshot;
+import me.ialistannen.pathfinding.visualize.algorithms.PathFinder;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+
+/**
+ * Answers many path queries on the same static grid in parallel.
+ *
+ * <p>Queries are split over a {@link ForkJoinPool}. Every worker thread lazily creates its own
+ * {@link PathFinder} and reuses it for all queries it runs, so the search state is never shared
+ * and never reallocated between queries.</p>
+ *
+ * <p>Queries between two disconnected regions of the grid (see {@link ConnectivityIndex}) are
+ * answered without searching.</p>
+ */
+public class BatchQueryEngine {
+
+  /**
+   * The amount of queries a single task solves without splitting further.
+   */
+  private static final int SEQUENTIAL_THRESHOLD = 16;
+
+  private final ForkJoinPool pool;
+  private final ThreadLocal<PathFinder> pathFinders;
+
+  /**
+   * Creates a new engine running on the common pool.
+   *
+   * @param pathFinderFactory creates the path finder for every worker
+   */
+  public BatchQueryEngine(Supplier<? extends PathFinder> pathFinderFactory) {
+    this(pathFinderFactory, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a new engine.
+   *
+   * @param pathFinderFactory creates the path finder for every worker
+   * @param pool the pool to run the queries on
+   */
+  public BatchQueryEngine(Supplier<? extends PathFinder> pathFinderFactory, ForkJoinPool pool) {
+    Objects.requireNonNull(pathFinderFactory, "pathFinderFactory can not be null!");
+
+    this.pool = Objects.requireNonNull(pool, "pool can not be null!");
+    this.pathFinders = ThreadLocal.withInitial(pathFinderFactory::get);
+  }
+
+  /**
+   * Solves all queries and blocks until they are done.
+   *
+   * @param snapshot the grid to search in
+   * @param queries the queries to solve
+   * @return the results in the same order as the queries and their statistics
+   */
+  public BatchResult solve(GridSnapshot snapshot, List<PathQuery> queries) {
+    Objects.requireNonNull(snapshot, "snapshot can not be null!");
+    Objects.requireNonNull(queries, "queries can not be null!");
+
+    PathQuery[] queryArray = queries.toArray(new PathQuery[0]);
+    PathResult[] results = new PathResult[queryArray.length];
+
+    long start = System.nanoTime();
+    ConnectivityIndex connectivityIndex = new ConnectivityIndex(snapshot);
+    pool.invoke(new SolveTask(
+        pathFinders, snapshot, connectivityIndex, queryArray, results, 0, queryArray.length
+    ));
+    long wallTime = System.nanoTime() - start;
+
+    return new BatchResult(results, wallTime);
+  }
+
+  @SuppressWarnings("serial")
+  private static final class SolveTask extends RecursiveAction {
+
+    private final ThreadLocal<PathFinder> pathFinders;
+    private final GridSnapshot snapshot;
+    private final ConnectivityIndex connectivityIndex;
+    private final PathQuery[] queries;
+    private final PathResult[] results;
+    private final int from;
+    private final int to;
+
+    private SolveTask(ThreadLocal<PathFinder> pathFinders, GridSnapshot snapshot,
+        ConnectivityIndex connectivityIndex, PathQuery[] queries, PathResult[] results, int from,
+        int to) {
+      this.pathFinders = pathFinders;
+      this.snapshot = snapshot;
+      this.connectivityIndex = connectivityIndex;
+      this.queries = queries;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= SEQUENTIAL_THRESHOLD) {
+        PathFinder pathFinder = pathFinders.get();
+
+        for (int i = from; i < to; i++) {
+          int queryStart = queries[i].getStart();
+          int queryGoal = queries[i].getGoal();
+
+          results[i] = connectivityIndex.canReach(queryStart, queryGoal)
+              ? pathFinder.findPath(snapshot, queryStart, queryGoal)
+              : PathResult.notFound(0);
+        }
+        return;
+      }
+
+      int middle = (from + to) >>> 1;
+      invokeAll(
+          new SolveTask(pathFinders, snapshot, connectivityIndex, queries, results, from, middle),
+          new SolveTask(pathFinders, snapshot, connectivityIndex, queries, results, middle, to)
+      );
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package me.ialistannen.pathfinding.visualize.algorithms.batch;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+
+/**
+ * The results of a batch of queries, in the order of the queries.
+ */
+public final class BatchResult {
+
+  private final List<PathResult> results;
+  private final BatchStats stats;
+
+  BatchResult(PathResult[] results, long wallTimeNanos) {
+    this.results = Collections.unmodifiableList(Arrays.asList(results));
+    this.stats = BatchStats.of(results, wallTimeNanos);
+  }
+
+  /**
+   * @return the result of every query, in the same order as the queries
+   */
+  public List<PathResult> getResults() {
+    return results;
+  }
+
+  public BatchStats getStats() {
+    return stats;
+  }
+}
@@ -0,0 +1,105 @@
+package me.ialistannen.pathfinding.visualize.algorithms.batch;
+
+import java.util.concurrent.TimeUnit;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+
+/**
+ * Aggregate statistics over all queries of a batch.
+ */
+public final class BatchStats {
+
+  private final int queryCount;
+  private final int foundCount;
+  private final long expandedCells;
+  private final double totalCost;
+  private final long wallTimeNanos;
+
+  private BatchStats(int queryCount, int foundCount, long expandedCells, double totalCost,
+      long wallTimeNanos) {
+    this.queryCount = queryCount;
+    this.foundCount = foundCount;
+    this.expandedCells = expandedCells;
+    this.totalCost = totalCost;
+    this.wallTimeNanos = wallTimeNanos;
+  }
+
+  /**
+   * Computes the statistics for the given results.
+   *
+   * @param results the results of the batch
+   * @param wallTimeNanos the time the whole batch took
+   * @return the computed statistics
+   */
+  static BatchStats of(PathResult[] results, long wallTimeNanos) {
+    int foundCount = 0;
+    long expandedCells = 0;
+    double totalCost = 0;
+
+    for (PathResult result : results) {
+      expandedCells += result.getExpandedCells();
+      if (result.isFound()) {
+        foundCount++;
+        totalCost += result.getCost();
+      }
+    }
+
+    return new BatchStats(results.length, foundCount, expandedCells, totalCost, wallTimeNanos);
+  }
+
+  public int getQueryCount() {
+    return queryCount;
+  }
+
+  /**
+   * @return the amount of queries a path was found for
+   */
+  public int getFoundCount() {
+    return foundCount;
+  }
+
+  /**
+   * @return the amount of queries no path was found for
+   */
+  public int getUnreachableCount() {
+    return queryCount - foundCount;
+  }
+
+  /**
+   * @return the summed up amount of expanded cells over all queries
+   */
+  public long getExpandedCells() {
+    return expandedCells;
+  }
+
+  /**
+   * @return the summed up cost of all found paths
+   */
+  public double getTotalCost() {
+    return totalCost;
+  }
+
+  public long getWallTimeNanos() {
+    return wallTimeNanos;
+  }
+
+  /**
+   * @return the amount of queries answered per second of wall time
+   */
+  public double getQueriesPerSecond() {
+    if (wallTimeNanos == 0) {
+      return 0;
+    }
+    return queryCount / (wallTimeNanos / (double) TimeUnit.SECONDS.toNanos(1));
+  }
+
+  @Override
+  public String toString() {
+    return "BatchStats{" +
+        "queryCount=" + queryCount +
+        ", foundCount=" + foundCount +
+        ", expandedCells=" + expandedCells +
+        ", totalCost=" + totalCost +
+        ", wallTimeMillis=" + TimeUnit.NANOSECONDS.toMillis(wallTimeNanos) +
+        '}';
+  }
+}
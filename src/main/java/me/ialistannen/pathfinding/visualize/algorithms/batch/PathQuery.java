@@ -0,0 +1,55 @@
+package me.ialistannen.pathfinding.visualize.algorithms.batch;
+
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+
+/**
+ * A single (start, goal) query, addressed by cell ids ({@code row * width + column}).
+ */
+public final class PathQuery {
+
+  private final int start;
+  private final int goal;
+
+  /**
+   * Creates a new query.
+   *
+   * @param start the cell id of the start
+   * @param goal the cell id of the goal
+   */
+  public PathQuery(int start, int goal) {
+    this.start = start;
+    this.goal = goal;
+  }
+
+  /**
+   * Creates a new query from coordinates.
+   *
+   * @param grid the grid the query will be run on
+   * @param start the start coordinate
+   * @param goal the goal coordinate
+   * @return the created query
+   */
+  public static PathQuery of(SearchGrid grid, GridCoordinate start, GridCoordinate goal) {
+    return new PathQuery(
+        start.getRow() * grid.getWidth() + start.getColumn(),
+        goal.getRow() * grid.getWidth() + goal.getColumn()
+    );
+  }
+
+  public int getStart() {
+    return start;
+  }
+
+  public int getGoal() {
+    return goal;
+  }
+
+  @Override
+  public String toString() {
+    return "PathQuery{" +
+        "start=" + start +
+        ", goal=" + goal +
+        '}';
+  }
+}
@@ -1,85 +1,87 @@
 package me.ialistannen.pathfinding.visualize.algorithms.bfsgreedy;
 
-import java.util.Comparator;
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
 import java.util.List;
-import java.util.PriorityQueue;
-import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
-import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmResult;
-import me.ialistannen.pathfinding.visualize.algorithms.BaseNode;
+import me.ialistannen.collections.heap.IndexedMinHeap;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
 import me.ialistannen.pathfinding.visualize.algorithms.base.BaseAlgorithm;
-import me.ialistannen.pathfinding.visualize.algorithms.bfsgreedy.GreedyBFSAlgorithm.GreedyNode;
 import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
 import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
-import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
 import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
 
-public class GreedyBFSAlgorithm extends BaseAlgorithm<DefaultGridState, GreedyNode> {
+public class GreedyBFSAlgorithm extends BaseAlgorithm<DefaultGridState> {
 
-  private PriorityQueue<GreedyNode> openNodes;
+  private final IndexedMinHeap openNodes;
   private DistanceFunction distanceFunction;
 
   public GreedyBFSAlgorithm(List<Direction> directions, DistanceFunction distanceFunction) {
-    super(directions);
+    super(directions, DefaultGridState.SOLUTION);
     this.distanceFunction = distanceFunction;
+    this.openNodes = new IndexedMinHeap(0);
   }
 
   @Override
-  protected AlgorithmResult<DefaultGridState> compute() {
-    for (GridCoordinate gridCoordinate : grid.getStarts()) {
-      openNodes.add(new GreedyNode(gridCoordinate, grid.getEnd(), null));
+  protected int search() {
+    for (int cell : starts) {
+      state.visit(cell, 0, NO_CELL);
+      openNodes.insertOrDecrease(cell, getHCost(cell));
     }
 
-    GreedyNode tmp;
-    while ((tmp = openNodes.poll()) != null) {
-      GridCoordinate coordinate = tmp.getCoordinate();
+    int end = NO_CELL;
+    while (!openNodes.isEmpty()) {
+      int cell = openNodes.poll();
 
-      if (grid.getStateAt(coordinate).isEnd()) {
+      if (isEnd(cell)) {
+        end = cell;
         break;
       }
 
-      addStep(coordinate, DefaultGridState.EXAMINED);
-      expand(tmp);
+      addStep(cell, DefaultGridState.EXAMINED);
+      expand(cell);
     }
 
-    return backtrackResolve(tmp, DefaultGridState.SOLUTION);
+    return end;
   }
 
-  private void expand(GreedyNode node) {
-    markAsClosed(node.getCoordinate());
+  private void expand(int cell) {
+    markAsClosed(cell);
+
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+    double distance = state.getDistance(cell);
 
-    for (Direction direction : directions) {
-      GridCoordinate newCoordinate = node.getCoordinate().getNeighbour(direction);
+    for (int i = 0; i < directions.length; i++) {
+      Direction direction = directions[i];
+      int newColumn = column + direction.getxMod();
+      int newRow = row + direction.getyMod();
+
+      if (!canMoveTo(column, row, newColumn, newRow)) {
+        continue;
+      }
 
-      if (isClosed(newCoordinate) || !canMoveTo(node.getCoordinate(), newCoordinate)) {
+      int child = cell + neighbourOffsets[i];
+      if (isClosed(child) || state.isVisited(child)) {
         continue;
       }
 
-      newNodeOrCached(
-          newCoordinate,
-          new GreedyNode(newCoordinate, node.getTarget(), node),
-          newNode -> {
-            openNodes.add(newNode);
-            addStep(newCoordinate, DefaultGridState.OPEN_SET);
-          }
-      );
+      state.visit(child, distance + direction.getCost(), cell);
+      openNodes.insert(child, getHCost(child));
+      addStep(child, DefaultGridState.OPEN_SET);
     }
   }
 
   @Override
-  protected void reset(AlgorithmGrid<DefaultGridState> grid) {
+  protected void reset(SearchGrid grid) {
     super.reset(grid);
-    openNodes = new PriorityQueue<>(Comparator.comparingDouble(this::getHCost));
-  }
-
-  private double getHCost(GreedyNode node) {
-    return distanceFunction.getDistance(node.getCoordinate(), node.getTarget());
+    openNodes.clear();
+    openNodes.ensureCapacity(grid.getWidth() * grid.getHeight());
   }
 
-  static class GreedyNode extends BaseNode<GreedyNode> {
-
-    GreedyNode(GridCoordinate coordinate, GridCoordinate target,
-        GreedyNode parent) {
-      super(0, coordinate, target, parent);
+  private double getHCost(int cell) {
+    if (goal == NO_CELL) {
+      return 0;
     }
+    return distanceFunction.getDistance(columnOf(cell), rowOf(cell), columnOf(goal), rowOf(goal));
   }
 }
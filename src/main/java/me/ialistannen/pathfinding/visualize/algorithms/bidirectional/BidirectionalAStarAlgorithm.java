@@ -0,0 +1,68 @@
+package me.ialistannen.pathfinding.visualize.algorithms.bidirectional;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import java.util.List;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.base.SearchState;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * A bidirectional A*. The forward search estimates the distance to the goal, the backward search
+ * the distance to the closest start.
+ *
+ * <p>Every path that was not found yet has to pass through both open sets, so it costs at least
+ * the bigger of the two smallest estimates. Once that is not smaller than the best path found,
+ * the search stops. This requires an admissible distance function.</p>
+ */
+public class BidirectionalAStarAlgorithm extends BidirectionalBaseAlgorithm {
+
+  private DistanceFunction distanceFunction;
+
+  public BidirectionalAStarAlgorithm(DistanceFunction distanceFunction,
+      List<Direction> directions) {
+    super(directions);
+    this.distanceFunction = distanceFunction;
+  }
+
+  @Override
+  protected double getPriority(int cell, double distance, boolean forward) {
+    SearchState searchState = getSearchState(forward);
+    if (!searchState.hasHeuristic(cell)) {
+      searchState.setHeuristic(cell, getHeuristic(cell, forward));
+    }
+    return distance + searchState.getHeuristic(cell);
+  }
+
+  @Override
+  protected boolean isFinished(double forwardMin, double backwardMin, double bestCost) {
+    return Math.max(forwardMin, backwardMin) >= bestCost;
+  }
+
+  /**
+   * Returns the estimated distance from a cell to the end of its search.
+   *
+   * @param cell the id of the cell
+   * @param forward true if the distance to the goal should be estimated, false for the starts
+   * @return the estimated distance
+   */
+  private double getHeuristic(int cell, boolean forward) {
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+
+    if (forward) {
+      return goal == NO_CELL
+          ? 0
+          : distanceFunction.getDistance(column, row, columnOf(goal), rowOf(goal));
+    }
+
+    double best = Double.POSITIVE_INFINITY;
+    for (int start : starts) {
+      best = Math.min(
+          best, distanceFunction.getDistance(column, row, columnOf(start), rowOf(start))
+      );
+    }
+    return best;
+  }
+}
@@ -0,0 +1,221 @@
+package me.ialistannen.pathfinding.visualize.algorithms.bidirectional;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import java.util.List;
+import me.ialistannen.collections.heap.IndexedMinHeap;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.base.BaseAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.base.SearchState;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * The base for best first searches that expand a frontier from the starts and one from the goal at
+ * the same time.
+ *
+ * <p>Every time a cell is reached that the other search has already visited, the combined path
+ * is a candidate for the shortest one. The search stops once
+ * {@link #isFinished(double, double, double)} proves that no better candidate can be found, and
+ * the backward half of the best path is then joined into the forward {@link #state}.</p>
+ *
+ * <p>The backward search follows the moves in reverse, i.e. it reaches a neighbour if you could
+ * move from the neighbour to the current cell.</p>
+ */
+public abstract class BidirectionalBaseAlgorithm extends BaseAlgorithm<DefaultGridState> {
+
+  private final Frontier forward;
+  private final Frontier backward;
+
+  private double bestCost;
+  private int meetingCell;
+
+  public BidirectionalBaseAlgorithm(List<Direction> directions) {
+    super(directions, DefaultGridState.SOLUTION);
+
+    this.forward = new Frontier(state, true);
+    this.backward = new Frontier(new SearchState(), false);
+  }
+
+  @Override
+  protected int search() {
+    if (goal == NO_CELL) {
+      return NO_CELL;
+    }
+
+    backward.state.visit(goal, 0, NO_CELL);
+    backward.openSet.insert(goal, getPriority(goal, 0, false));
+
+    for (int cell : starts) {
+      forward.state.visit(cell, 0, NO_CELL);
+      forward.openSet.insertOrDecrease(cell, getPriority(cell, 0, true));
+      addStep(cell, DefaultGridState.OPEN_SET);
+      offerMeeting(cell, forward, backward);
+    }
+
+    while (!forward.openSet.isEmpty() && !backward.openSet.isEmpty()) {
+      double forwardMin = forward.openSet.peekPriority();
+      double backwardMin = backward.openSet.peekPriority();
+
+      if (isFinished(forwardMin, backwardMin, bestCost)) {
+        break;
+      }
+
+      // expand the smaller frontier, which keeps both balanced on asymmetric maps
+      if (forward.openSet.size() <= backward.openSet.size()) {
+        expand(forward, backward);
+      } else {
+        expand(backward, forward);
+      }
+    }
+
+    if (meetingCell == NO_CELL) {
+      return NO_CELL;
+    }
+
+    joinAtMeetingCell();
+
+    return goal;
+  }
+
+  @Override
+  protected void reset(SearchGrid grid) {
+    super.reset(grid);
+
+    int cellCount = grid.getWidth() * grid.getHeight();
+    backward.state.begin(cellCount);
+    forward.openSet.clear();
+    forward.openSet.ensureCapacity(cellCount);
+    backward.openSet.clear();
+    backward.openSet.ensureCapacity(cellCount);
+
+    bestCost = Double.POSITIVE_INFINITY;
+    meetingCell = NO_CELL;
+  }
+
+  /**
+   * Returns the priority of a cell in the open set of one of the searches.
+   *
+   * @param cell the id of the cell
+   * @param distance the distance of the cell to the origin of its search
+   * @param forward true if the cell is in the forward search
+   * @return the priority of the cell. Smaller priorities are examined first.
+   */
+  protected abstract double getPriority(int cell, double distance, boolean forward);
+
+  /**
+   * Checks whether the search can stop, as no path can be shorter than the best one found.
+   *
+   * @param forwardMin the smallest priority in the forward open set
+   * @param backwardMin the smallest priority in the backward open set
+   * @param bestCost the cost of the best path found so far or infinity
+   * @return true if the search can stop
+   */
+  protected abstract boolean isFinished(double forwardMin, double backwardMin, double bestCost);
+
+  /**
+   * Returns the state of one of the searches.
+   *
+   * @param forward true for the forward search, false for the backward one
+   * @return the state of the search
+   */
+  protected SearchState getSearchState(boolean forward) {
+    return forward ? this.forward.state : backward.state;
+  }
+
+  private void expand(Frontier self, Frontier other) {
+    int cell = self.openSet.poll();
+    markAsClosed(self.state, cell);
+    addStep(cell, DefaultGridState.EXAMINED);
+
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+    double distance = self.state.getDistance(cell);
+
+    for (int i = 0; i < directions.length; i++) {
+      Direction direction = directions[i];
+      int newColumn = column + direction.getxMod();
+      int newRow = row + direction.getyMod();
+
+      // the backward search walks the moves in reverse
+      boolean canMove = self.isForward
+          ? canMoveTo(column, row, newColumn, newRow)
+          : canMoveTo(newColumn, newRow, column, row);
+      if (!canMove) {
+        continue;
+      }
+
+      int neighbour = cell + neighbourOffsets[i];
+      if (self.state.isClosed(neighbour)) {
+        continue;
+      }
+
+      // a move costs as much as the cell it enters, which is this one for the backward search
+      int cost = self.isForward ? grid.getCost(newColumn, newRow) : grid.getCost(column, row);
+      double newDistance = distance + direction.getCost() * cost;
+      if (newDistance >= self.state.getDistance(neighbour)) {
+        continue;
+      }
+
+      self.state.visit(neighbour, newDistance, cell);
+      double priority = getPriority(neighbour, newDistance, self.isForward);
+      if (self.openSet.insertOrDecrease(neighbour, priority)) {
+        addStep(neighbour, DefaultGridState.OPEN_SET);
+      }
+
+      offerMeeting(neighbour, self, other);
+    }
+  }
+
+  /**
+   * Records the path through a cell, if both searches reached it and it is the best so far.
+   *
+   * @param cell the id of the cell
+   * @param self the frontier that just reached the cell
+   * @param other the other frontier
+   */
+  private void offerMeeting(int cell, Frontier self, Frontier other) {
+    if (!other.state.isVisited(cell)) {
+      return;
+    }
+
+    double cost = self.state.getDistance(cell) + other.state.getDistance(cell);
+    if (cost < bestCost) {
+      bestCost = cost;
+      meetingCell = cell;
+    }
+  }
+
+  /**
+   * Appends the backward half of the best path to the forward search, so the goal's parents lead
+   * back to a start.
+   */
+  private void joinAtMeetingCell() {
+    SearchState backwardState = backward.state;
+    int cell = meetingCell;
+    double distance = state.getDistance(cell);
+
+    while (cell != goal) {
+      int next = backwardState.getParent(cell);
+      distance += backwardState.getDistance(cell) - backwardState.getDistance(next);
+      state.visit(next, distance, cell);
+      cell = next;
+    }
+  }
+
+  /**
+   * The search state and open set of one direction.
+   */
+  private static class Frontier {
+
+    private final SearchState state;
+    private final IndexedMinHeap openSet;
+    private final boolean isForward;
+
+    private Frontier(SearchState state, boolean isForward) {
+      this.state = state;
+      this.openSet = new IndexedMinHeap(0);
+      this.isForward = isForward;
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package me.ialistannen.pathfinding.visualize.algorithms.bidirectional;
+
+import java.util.List;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * A bidirectional Dijkstra. It stops once the two smallest distances in the open sets add up to
+ * at least the cost of the best path found.
+ */
+public class BidirectionalDijkstraAlgorithm extends BidirectionalBaseAlgorithm {
+
+  public BidirectionalDijkstraAlgorithm(List<Direction> directions) {
+    super(directions);
+  }
+
+  @Override
+  protected double getPriority(int cell, double distance, boolean forward) {
+    return distance;
+  }
+
+  @Override
+  protected boolean isFinished(double forwardMin, double backwardMin, double bestCost) {
+    return forwardMin + backwardMin >= bestCost;
+  }
+}
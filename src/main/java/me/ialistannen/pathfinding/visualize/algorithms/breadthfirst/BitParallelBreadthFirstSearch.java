@@ -0,0 +1,440 @@
+package me.ialistannen.pathfinding.visualize.algorithms.breadthfirst;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import me.ialistannen.collections.IntArrayDeque;
+import me.ialistannen.pathfinding.visualize.algorithms.PassabilityBitmap;
+import me.ialistannen.pathfinding.visualize.algorithms.PathFinder;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+
+/**
+ * A breadth first search for straight moves, which expands 64 cells of a row at once.
+ *
+ * <p>The frontier is a bitset with the layout of a {@link PassabilityBitmap}. One level is
+ * expanded for a whole word by shifting it one column to either side, or-ing in the words above
+ * and below and masking the result with the passable and not yet visited cells. Only the rows
+ * next to a row of the frontier and only the words next to its cells are looked at.</p>
+ *
+ * <p>Frontiers that run along the rows are expanded up to 64 cells at a time, frontiers that run
+ * along the columns only one cell per word. {@link #canReach(SearchGrid, int, int)} does not
+ * need the depths and fills whole runs of passable cells in a row at once instead, which takes
+ * far fewer steps.</p>
+ *
+ * <p>Every move costs 1, cell costs are ignored. The depths are the distances the
+ * {@link BreadthFirstAlgorithm} computes for {@link
+ * me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction#NO_DIAGONAL NO_DIAGONAL}.
+ * Grids that are no {@link PassabilityBitmap} are copied into one at the start of every search,
+ * so pass a bitmap when running many searches on the same grid.</p>
+ *
+ * <p>The arrays are reused between searches, so an instance must not be used by multiple threads
+ * at the same time.</p>
+ */
+public class BitParallelBreadthFirstSearch implements PathFinder {
+
+  /**
+   * The depth of a cell no source can reach.
+   */
+  public static final int UNREACHABLE = -1;
+
+  private PassabilityBitmap grid;
+  private int width;
+  private int height;
+  private int wordsPerRow;
+
+  private long[] visited;
+  private int[] depths;
+  private int reachedCells;
+
+  private Frontier frontier;
+  private Frontier next;
+  // the level a row was last expanded in, so it is expanded only once per level
+  private int[] expandedLevels;
+
+  private boolean[] queuedRows;
+  private final IntArrayDeque rowQueue;
+
+  public BitParallelBreadthFirstSearch() {
+    this.visited = new long[0];
+    this.depths = new int[0];
+    this.frontier = new Frontier(0, 0);
+    this.next = new Frontier(0, 0);
+    this.expandedLevels = new int[0];
+    this.queuedRows = new boolean[0];
+    this.rowQueue = new IntArrayDeque();
+  }
+
+  /**
+   * Computes the amount of moves needed to reach every cell from the closest source.
+   *
+   * @param grid the grid
+   * @param sources the cells to start at
+   * @return the depths of all cells by cell id ({@code row * width + column}), with
+   *     {@link #UNREACHABLE} for the cells no source can reach
+   * @throws IllegalArgumentException if a source is outside the grid
+   */
+  public int[] computeDepths(SearchGrid grid, Collection<GridCoordinate> sources) {
+    Objects.requireNonNull(grid, "grid can not be null!");
+    Objects.requireNonNull(sources, "sources can not be null!");
+
+    reset(grid);
+    for (GridCoordinate source : sources) {
+      int column = source.getColumn();
+      int row = source.getRow();
+      if (column < 0 || row < 0 || column >= width || row >= height) {
+        throw new IllegalArgumentException("source is outside the grid: " + source);
+      }
+      addSource(column, row);
+    }
+
+    flood(NO_CELL);
+
+    int[] result = new int[width * height];
+    for (int cell = 0; cell < result.length; cell++) {
+      result[cell] = isVisited(cell % width, cell / width) ? depths[cell] : UNREACHABLE;
+    }
+    return result;
+  }
+
+  @Override
+  public PathResult findPath(SearchGrid grid, int start, int goal) {
+    Objects.requireNonNull(grid, "grid can not be null!");
+
+    reset(grid);
+    addSource(start % width, start / width);
+
+    flood(goal);
+
+    if (!isVisited(goal % width, goal / width)) {
+      return PathResult.notFound(reachedCells);
+    }
+
+    int[] path = new int[depths[goal] + 1];
+    int cell = goal;
+    for (int i = path.length - 1; i > 0; i--) {
+      path[i] = cell;
+      cell = predecessorOf(cell);
+    }
+    path[0] = cell;
+
+    return new PathResult(path, path.length - 1, reachedCells);
+  }
+
+  /**
+   * Checks whether there is a path between two cells.
+   *
+   * <p>A row spreads the visited cells of the rows above and below into it and fills in the
+   * passable runs they are part of with a few word additions. If that visits new cells, the rows
+   * above and below are queued to be spread into next.</p>
+   *
+   * @param grid the grid
+   * @param start the id of the start ({@code row * width + column})
+   * @param goal the id of the goal
+   * @return true if the goal can be reached from the start
+   */
+  public boolean canReach(SearchGrid grid, int start, int goal) {
+    Objects.requireNonNull(grid, "grid can not be null!");
+
+    reset(grid);
+    if (start == goal) {
+      return true;
+    }
+
+    int column = start % width;
+    int row = start / width;
+    // the start may be blocked, so its neighbours are the seeds as well
+    markIfPassable(column, row);
+    markIfPassable(column - 1, row);
+    markIfPassable(column + 1, row);
+    markIfPassable(column, row - 1);
+    markIfPassable(column, row + 1);
+    // the seeds changed three rows, so they and their neighbours need to spread
+    for (int seededRow = row - 2; seededRow <= row + 2; seededRow++) {
+      queueRow(seededRow);
+    }
+
+    int goalColumn = goal % width;
+    int goalRow = goal / width;
+
+    while (!rowQueue.isEmpty() && !isVisited(goalColumn, goalRow)) {
+      int current = rowQueue.pollFirst();
+      queuedRows[current] = false;
+
+      if (spreadInto(current)) {
+        queueRow(current - 1);
+        queueRow(current + 1);
+      }
+    }
+    while (!rowQueue.isEmpty()) {
+      queuedRows[rowQueue.pollFirst()] = false;
+    }
+
+    return isVisited(goalColumn, goalRow);
+  }
+
+  private void reset(SearchGrid grid) {
+    this.grid = grid instanceof PassabilityBitmap
+        ? (PassabilityBitmap) grid
+        : PassabilityBitmap.of(grid);
+    this.width = grid.getWidth();
+    this.height = grid.getHeight();
+    this.wordsPerRow = this.grid.getWordsPerRow();
+
+    int words = wordsPerRow * height;
+    if (visited.length < words || expandedLevels.length < height) {
+      visited = new long[words];
+      frontier = new Frontier(words, height);
+      next = new Frontier(words, height);
+      expandedLevels = new int[height];
+      queuedRows = new boolean[height];
+    } else {
+      // the frontiers and the row queue are left empty by the last search
+      Arrays.fill(visited, 0);
+      Arrays.fill(expandedLevels, 0);
+    }
+    if (depths.length < width * height) {
+      depths = new int[width * height];
+    }
+
+    reachedCells = 0;
+  }
+
+  private void addSource(int column, int row) {
+    if (isVisited(column, row)) {
+      return;
+    }
+    int word = column >>> 6;
+    visited[row * wordsPerRow + word] |= 1L << column;
+    depths[row * width + column] = 0;
+    reachedCells++;
+
+    frontier.add(row, word, 1L << column, wordsPerRow);
+  }
+
+  /**
+   * Expands the frontier level by level, until it is empty or contains the goal.
+   *
+   * @param goal the id of the goal or {@code NO_CELL} to reach every cell
+   */
+  private void flood(int goal) {
+    int depth = 0;
+
+    while (frontier.rowCount > 0) {
+      if (goal != NO_CELL && isVisited(goal % width, goal / width)) {
+        break;
+      }
+      depth++;
+
+      for (int i = 0; i < frontier.rowCount; i++) {
+        int frontierRow = frontier.rows[i];
+        int lastRow = Math.min(height - 1, frontierRow + 1);
+
+        for (int row = Math.max(0, frontierRow - 1); row <= lastRow; row++) {
+          if (expandedLevels[row] != depth) {
+            expandedLevels[row] = depth;
+            expandRow(row, depth);
+          }
+        }
+      }
+
+      frontier.clear(wordsPerRow);
+      Frontier expanded = frontier;
+      frontier = next;
+      next = expanded;
+    }
+
+    frontier.clear(wordsPerRow);
+  }
+
+  /**
+   * Computes the next frontier for a row, looking only at the words next to frontier cells in the
+   * row or the rows above and below.
+   *
+   * @param row the row
+   * @param depth the depth of the next frontier
+   */
+  private void expandRow(int row, int depth) {
+    long[] words = frontier.words;
+    int firstWord = frontier.firstWords[row];
+    int lastWord = frontier.lastWords[row];
+    if (row > 0) {
+      firstWord = Math.min(firstWord, frontier.firstWords[row - 1]);
+      lastWord = Math.max(lastWord, frontier.lastWords[row - 1]);
+    }
+    if (row < height - 1) {
+      firstWord = Math.min(firstWord, frontier.firstWords[row + 1]);
+      lastWord = Math.max(lastWord, frontier.lastWords[row + 1]);
+    }
+
+    int rowStart = row * wordsPerRow;
+    // cells at the edge of a word can reach the words next to it
+    lastWord = Math.min(wordsPerRow - 1, lastWord + 1);
+
+    for (int i = Math.max(0, firstWord - 1); i <= lastWord; i++) {
+      int index = rowStart + i;
+      long here = words[index];
+
+      // moving east shifts to higher columns, the highest column of the word before carries over
+      long east = here << 1 | (i > 0 ? words[index - 1] >>> 63 : 0);
+      long west = here >>> 1 | (i < wordsPerRow - 1 ? words[index + 1] << 63 : 0);
+      long south = row > 0 ? words[index - wordsPerRow] : 0;
+      long north = row < height - 1 ? words[index + wordsPerRow] : 0;
+
+      long reached = (east | west | south | north) & grid.getWord(row, i) & ~visited[index];
+      if (reached == 0) {
+        continue;
+      }
+
+      visited[index] |= reached;
+      reachedCells += Long.bitCount(reached);
+      next.add(row, i, reached, wordsPerRow);
+
+      int firstCell = row * width + (i << 6);
+      for (long bits = reached; bits != 0; bits &= bits - 1) {
+        depths[firstCell + Long.numberOfTrailingZeros(bits)] = depth;
+      }
+    }
+  }
+
+  /**
+   * Returns a straight neighbour with a depth one smaller than the cell.
+   *
+   * @param cell the id of the cell, which was reached and is no source
+   * @return the id of the neighbour
+   */
+  private int predecessorOf(int cell) {
+    int column = cell % width;
+    int row = cell / width;
+    int depth = depths[cell] - 1;
+
+    if (hasDepth(column - 1, row, depth)) {
+      return cell - 1;
+    }
+    if (hasDepth(column + 1, row, depth)) {
+      return cell + 1;
+    }
+    if (hasDepth(column, row - 1, depth)) {
+      return cell - width;
+    }
+    return cell + width;
+  }
+
+  /**
+   * Marks all cells of a row as visited, that can be reached from the visited cells in it or the
+   * rows above and below.
+   *
+   * @param row the row
+   * @return true if new cells were visited
+   */
+  private boolean spreadInto(int row) {
+    int rowStart = row * wordsPerRow;
+    boolean changed = false;
+
+    // fill towards higher columns, carrying into the next word if a run reaches its end
+    long carry = 0;
+    for (int i = 0; i < wordsPerRow; i++) {
+      long passable = grid.getWord(row, i);
+      long seeds = visited[rowStart + i] | (carry & passable);
+      if (row > 0) {
+        seeds |= visited[rowStart - wordsPerRow + i] & passable;
+      }
+      if (row < height - 1) {
+        seeds |= visited[rowStart + wordsPerRow + i] & passable;
+      }
+      long sum = passable + seeds;
+      carry = Long.compareUnsigned(sum, passable) < 0 ? 1 : 0;
+
+      long filled = ((sum ^ passable) & passable) | seeds;
+      changed |= filled != visited[rowStart + i];
+      visited[rowStart + i] = filled;
+    }
+
+    // and towards lower columns, by filling the mirrored words
+    carry = 0;
+    for (int i = wordsPerRow - 1; i >= 0; i--) {
+      long passable = Long.reverse(grid.getWord(row, i));
+      long seeds = Long.reverse(visited[rowStart + i]) | (carry & passable);
+      long sum = passable + seeds;
+      carry = Long.compareUnsigned(sum, passable) < 0 ? 1 : 0;
+
+      long filled = Long.reverse(((sum ^ passable) & passable) | seeds);
+      changed |= filled != visited[rowStart + i];
+      visited[rowStart + i] = filled;
+    }
+
+    return changed;
+  }
+
+  private void queueRow(int row) {
+    if (row >= 0 && row < height && !queuedRows[row]) {
+      queuedRows[row] = true;
+      rowQueue.addLast(row);
+    }
+  }
+
+  private void markIfPassable(int column, int row) {
+    if (grid.isPassable(column, row)) {
+      visited[row * wordsPerRow + (column >>> 6)] |= 1L << column;
+    }
+  }
+
+  private boolean hasDepth(int column, int row, int depth) {
+    return isVisited(column, row) && depths[row * width + column] == depth;
+  }
+
+  private boolean isVisited(int column, int row) {
+    if (column < 0 || row < 0 || column >= width || row >= height) {
+      return false;
+    }
+    return (visited[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+  }
+
+  /**
+   * The cells of one level as a bitset, with the rows that contain any of them and the range of
+   * words they are in for every row.
+   */
+  private static final class Frontier {
+
+    private final long[] words;
+    // empty if the first word is after the last one
+    private final int[] firstWords;
+    private final int[] lastWords;
+    private final int[] rows;
+    private int rowCount;
+
+    private Frontier(int wordCount, int height) {
+      this.words = new long[wordCount];
+      this.firstWords = new int[height];
+      this.lastWords = new int[height];
+      this.rows = new int[height];
+
+      Arrays.fill(firstWords, Integer.MAX_VALUE);
+      Arrays.fill(lastWords, -1);
+    }
+
+    private void add(int row, int word, long bits, int wordsPerRow) {
+      if (firstWords[row] > lastWords[row]) {
+        rows[rowCount++] = row;
+      }
+      words[row * wordsPerRow + word] |= bits;
+      firstWords[row] = Math.min(firstWords[row], word);
+      lastWords[row] = Math.max(lastWords[row], word);
+    }
+
+    private void clear(int wordsPerRow) {
+      for (int i = 0; i < rowCount; i++) {
+        int row = rows[i];
+        Arrays.fill(
+            words, row * wordsPerRow + firstWords[row], row * wordsPerRow + lastWords[row] + 1, 0
+        );
+        firstWords[row] = Integer.MAX_VALUE;
+        lastWords[row] = -1;
+      }
+      rowCount = 0;
+    }
+  }
+}
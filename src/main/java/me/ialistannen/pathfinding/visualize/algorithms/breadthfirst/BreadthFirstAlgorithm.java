@@ -1,83 +1,83 @@
 package me.ialistannen.pathfinding.visualize.algorithms.breadthfirst;
 
-import java.util.ArrayDeque;
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
 import java.util.List;
-import java.util.Queue;
-import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
-import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmResult;
-import me.ialistannen.pathfinding.visualize.algorithms.BaseNode;
+import me.ialistannen.collections.IntArrayDeque;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
 import me.ialistannen.pathfinding.visualize.algorithms.base.BaseAlgorithm;
-import me.ialistannen.pathfinding.visualize.algorithms.breadthfirst.BreadthFirstAlgorithm.BreadthNode;
 import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
-import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
 import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
 
-public class BreadthFirstAlgorithm extends BaseAlgorithm<DefaultGridState, BreadthNode> {
+public class BreadthFirstAlgorithm extends BaseAlgorithm<DefaultGridState> {
 
-  private Queue<BreadthNode> queue;
+  private final IntArrayDeque queue;
 
   public BreadthFirstAlgorithm(List<Direction> directions) {
-    super(directions);
+    super(directions, DefaultGridState.SOLUTION);
+
+    this.queue = new IntArrayDeque();
   }
 
   @Override
-  public AlgorithmResult<DefaultGridState> compute() {
-    grid.getStarts().stream()
-        .map(coordinate -> new BreadthNode(0, coordinate, null))
-        .forEach(breadthNode -> queue.add(breadthNode));
+  protected int search() {
+    for (int cell : starts) {
+      state.visit(cell, 0, NO_CELL);
+      queue.addLast(cell);
+    }
 
-    BreadthNode tmp;
-    while ((tmp = queue.poll()) != null) {
-      GridCoordinate coordinate = tmp.getCoordinate();
+    int end = NO_CELL;
+    while (!queue.isEmpty()) {
+      int cell = queue.pollFirst();
 
-      if (grid.getStateAt(coordinate).isEnd()) {
+      if (isEnd(cell)) {
+        end = cell;
         break;
       }
 
-      addStep(coordinate, DefaultGridState.EXAMINED);
-      expand(tmp, grid);
+      addStep(cell, DefaultGridState.EXAMINED);
+      expand(cell);
     }
 
-    return backtrackResolve(tmp, DefaultGridState.SOLUTION);
+    return end;
   }
 
-  private void expand(BreadthNode node, AlgorithmGrid<DefaultGridState> grid) {
-    markAsClosed(node.getCoordinate());
+  private void expand(int cell) {
+    markAsClosed(cell);
 
-    for (Direction direction : directions) {
-      GridCoordinate newCoordinate = node.getCoordinate().getNeighbour(direction);
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+    double distance = state.getDistance(cell);
 
-      if (isClosed(newCoordinate) || !grid.canMove(node.getCoordinate(), newCoordinate)) {
+    for (int i = 0; i < directions.length; i++) {
+      Direction direction = directions[i];
+      int newColumn = column + direction.getxMod();
+      int newRow = row + direction.getyMod();
+
+      if (!canMoveTo(column, row, newColumn, newRow)) {
         continue;
       }
 
-      double newDistance = node.getDistanceToStart() + direction.getCost();
+      int child = cell + neighbourOffsets[i];
+      if (isClosed(child)) {
+        continue;
+      }
 
-      BreadthNode child = newNodeOrCached(newCoordinate,
-          new BreadthNode(newDistance, newCoordinate, node),
-          newNode -> {
-            addStep(newCoordinate, DefaultGridState.OPEN_SET);
-            queue.add(newNode);
-          }
-      );
+      double newDistance = distance + direction.getCost();
 
-      if (newDistance < child.getDistanceToStart()) {
-        child.setDistanceToStart(newDistance);
-        child.setParent(node);
+      if (!state.isVisited(child)) {
+        state.visit(child, newDistance, cell);
+        addStep(child, DefaultGridState.OPEN_SET);
+        queue.addLast(child);
+      } else if (newDistance < state.getDistance(child)) {
+        state.visit(child, newDistance, cell);
       }
     }
   }
 
   @Override
-  protected void reset(AlgorithmGrid<DefaultGridState> grid) {
+  protected void reset(SearchGrid grid) {
     super.reset(grid);
-    queue = new ArrayDeque<>();
-  }
-
-  static class BreadthNode extends BaseNode<BreadthNode> {
-
-    BreadthNode(double distanceToStart, GridCoordinate coordinate, BreadthNode parent) {
-      super(distanceToStart, coordinate, null, parent);
-    }
+    queue.clear();
   }
 }
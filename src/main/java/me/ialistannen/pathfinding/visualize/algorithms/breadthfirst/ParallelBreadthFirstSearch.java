@@ -0,0 +1,315 @@
+package me.ialistannen.pathfinding.visualize.algorithms.breadthfirst;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import me.ialistannen.pathfinding.visualize.algorithms.PassabilityBitmap;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * A level synchronous breadth first search, which computes the amount of moves from a few sources
+ * to every cell of a grid on multiple threads.
+ *
+ * <p>The cells of the current level (the frontier) are a bitset. Its non-empty words are split
+ * between the workers of a {@link ForkJoinPool}, which expand them at the same time. The visited
+ * cells and the next frontier are bitsets as well, whose words are updated with compare and swap,
+ * so every cell is claimed by exactly one worker. A summary with one bit per frontier word finds
+ * the non-empty words without scanning the whole frontier at every level.</p>
+ *
+ * <p>This pays off for wide frontiers, e.g. on open grids. Narrow corridors and mazes have many
+ * levels with only a handful of cells, which the sequential search handles better.</p>
+ *
+ * <p>With straight moves only, the levels are the distances the {@link BreadthFirstAlgorithm}
+ * computes. Diagonal moves count as a single move as well and cell costs are ignored.</p>
+ */
+public class ParallelBreadthFirstSearch {
+
+  /**
+   * The level of a cell no source can reach.
+   */
+  public static final int UNREACHABLE = -1;
+
+  /**
+   * The amount of frontier words a single task expands. Frontiers that are not larger are
+   * expanded on the calling thread.
+   */
+  private static final int WORDS_PER_TASK = 64;
+
+  private final Direction[] directions;
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates a new search.
+   *
+   * @param directions the directions you can move in
+   * @param pool the pool to expand the frontiers in
+   */
+  public ParallelBreadthFirstSearch(List<Direction> directions, ForkJoinPool pool) {
+    Objects.requireNonNull(directions, "directions can not be null!");
+    Objects.requireNonNull(pool, "pool can not be null!");
+
+    this.directions = directions.toArray(new Direction[0]);
+    this.pool = pool;
+  }
+
+  /**
+   * Computes the amount of moves needed to reach every cell from the closest source.
+   *
+   * <p>The search works on a {@link PassabilityBitmap}. Any other grid is copied into one first,
+   * so it may be changed once this method returns.</p>
+   *
+   * @param grid the grid
+   * @param sources the cells to start at
+   * @return the levels of all cells by cell id ({@code row * width + column}), with
+   *     {@link #UNREACHABLE} for the cells no source can reach
+   * @throws IllegalArgumentException if a source is outside the grid
+   */
+  public int[] computeLevels(SearchGrid grid, Collection<GridCoordinate> sources) {
+    Objects.requireNonNull(grid, "grid can not be null!");
+    Objects.requireNonNull(sources, "sources can not be null!");
+
+    PassabilityBitmap passability = grid instanceof PassabilityBitmap
+        ? (PassabilityBitmap) grid
+        : PassabilityBitmap.of(grid);
+    Search search = new Search(passability);
+
+    for (GridCoordinate source : sources) {
+      int column = source.getColumn();
+      int row = source.getRow();
+      if (column < 0 || row < 0 || column >= grid.getWidth() || row >= grid.getHeight()) {
+        throw new IllegalArgumentException("source is outside the grid: " + source);
+      }
+      search.visit(row * grid.getWidth() + column);
+    }
+
+    search.run();
+
+    return search.levels;
+  }
+
+  /**
+   * The state of a single {@link #computeLevels(SearchGrid, Collection)} call.
+   */
+  private final class Search {
+
+    private final PassabilityBitmap grid;
+    private final int width;
+    private final int[] levels;
+    private final AtomicLongArray visited;
+
+    private Frontier current;
+    private Frontier next;
+    private int level;
+
+    private Search(PassabilityBitmap grid) {
+      this.grid = grid;
+      this.width = grid.getWidth();
+      this.levels = new int[width * grid.getHeight()];
+
+      int words = (levels.length + 63) >>> 6;
+      this.visited = new AtomicLongArray(words);
+      this.current = new Frontier(words);
+      this.next = new Frontier(words);
+
+      Arrays.fill(levels, UNREACHABLE);
+    }
+
+    /**
+     * Adds a cell to the current frontier, if it was not visited yet.
+     *
+     * @param cell the id of the cell
+     */
+    private void visit(int cell) {
+      if (tryVisit(cell)) {
+        levels[cell] = level;
+        current.add(cell);
+      }
+    }
+
+    private void run() {
+      int activeWords;
+      while ((activeWords = current.collectActiveWords()) > 0) {
+        ExpandTask task = new ExpandTask(this, 0, activeWords);
+        if (activeWords <= WORDS_PER_TASK) {
+          task.compute();
+        } else {
+          pool.invoke(task);
+        }
+
+        current.clear(activeWords);
+        Frontier expanded = current;
+        current = next;
+        next = expanded;
+        level++;
+      }
+    }
+
+    /**
+     * Expands all cells in a word of the current frontier.
+     *
+     * @param word the index of the word
+     */
+    private void expandWord(int word) {
+      long bits = current.words.get(word);
+
+      while (bits != 0) {
+        int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+
+        int column = cell % width;
+        int row = cell / width;
+
+        for (Direction direction : directions) {
+          int newColumn = column + direction.getxMod();
+          int newRow = row + direction.getyMod();
+          if (!grid.canMove(column, row, newColumn, newRow)) {
+            continue;
+          }
+
+          int neighbour = newRow * width + newColumn;
+          if (tryVisit(neighbour)) {
+            levels[neighbour] = level + 1;
+            next.add(neighbour);
+          }
+        }
+      }
+    }
+
+    /**
+     * Marks a cell as visited.
+     *
+     * @param cell the id of the cell
+     * @return true if the cell was not visited before
+     */
+    private boolean tryVisit(int cell) {
+      int index = cell >>> 6;
+      long mask = 1L << cell;
+
+      long word = visited.get(index);
+      while ((word & mask) == 0) {
+        if (visited.compareAndSet(index, word, word | mask)) {
+          return true;
+        }
+        word = visited.get(index);
+      }
+      return false;
+    }
+  }
+
+  /**
+   * The cells of one level as a bitset, with a summary of its non-empty words.
+   */
+  private static final class Frontier {
+
+    private final AtomicLongArray words;
+    private final AtomicLongArray summary;
+    private final int[] activeWords;
+    // the range of summary words that may have bits set
+    private final AtomicInteger firstSummaryWord;
+    private final AtomicInteger lastSummaryWord;
+
+    private Frontier(int wordCount) {
+      this.words = new AtomicLongArray(wordCount);
+      this.summary = new AtomicLongArray((wordCount + 63) >>> 6);
+      this.activeWords = new int[wordCount];
+      this.firstSummaryWord = new AtomicInteger(summary.length());
+      this.lastSummaryWord = new AtomicInteger(-1);
+    }
+
+    private void add(int cell) {
+      int index = cell >>> 6;
+      if (or(words, index, 1L << cell) != 0) {
+        return;
+      }
+      int summaryWord = index >>> 6;
+      if (or(summary, summaryWord, 1L << index) == 0) {
+        firstSummaryWord.accumulateAndGet(summaryWord, Math::min);
+        lastSummaryWord.accumulateAndGet(summaryWord, Math::max);
+      }
+    }
+
+    /**
+     * Collects the indices of the non-empty words into {@link #activeWords}.
+     *
+     * @return the amount of non-empty words
+     */
+    private int collectActiveWords() {
+      int count = 0;
+      for (int i = firstSummaryWord.get(); i <= lastSummaryWord.get(); i++) {
+        long bits = summary.get(i);
+        while (bits != 0) {
+          activeWords[count++] = (i << 6) + Long.numberOfTrailingZeros(bits);
+          bits &= bits - 1;
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Empties this frontier.
+     *
+     * @param activeWordCount the amount of words found by the last {@link #collectActiveWords()}
+     */
+    private void clear(int activeWordCount) {
+      for (int i = 0; i < activeWordCount; i++) {
+        words.set(activeWords[i], 0);
+        summary.set(activeWords[i] >>> 6, 0);
+      }
+      firstSummaryWord.set(summary.length());
+      lastSummaryWord.set(-1);
+    }
+
+    /**
+     * Sets bits of a word.
+     *
+     * @return the old value of the word
+     */
+    private static long or(AtomicLongArray array, int index, long mask) {
+      long word = array.get(index);
+      while ((word & mask) != mask) {
+        if (array.compareAndSet(index, word, word | mask)) {
+          return word;
+        }
+        word = array.get(index);
+      }
+      return word;
+    }
+  }
+
+  /**
+   * Expands a range of the non-empty words of the current frontier, splitting it if it is large.
+   */
+  @SuppressWarnings("serial")
+  private static final class ExpandTask extends RecursiveAction {
+
+    private final Search search;
+    private final int from;
+    private final int to;
+
+    private ExpandTask(Search search, int from, int to) {
+      this.search = search;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= WORDS_PER_TASK) {
+        for (int i = from; i < to; i++) {
+          search.expandWord(search.current.activeWords[i]);
+        }
+        return;
+      }
+
+      int middle = (from + to) >>> 1;
+      invokeAll(new ExpandTask(search, from, middle), new ExpandTask(search, middle, to));
+    }
+  }
+}
@@ -0,0 +1,280 @@
+package me.ialistannen.pathfinding.visualize.algorithms.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid.ChangeCallback;
+import me.ialistannen.pathfinding.visualize.algorithms.PathFinder;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+
+/**
+ * Caches the results of path queries on an {@link AlgorithmGrid}, for workloads that repeat the
+ * same queries between edits of the grid.
+ *
+ * <p>Results are cached per (start, goal, path finder) and are valid for the latest {@link
+ * AlgorithmGrid#getVersion() grid version} the cache saw. Every search remembers the bounding box
+ * of the cells it read. When the passability of a cell changes, only the results whose box
+ * contains the cell are dropped, all others carry over to the new version. Changes that do not
+ * notify the {@link ChangeCallback}s, like new cell costs, drop all results.</p>
+ *
+ * <p>At most {@code capacity} results are kept, evicting the least recently used one.</p>
+ *
+ * <p>Path finders that precompute something from the grid, like landmarks or an abstract graph,
+ * must be rebuilt when the grid changes. Their old results are only dropped if they touched
+ * the change, so clear the cache in that case as well. The grid must not change while a search
+ * runs, the same as without the cache.</p>
+ */
+public class PathCache {
+
+  private final AlgorithmGrid<?> grid;
+  private final int capacity;
+  private final LinkedHashMap<Key, Entry> entries;
+  private final ChangeCallback<GridCellState> changeCallback;
+
+  /**
+   * The latest grid version the cache was told about by the change callback.
+   */
+  private long seenVersion;
+
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long invalidations;
+
+  /**
+   * Creates a new cache and registers it as a {@link ChangeCallback} of the grid.
+   *
+   * @param grid the grid to cache paths for
+   * @param capacity the maximum amount of cached results
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public PathCache(AlgorithmGrid<? extends GridCellState> grid, int capacity) {
+    Objects.requireNonNull(grid, "grid can not be null!");
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    }
+
+    this.grid = grid;
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.changeCallback = (coordinate, oldState, newState) -> onStateChanged(
+        coordinate, oldState.isPassable() != newState.isPassable()
+    );
+    this.seenVersion = grid.getVersion();
+
+    addChangeCallback(grid, changeCallback);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends GridCellState> void addChangeCallback(AlgorithmGrid<T> grid,
+      ChangeCallback<GridCellState> callback) {
+    grid.addChangeCallback((ChangeCallback<T>) (ChangeCallback<?>) callback);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends GridCellState> void removeChangeCallback(AlgorithmGrid<T> grid,
+      ChangeCallback<GridCellState> callback) {
+    grid.removeChangeCallback((ChangeCallback<T>) (ChangeCallback<?>) callback);
+  }
+
+  /**
+   * Returns the cached path between two cells or searches and caches it.
+   *
+   * @param pathFinder the path finder to search with. Part of the key, so results of different
+   *     path finders are never mixed up.
+   * @param start the cell id of the start ({@code row * width + column})
+   * @param goal the cell id of the goal
+   * @return the found path
+   */
+  public PathResult findPath(PathFinder pathFinder, int start, int goal) {
+    Objects.requireNonNull(pathFinder, "pathFinder can not be null!");
+
+    Key key = new Key(pathFinder, start, goal);
+    long version;
+
+    synchronized (this) {
+      version = grid.getVersion();
+      dropIfChangedUnseen(version);
+
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        hits++;
+        return entry.result;
+      }
+      misses++;
+    }
+
+    ReadRegionGrid readRegion = new ReadRegionGrid(grid);
+    PathResult result = pathFinder.findPath(readRegion, start, goal);
+
+    synchronized (this) {
+      // the grid changed while searching, the result might already be outdated
+      if (grid.getVersion() != version) {
+        return result;
+      }
+
+      entries.put(key, new Entry(result, readRegion));
+      if (entries.size() > capacity) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        iterator.next();
+        iterator.remove();
+        evictions++;
+      }
+    }
+
+    return result;
+  }
+
+  private synchronized void onStateChanged(GridCoordinate coordinate, boolean passabilityChanged) {
+    dropIfChangedUnseen(grid.getVersion() - 1);
+    seenVersion = grid.getVersion();
+
+    if (!passabilityChanged) {
+      return;
+    }
+
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().contains(coordinate.getColumn(), coordinate.getRow())) {
+        iterator.remove();
+        invalidations++;
+      }
+    }
+  }
+
+  /**
+   * Drops all results if the grid changed without telling the change callback.
+   *
+   * @param version the version the grid should have, if the callback saw all changes
+   */
+  private void dropIfChangedUnseen(long version) {
+    if (version != seenVersion) {
+      invalidations += entries.size();
+      entries.clear();
+      seenVersion = version;
+    }
+  }
+
+  /**
+   * Drops all cached results. The metrics are kept.
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Removes the cache from the grid. It will not be notified about changes anymore and should no
+   * longer be used.
+   */
+  public void detach() {
+    removeChangeCallback(grid, changeCallback);
+  }
+
+  /**
+   * @return the amount of cached results
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the amount of queries answered from the cache
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * @return the amount of queries that needed a search
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return the share of queries answered from the cache, between 0 and 1
+   */
+  public synchronized double getHitRate() {
+    long queries = hits + misses;
+    return queries == 0 ? 0 : (double) hits / queries;
+  }
+
+  /**
+   * @return the amount of results dropped because the cache was full
+   */
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * @return the amount of results dropped because the grid changed where they searched
+   */
+  public synchronized long getInvalidations() {
+    return invalidations;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "PathCache{" +
+        "size=" + entries.size() +
+        ", hits=" + hits +
+        ", misses=" + misses +
+        ", evictions=" + evictions +
+        ", invalidations=" + invalidations +
+        '}';
+  }
+
+  private static final class Key {
+
+    private final PathFinder pathFinder;
+    private final int start;
+    private final int goal;
+
+    private Key(PathFinder pathFinder, int start, int goal) {
+      this.pathFinder = pathFinder;
+      this.start = start;
+      this.goal = goal;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return start == key.start && goal == key.goal && pathFinder == key.pathFinder;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * System.identityHashCode(pathFinder) + start) + goal;
+    }
+  }
+
+  private static final class Entry {
+
+    private final PathResult result;
+    private final int minColumn;
+    private final int minRow;
+    private final int maxColumn;
+    private final int maxRow;
+
+    private Entry(PathResult result, ReadRegionGrid readRegion) {
+      this.result = result;
+      this.minColumn = readRegion.getMinColumn();
+      this.minRow = readRegion.getMinRow();
+      this.maxColumn = readRegion.getMaxColumn();
+      this.maxRow = readRegion.getMaxRow();
+    }
+
+    private boolean contains(int column, int row) {
+      return column >= minColumn && column <= maxColumn && row >= minRow && row <= maxRow;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package me.ialistannen.pathfinding.visualize.algorithms.cache;
+
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+
+/**
+ * Passes all reads through to another grid and remembers the bounding box of all cells that
+ * were read. A search that never read a cell can not find anything else if the cell changes.
+ */
+class ReadRegionGrid implements SearchGrid {
+
+  private final SearchGrid grid;
+
+  private int minColumn;
+  private int minRow;
+  private int maxColumn;
+  private int maxRow;
+
+  ReadRegionGrid(SearchGrid grid) {
+    this.grid = grid;
+
+    this.minColumn = Integer.MAX_VALUE;
+    this.minRow = Integer.MAX_VALUE;
+    this.maxColumn = Integer.MIN_VALUE;
+    this.maxRow = Integer.MIN_VALUE;
+  }
+
+  @Override
+  public int getWidth() {
+    return grid.getWidth();
+  }
+
+  @Override
+  public int getHeight() {
+    return grid.getHeight();
+  }
+
+  @Override
+  public boolean isPassable(int column, int row) {
+    read(column, row);
+    return grid.isPassable(column, row);
+  }
+
+  @Override
+  public int getCost(int column, int row) {
+    read(column, row);
+    return grid.getCost(column, row);
+  }
+
+  @Override
+  public boolean canMove(int fromColumn, int fromRow, int toColumn, int toRow) {
+    // the cells a diagonal move cuts past are inside the box of both ends
+    read(fromColumn, fromRow);
+    read(toColumn, toRow);
+    return grid.canMove(fromColumn, fromRow, toColumn, toRow);
+  }
+
+  private void read(int column, int row) {
+    minColumn = Math.min(minColumn, column);
+    minRow = Math.min(minRow, row);
+    maxColumn = Math.max(maxColumn, column);
+    maxRow = Math.max(maxRow, row);
+  }
+
+  int getMinColumn() {
+    return minColumn;
+  }
+
+  int getMinRow() {
+    return minRow;
+  }
+
+  int getMaxColumn() {
+    return maxColumn;
+  }
+
+  int getMaxRow() {
+    return maxRow;
+  }
+}
@@ -1,25 +1,24 @@
 package me.ialistannen.pathfinding.visualize.algorithms.depthfirst;
 
-import java.util.ArrayDeque;
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.List;
-import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
-import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmResult;
-import me.ialistannen.pathfinding.visualize.algorithms.BaseNode;
+import me.ialistannen.collections.IntArrayDeque;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
 import me.ialistannen.pathfinding.visualize.algorithms.base.BaseAlgorithm;
-import me.ialistannen.pathfinding.visualize.algorithms.depthfirst.DepthFirstSearch.DepthFirstNode;
 import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
-import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
 import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
 
-public class DepthFirstSearch extends BaseAlgorithm<DefaultGridState, DepthFirstNode> {
+public class DepthFirstSearch extends BaseAlgorithm<DefaultGridState> {
 
-  private Deque<DepthFirstNode> nodes;
+  private final IntArrayDeque nodes;
 
   public DepthFirstSearch(List<Direction> directions) {
-    super(reverse(directions));
+    super(reverse(directions), DefaultGridState.SOLUTION);
+
+    this.nodes = new IntArrayDeque();
   }
 
   private static <T> List<T> reverse(List<T> list) {
@@ -29,64 +28,63 @@ public class DepthFirstSearch extends BaseAlgorithm<DefaultGridState, DepthFirst
   }
 
   @Override
-  protected AlgorithmResult<DefaultGridState> compute() {
-    for (GridCoordinate gridCoordinate : grid.getStarts()) {
-      nodes.add(new DepthFirstNode(0, gridCoordinate, grid.getEnd(), null));
+  protected int search() {
+    for (int cell : starts) {
+      state.visit(cell, 0, NO_CELL);
+      nodes.addLast(cell);
     }
 
-    DepthFirstNode tmp;
-    while ((tmp = nodes.pollFirst()) != null) {
-      GridCoordinate coordinate = tmp.getCoordinate();
+    int end = NO_CELL;
+    while (!nodes.isEmpty()) {
+      int cell = nodes.pollFirst();
 
-      if (grid.getStateAt(coordinate).isEnd()) {
+      if (isEnd(cell)) {
+        end = cell;
         break;
       }
 
-      addStep(coordinate, DefaultGridState.EXAMINED);
-      expand(tmp);
+      addStep(cell, DefaultGridState.EXAMINED);
+      expand(cell);
     }
 
-    return backtrackResolve(tmp, DefaultGridState.SOLUTION);
+    return end;
   }
 
   @Override
-  protected void reset(AlgorithmGrid<DefaultGridState> grid) {
+  protected void reset(SearchGrid grid) {
     super.reset(grid);
-    nodes = new ArrayDeque<>();
+    nodes.clear();
   }
 
-  private void expand(DepthFirstNode node) {
-    markAsClosed(node.getCoordinate());
+  private void expand(int cell) {
+    markAsClosed(cell);
 
-    for (Direction direction : directions) {
-      GridCoordinate newCoordinate = node.getCoordinate().getNeighbour(direction);
-      double newDistance = node.getDistanceToStart() + direction.getCost();
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+    double distance = state.getDistance(cell);
 
-      if (isClosed(newCoordinate) || !canMoveTo(node.getCoordinate(), newCoordinate)) {
+    for (int i = 0; i < directions.length; i++) {
+      Direction direction = directions[i];
+      int newColumn = column + direction.getxMod();
+      int newRow = row + direction.getyMod();
+      double newDistance = distance + direction.getCost();
+
+      if (!canMoveTo(column, row, newColumn, newRow)) {
         continue;
       }
 
-      DepthFirstNode child = newNodeOrCached(
-          newCoordinate,
-          new DepthFirstNode(newDistance, newCoordinate, node.getTarget(), node),
-          newNode -> {
-            addStep(newCoordinate, DefaultGridState.OPEN_SET);
-            nodes.addFirst(newNode);
-          }
-      );
-
-      if (newDistance < child.getDistanceToStart()) {
-        child.setDistanceToStart(newDistance);
-        child.setParent(node);
+      int child = cell + neighbourOffsets[i];
+      if (isClosed(child)) {
+        continue;
       }
-    }
-  }
 
-  static class DepthFirstNode extends BaseNode<DepthFirstNode> {
-
-    DepthFirstNode(double distanceToStart, GridCoordinate coordinate, GridCoordinate target,
-        DepthFirstNode parent) {
-      super(distanceToStart, coordinate, target, parent);
+      if (!state.isVisited(child)) {
+        state.visit(child, newDistance, cell);
+        addStep(child, DefaultGridState.OPEN_SET);
+        nodes.addFirst(child);
+      } else if (newDistance < state.getDistance(child)) {
+        state.visit(child, newDistance, cell);
+      }
     }
   }
 }
@@ -0,0 +1,90 @@
+package me.ialistannen.pathfinding.visualize.algorithms.dial;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import me.ialistannen.collections.BucketQueue;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.base.BaseAlgorithm;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * Dijkstra's algorithm with a {@link BucketQueue} instead of a heap (Dial's algorithm).
+ *
+ * <p>Every move costs exactly the integer cost of the cell it enters, so distances are integers
+ * and there is a bucket per distance. Diagonal moves would cost a multiple of {@code sqrt(2)},
+ * which is why this algorithm only moves straight.</p>
+ */
+public class DialAlgorithm extends BaseAlgorithm<DefaultGridState> {
+
+  private final BucketQueue openSet;
+
+  public DialAlgorithm() {
+    super(Direction.NO_DIAGONAL, DefaultGridState.SOLUTION);
+
+    this.openSet = new BucketQueue(SearchGrid.MAX_COST);
+  }
+
+  @Override
+  protected int search() {
+    for (int cell : starts) {
+      state.visit(cell, 0, NO_CELL);
+      openSet.insert(cell, 0);
+    }
+
+    while (!openSet.isEmpty()) {
+      int cell = openSet.poll();
+      int distance = openSet.getCurrentPriority();
+
+      // the cell was inserted again with a smaller distance and already expanded
+      if (isClosed(cell) || distance > state.getDistance(cell)) {
+        continue;
+      }
+      if (isEnd(cell)) {
+        return cell;
+      }
+
+      addStep(cell, DefaultGridState.EXAMINED);
+      expand(cell, distance);
+    }
+
+    return NO_CELL;
+  }
+
+  private void expand(int cell, int distance) {
+    markAsClosed(cell);
+
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+
+    for (int i = 0; i < directions.length; i++) {
+      Direction direction = directions[i];
+      int newColumn = column + direction.getxMod();
+      int newRow = row + direction.getyMod();
+
+      if (!canMoveTo(column, row, newColumn, newRow)) {
+        continue;
+      }
+
+      int neighbour = cell + neighbourOffsets[i];
+      if (isClosed(neighbour)) {
+        continue;
+      }
+
+      int newDistance = distance + grid.getCost(newColumn, newRow);
+      if (newDistance < state.getDistance(neighbour)) {
+        if (!state.isVisited(neighbour)) {
+          addStep(neighbour, DefaultGridState.OPEN_SET);
+        }
+        state.visit(neighbour, newDistance, cell);
+        openSet.insert(neighbour, newDistance);
+      }
+    }
+  }
+
+  @Override
+  protected void reset(SearchGrid grid) {
+    super.reset(grid);
+    openSet.clear();
+  }
+}
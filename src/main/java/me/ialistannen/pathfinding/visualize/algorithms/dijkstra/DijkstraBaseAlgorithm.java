@@ -1,161 +1,132 @@
 package me.ialistannen.pathfinding.visualize.algorithms.dijkstra;
 
-import java.util.Comparator;
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
 import java.util.List;
-import java.util.Objects;
-import java.util.TreeSet;
-import java.util.function.Consumer;
+import me.ialistannen.collections.heap.IndexedMinHeap;
 import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
-import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
-import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmResult;
-import me.ialistannen.pathfinding.visualize.algorithms.BaseNode;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
 import me.ialistannen.pathfinding.visualize.algorithms.base.BaseAlgorithm;
 import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
-import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
 import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
 
-public abstract class DijkstraBaseAlgorithm<T extends BaseNode<T>> extends
-    BaseAlgorithm<DefaultGridState, T> {
-
-  private final Consumer<T> DO_NOTHING = t -> {
-  };
+public abstract class DijkstraBaseAlgorithm extends BaseAlgorithm<DefaultGridState> {
 
-  private TreeSet<T> openSet;
+  protected final IndexedMinHeap openSet;
+  /**
+   * Whether closed neighbours are still offered shorter distances in
+   * {@link #relax(int, int, double)}, for searches that expand cells again later.
+   */
+  protected boolean relaxClosedNeighbours;
 
   public DijkstraBaseAlgorithm(List<Direction> directions) {
-    super(directions);
+    super(directions, DefaultGridState.SOLUTION);
+
+    this.openSet = new IndexedMinHeap(0);
   }
 
   @Override
-  protected AlgorithmResult<DefaultGridState> compute() {
-    grid.getStarts().stream()
-        .map(coordinate -> createStartNode(coordinate, grid))
-        .forEach(openSet::add);
-
-    T tmp;
-    while ((tmp = openSet.pollFirst()) != null) {
-      GridCoordinate coordinate = tmp.getCoordinate();
-      if (isEnd(coordinate)) {
+  protected int search() {
+    for (int cell : starts) {
+      state.visit(cell, 0, NO_CELL);
+      markNodeForExamination(cell);
+    }
+
+    int end = NO_CELL;
+    while (!openSet.isEmpty()) {
+      int cell = openSet.poll();
+      if (isEnd(cell)) {
+        end = cell;
         break;
       }
 
-      addStep(coordinate, DefaultGridState.EXAMINED);
+      addStep(cell, DefaultGridState.EXAMINED);
 
-      expand(tmp);
+      expand(cell);
     }
 
-    return backtrackResolve(tmp, DefaultGridState.SOLUTION);
+    return end;
   }
 
   /**
    * Resets this {@link Algorithm} to be able to search again.
    */
-  protected void reset(AlgorithmGrid<DefaultGridState> algorithmGrid) {
-    super.reset(algorithmGrid);
+  @Override
+  protected void reset(SearchGrid grid) {
+    super.reset(grid);
 
-    this.openSet = new TreeSet<>(createOpenSetComparator());
+    openSet.clear();
+    openSet.ensureCapacity(grid.getWidth() * grid.getHeight());
   }
 
   /**
-   * Creates the {@link Comparator} to use for the open set.
+   * Returns the priority of a cell in the open set. Smaller priorities are examined first.
    *
-   * @return the {@link Comparator} to use
+   * @param cell the id of the cell
+   * @return the priority of the cell
    */
-  protected abstract Comparator<T> createOpenSetComparator();
+  protected abstract double getPriority(int cell);
 
   /**
-   * Creates a new initial start node.
+   * Expands the selection by visiting the given cell.
    *
-   * @param coordinate the coordinate the start node is at
-   * @param grid the {@link AlgorithmGrid} that is being used
-   * @return the created start node
-   */
-  protected abstract T createStartNode(GridCoordinate coordinate,
-      AlgorithmGrid<DefaultGridState> grid);
-
-  /**
-   * Checks if a given node is an end node.
-   *
-   * @param coordinate the coordinate to check at
-   * @return true if the node is an end node.
-   */
-  private boolean isEnd(GridCoordinate coordinate) {
-    Objects.requireNonNull(coordinate, "coordinate can not be null!");
-
-    return grid.getStateAt(coordinate).isEnd();
-  }
-
-  /**
-   * Checks if you can walk through the block at the given coordinate.
-   *
-   * @param from the coordinate you come from
-   * @param to the coordinate you walk to
-   * @return true if you can walk that way
+   * @param cell the id of the cell to visit
    */
   @SuppressWarnings("WeakerAccess")
-  protected boolean isPassable(GridCoordinate from, GridCoordinate to) {
-    Objects.requireNonNull(from, "from can not be null!");
-    Objects.requireNonNull(to, "to can not be null!");
-
-    return grid.canMove(from, to);
-  }
+  protected void expand(int cell) {
+    markAsClosed(cell);
 
-  /**
-   * Expands the selection by visiting the given node.
-   *
-   * @param node the node to visit
-   */
-  @SuppressWarnings("WeakerAccess")
-  protected void expand(T node) {
-    Objects.requireNonNull(node, "node can not be null!");
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+    double distance = state.getDistance(cell);
 
-    markAsClosed(node.getCoordinate());
+    for (int i = 0; i < directions.length; i++) {
+      Direction direction = directions[i];
+      int newColumn = column + direction.getxMod();
+      int newRow = row + direction.getyMod();
 
-    for (Direction direction : directions) {
-      GridCoordinate newCoordinate = node.getCoordinate().getNeighbour(direction);
+      if (!canMoveTo(column, row, newColumn, newRow)) {
+        continue;
+      }
 
-      if (!isPassable(node.getCoordinate(), newCoordinate) || isClosed(newCoordinate)) {
+      int neighbour = cell + neighbourOffsets[i];
+      if (!relaxClosedNeighbours && isClosed(neighbour)) {
         continue;
       }
 
-      expandImpl(node, direction, newCoordinate);
+      relax(cell, neighbour, distance + direction.getCost() * grid.getCost(newColumn, newRow));
     }
   }
 
   /**
-   * Expands this algorithm by creating and adding the neighbouring node.
-   *
-   * @param parent the parent node
-   * @param direction the {@link Direction} it went
-   * @param newCoordinate the {@link GridCoordinate} of the new node
-   */
-  protected abstract void expandImpl(T parent, Direction direction, GridCoordinate newCoordinate);
-
-  /**
-   * Returns a cached node or adds the passed default to the cache and returns it.
+   * Offers a new distance for a cell. If it is shorter than the known one, the cell's parent is
+   * updated and it is marked for examination.
    *
-   * @param coordinate the coordinate the node is at
-   * @param defaultNode the default node to add, if there is no node already cached
-   * @return the resulting node
+   * @param parent the id of the parent cell
+   * @param cell the id of the cell
+   * @param distance the distance to the start when coming from the parent
    */
-  protected T getCachedOrCreate(GridCoordinate coordinate, T defaultNode) {
-    Objects.requireNonNull(coordinate, "coordinate can not be null!");
-    Objects.requireNonNull(defaultNode, "defaultNode can not be null!");
-
-    return newNodeOrCached(coordinate, defaultNode, DO_NOTHING);
+  protected void relax(int parent, int cell, double distance) {
+    if (distance < state.getDistance(cell)) {
+      state.visit(cell, distance, parent);
+      markNodeForExamination(cell);
+    }
   }
 
   /**
-   * Marks this node for examination, by adding it to the open set.
+   * Marks this cell for examination, by adding it to the open set. If it already is in the open
+   * set, its priority is lowered to the current one.
    *
-   * @param node the node to mark
+   * @param cell the id of the cell to mark
    */
-  protected void markNodeForExamination(T node) {
-    Objects.requireNonNull(node, "node can not be null!");
+  protected void markNodeForExamination(int cell) {
+    if (isClosed(cell)) {
+      return;
+    }
 
     // only add a step for newly found nodes
-    if (openSet.add(node)) {
-      addStep(node.getCoordinate(), DefaultGridState.OPEN_SET);
+    if (openSet.insertOrDecrease(cell, getPriority(cell))) {
+      addStep(cell, DefaultGridState.OPEN_SET);
     }
   }
 }
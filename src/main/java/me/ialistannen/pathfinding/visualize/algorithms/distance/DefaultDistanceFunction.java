@@ -1,36 +1,40 @@
 package me.ialistannen.pathfinding.visualize.algorithms.distance;
 
-import java.util.function.BiFunction;
-import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
-
 public enum DefaultDistanceFunction implements DistanceFunction {
-  MANHATTEN((one, two) -> {
-    double dX = one.getColumn() - two.getColumn();
-    double dY = one.getRow() - two.getRow();
-
-    return Math.abs(dX) + Math.abs(dY);
-  }),
-  EUCLIDEAN((one, two) -> {
-    double dX = one.getColumn() - two.getColumn();
-    double dY = one.getRow() - two.getRow();
-
-    return Math.sqrt(dX * dX + dY * dY);
-  }),
-  CHEBYSHEV((one, two) -> {
-    double dX = one.getColumn() - two.getColumn();
-    double dY = one.getRow() - two.getRow();
-
-    return Math.max(Math.abs(dX), Math.abs(dY));
-  });
-
-  private BiFunction<GridCoordinate, GridCoordinate, Double> function;
-
-  DefaultDistanceFunction(BiFunction<GridCoordinate, GridCoordinate, Double> function) {
-    this.function = function;
-  }
-
-  @Override
-  public double getDistance(GridCoordinate from, GridCoordinate to) {
-    return function.apply(from, to);
-  }
+  MANHATTEN {
+    @Override
+    public double getDistance(int fromColumn, int fromRow, int toColumn, int toRow) {
+      return Math.abs(fromColumn - toColumn) + Math.abs(fromRow - toRow);
+    }
+  },
+  EUCLIDEAN {
+    @Override
+    public double getDistance(int fromColumn, int fromRow, int toColumn, int toRow) {
+      double dX = fromColumn - toColumn;
+      double dY = fromRow - toRow;
+
+      return Math.sqrt(dX * dX + dY * dY);
+    }
+  },
+  CHEBYSHEV {
+    @Override
+    public double getDistance(int fromColumn, int fromRow, int toColumn, int toRow) {
+      return Math.max(Math.abs(fromColumn - toColumn), Math.abs(fromRow - toRow));
+    }
+  },
+  /**
+   * The exact distance on a grid without walls, if diagonal moves cost {@code sqrt(2)} and
+   * straight ones 1: walk diagonally until the row or column matches, then straight.
+   */
+  OCTILE {
+    @Override
+    public double getDistance(int fromColumn, int fromRow, int toColumn, int toRow) {
+      int dX = Math.abs(fromColumn - toColumn);
+      int dY = Math.abs(fromRow - toRow);
+
+      return Math.max(dX, dY) + (SQRT_2 - 1) * Math.min(dX, dY);
+    }
+  };
+
+  private static final double SQRT_2 = Math.sqrt(2);
 }
@@ -4,6 +4,18 @@ import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
 
 public interface DistanceFunction {
 
+  /**
+   * Computes the distance between two cells. This is the form searches should call, as it does
+   * not need any objects.
+   *
+   * @param fromColumn the column of the cell to walk from
+   * @param fromRow the row of the cell to walk from
+   * @param toColumn the column of the cell to walk to
+   * @param toRow the row of the cell to walk to
+   * @return the distance between the two
+   */
+  double getDistance(int fromColumn, int fromRow, int toColumn, int toRow);
+
   /**
    * Computes the distance between two nodes.
    *
@@ -11,5 +23,7 @@ public interface DistanceFunction {
    * @param to the {@link GridCoordinate} to walk to
    * @return the distance between the two
    */
-  double getDistance(GridCoordinate from, GridCoordinate to);
+  default double getDistance(GridCoordinate from, GridCoordinate to) {
+    return getDistance(from.getColumn(), from.getRow(), to.getColumn(), to.getRow());
+  }
 }
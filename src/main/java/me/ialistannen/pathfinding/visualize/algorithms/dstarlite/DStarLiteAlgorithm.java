@@ -0,0 +1,429 @@
+package me.ialistannen.pathfinding.visualize.algorithms.dstarlite;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import me.ialistannen.collections.heap.IndexedMinHeap;
+import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.PassabilityTracker;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+import me.ialistannen.pathfinding.visualize.algorithms.steps.StepSink;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * An incremental planner (D* Lite), that repairs its previous search instead of starting over.
+ *
+ * <p>The search runs backwards from the goal. Every cell has a distance to the goal ({@code g})
+ * and a one step lookahead of it ({@code rhs}), cells where the two differ are in the open set,
+ * ordered by their key and then the smaller of the two.
+ * The planner listens to changes of the grid it was last run on. When it is run again with the
+ * same goal, only the cells around changed walls are updated and the search continues from
+ * there. The start may move between runs.</p>
+ *
+ * <p>D* Lite plans for a single agent. If the grid has several starts, the first one in reading
+ * order is used.</p>
+ *
+ * <p><br><em>This class is not thread safe.</em> Changes to the grid may happen on any thread
+ * though, they are queued and applied when the planner runs the next time.</p>
+ */
+public class DStarLiteAlgorithm implements Algorithm<DefaultGridState> {
+
+  /**
+   * The relative difference below which two keys are considered equal. Keys are sums of move
+   * costs, heuristic values and the key modifier, added up in different orders, so equal keys may
+   * differ in the last bits.
+   */
+  private static final double KEY_TOLERANCE = 1e-10;
+
+  private final Direction[] directions;
+  private final DistanceFunction distanceFunction;
+  private final PassabilityTracker<DefaultGridState> tracker;
+
+  private AlgorithmGrid<DefaultGridState> attachedGrid;
+  private KnownGrid known;
+  private StepSink<DefaultGridState> stepSink;
+
+  private double[] g;
+  private double[] rhs;
+  private final IndexedMinHeap openSet;
+
+  private int start;
+  private int goal;
+  private double keyModifier;
+  private int expandedCells;
+
+  /**
+   * Creates a new planner.
+   *
+   * @param distanceFunction the heuristic, which should be consistent for the directions
+   * @param directions the directions you can move in
+   */
+  public DStarLiteAlgorithm(DistanceFunction distanceFunction, List<Direction> directions) {
+    Objects.requireNonNull(distanceFunction, "distanceFunction can not be null!");
+    Objects.requireNonNull(directions, "directions can not be null!");
+
+    this.distanceFunction = distanceFunction;
+    this.directions = directions.toArray(new Direction[0]);
+    this.tracker = new PassabilityTracker<>();
+    this.openSet = new IndexedMinHeap(0);
+    this.goal = NO_CELL;
+  }
+
+  @Override
+  public boolean compute(AlgorithmGrid<DefaultGridState> grid,
+      StepSink<DefaultGridState> stepSink) {
+    this.stepSink = stepSink;
+    this.expandedCells = 0;
+
+    if (grid.getEnd() == null || grid.getStarts().isEmpty()) {
+      return false;
+    }
+
+    int width = grid.getWidth();
+    int newGoal = grid.getEnd().getRow() * width + grid.getEnd().getColumn();
+    int newStart = grid.getStarts().stream()
+        .mapToInt(coordinate -> coordinate.getRow() * width + coordinate.getColumn())
+        .min()
+        .getAsInt();
+
+    boolean newGrid = tracker.track(grid);
+    if (newGrid || known.getWidth() != width || known.getHeight() != grid.getHeight()
+        || newGoal != goal) {
+      initialize(grid, newStart, newGoal);
+    } else {
+      moveStart(newStart);
+      applyChanges();
+    }
+
+    computeShortestPath();
+
+    try {
+      return addPath();
+    } catch (IllegalStateException e) {
+      // the repaired search can not be trusted anymore, start from scratch the next time
+      detach();
+      throw e;
+    }
+  }
+
+  /**
+   * Stops listening to changes of the grid the planner was last run on. The next run starts from
+   * scratch.
+   */
+  public void detach() {
+    tracker.detach();
+    attachedGrid = null;
+  }
+
+  /**
+   * Returns the amount of cells expanded in the last run. Repairing a previous search usually
+   * expands far fewer cells than the first one.
+   *
+   * @return the amount of expanded cells in the last run
+   */
+  public int getExpandedCells() {
+    return expandedCells;
+  }
+
+  private void initialize(AlgorithmGrid<DefaultGridState> grid, int start, int goal) {
+    attachedGrid = grid;
+    known = new KnownGrid(grid);
+
+    int cellCount = grid.getWidth() * grid.getHeight();
+    g = new double[cellCount];
+    rhs = new double[cellCount];
+    Arrays.fill(g, Double.POSITIVE_INFINITY);
+    Arrays.fill(rhs, Double.POSITIVE_INFINITY);
+
+    openSet.clear();
+    openSet.ensureCapacity(cellCount);
+
+    this.start = start;
+    this.goal = goal;
+    this.keyModifier = 0;
+
+    rhs[goal] = 0;
+    updateVertex(goal);
+  }
+
+  /**
+   * Moves the start, keeping the keys in the open set valid by raising all future keys instead.
+   *
+   * @param newStart the new start cell
+   */
+  private void moveStart(int newStart) {
+    if (newStart == start) {
+      return;
+    }
+    keyModifier += distanceFunction.getDistance(
+        columnOf(start), rowOf(start), columnOf(newStart), rowOf(newStart)
+    );
+    start = newStart;
+  }
+
+  /**
+   * Applies all queued passability changes. A cell only influences the moves of its direct
+   * neighbours (including the corners diagonal moves cut past), so only those are updated.
+   */
+  private void applyChanges() {
+    GridCoordinate coordinate;
+    while ((coordinate = tracker.poll()) != null) {
+      int column = coordinate.getColumn();
+      int row = coordinate.getRow();
+
+      boolean passable = attachedGrid.isPassable(column, row);
+      if (!known.setPassable(column, row, passable)) {
+        continue;
+      }
+
+      for (int newRow = row - 1; newRow <= row + 1; newRow++) {
+        for (int newColumn = column - 1; newColumn <= column + 1; newColumn++) {
+          if (isInside(newColumn, newRow)) {
+            updateVertex(cellId(newColumn, newRow));
+          }
+        }
+      }
+    }
+  }
+
+  private void computeShortestPath() {
+    while (!openSet.isEmpty() && (!isTopKeyAfterStart() || g[start] != rhs[start])) {
+      int cell = openSet.peek();
+      double oldKey = openSet.peekPriority();
+      double oldSecondaryKey = openSet.peekTieBreaker();
+
+      double newSecondaryKey = Math.min(g[cell], rhs[cell]);
+      double newKey = getKey(cell, newSecondaryKey);
+
+      if (compareKeys(oldKey, oldSecondaryKey, newKey, newSecondaryKey) < 0) {
+        openSet.update(cell, newKey, newSecondaryKey);
+        continue;
+      }
+
+      openSet.poll();
+      expandedCells++;
+      addStep(cell, DefaultGridState.EXAMINED);
+
+      if (g[cell] > rhs[cell]) {
+        g[cell] = rhs[cell];
+      } else {
+        g[cell] = Double.POSITIVE_INFINITY;
+        updateVertex(cell);
+      }
+      updatePredecessors(cell);
+    }
+  }
+
+  /**
+   * Checks whether the smallest key in the open set comes after the key of the start.
+   *
+   * <p>Only the primary keys are compared, with the {@link #KEY_TOLERANCE}. The open set orders
+   * them exactly, so a cell with a smaller secondary key may hide behind a top cell whose primary
+   * key is larger by a rounding error. Cells with a primary key equal to the one of the start are
+   * therefore always expanded, it is better to expand a cell too often than to leave one on the
+   * path inconsistent.</p>
+   *
+   * @return true if the start can not be affected by the cells in the open set
+   */
+  private boolean isTopKeyAfterStart() {
+    double startKey = getKey(start, Math.min(g[start], rhs[start]));
+
+    return compareWithTolerance(openSet.peekPriority(), startKey) > 0;
+  }
+
+  /**
+   * Compares two keys lexicographically, treating values that are equal within the
+   * {@link #KEY_TOLERANCE} as equal.
+   *
+   * @param key the first key
+   * @param secondaryKey the secondary part of the first key
+   * @param otherKey the second key
+   * @param otherSecondaryKey the secondary part of the second key
+   * @return a negative value if the first key comes first, 0 if they are equal and a positive
+   *     value if the second one comes first
+   */
+  private static int compareKeys(double key, double secondaryKey, double otherKey,
+      double otherSecondaryKey) {
+    int result = compareWithTolerance(key, otherKey);
+    if (result != 0) {
+      return result;
+    }
+    return compareWithTolerance(secondaryKey, otherSecondaryKey);
+  }
+
+  private static int compareWithTolerance(double a, double b) {
+    if (a == b) {
+      return 0;
+    }
+    double tolerance = KEY_TOLERANCE * Math.max(1, Math.max(Math.abs(a), Math.abs(b)));
+    if (Math.abs(a - b) <= tolerance) {
+      return 0;
+    }
+    return a < b ? -1 : 1;
+  }
+
+  /**
+   * Recomputes the lookahead of a cell and puts it in the open set, if it became inconsistent.
+   *
+   * @param cell the id of the cell
+   */
+  private void updateVertex(int cell) {
+    if (cell != goal) {
+      rhs[cell] = lookahead(cell);
+    }
+
+    if (g[cell] == rhs[cell]) {
+      if (openSet.contains(cell)) {
+        openSet.remove(cell);
+      }
+      return;
+    }
+
+    double secondaryKey = Math.min(g[cell], rhs[cell]);
+
+    if (openSet.contains(cell)) {
+      openSet.update(cell, getKey(cell, secondaryKey), secondaryKey);
+    } else {
+      openSet.insert(cell, getKey(cell, secondaryKey), secondaryKey);
+      addStep(cell, DefaultGridState.OPEN_SET);
+    }
+  }
+
+  private void updatePredecessors(int cell) {
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+
+    for (Direction direction : directions) {
+      int newColumn = column - direction.getxMod();
+      int newRow = row - direction.getyMod();
+
+      if (known.canMove(newColumn, newRow, column, row)) {
+        updateVertex(cellId(newColumn, newRow));
+      }
+    }
+  }
+
+  /**
+   * Returns the smallest distance to the goal over all neighbours of a cell.
+   *
+   * @param cell the id of the cell
+   * @return the distance to the goal when taking the best neighbour
+   */
+  private double lookahead(int cell) {
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+
+    if (!known.isPassable(column, row)) {
+      return Double.POSITIVE_INFINITY;
+    }
+
+    double best = Double.POSITIVE_INFINITY;
+    for (Direction direction : directions) {
+      int newColumn = column + direction.getxMod();
+      int newRow = row + direction.getyMod();
+
+      if (known.canMove(column, row, newColumn, newRow)) {
+        best = Math.min(best, direction.getCost() + g[cellId(newColumn, newRow)]);
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the neighbour of a cell with the smallest distance to the goal.
+   *
+   * @param cell the id of the cell
+   * @return the best neighbour or {@code NO_CELL} if the goal can not be reached from the cell
+   */
+  private int bestSuccessor(int cell) {
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+
+    int best = NO_CELL;
+    double bestDistance = Double.POSITIVE_INFINITY;
+    for (Direction direction : directions) {
+      int newColumn = column + direction.getxMod();
+      int newRow = row + direction.getyMod();
+
+      if (!known.canMove(column, row, newColumn, newRow)) {
+        continue;
+      }
+      int neighbour = cellId(newColumn, newRow);
+      double distance = direction.getCost() + g[neighbour];
+      if (distance < bestDistance) {
+        best = neighbour;
+        bestDistance = distance;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Walks from the start to the goal along the best neighbours and adds the solution steps.
+   *
+   * @return true if a path was found
+   * @throws IllegalStateException if the start has a distance to the goal, but the chain of best
+   *     neighbours does not lead there
+   */
+  private boolean addPath() {
+    if (rhs[start] == Double.POSITIVE_INFINITY) {
+      return false;
+    }
+
+    int cell = start;
+    int remaining = g.length;
+    addStep(cell, DefaultGridState.SOLUTION);
+
+    while (cell != goal) {
+      int next = bestSuccessor(cell);
+      if (next == NO_CELL) {
+        throw new IllegalStateException(
+            "Path ends at " + coordinateOf(cell) + ", which has no neighbour leading to the goal"
+        );
+      }
+      if (--remaining < 0) {
+        throw new IllegalStateException(
+            "Path runs in a cycle through " + coordinateOf(cell) + " and " + coordinateOf(next)
+        );
+      }
+      cell = next;
+      addStep(cell, DefaultGridState.SOLUTION);
+    }
+    return true;
+  }
+
+  private double getKey(int cell, double secondaryKey) {
+    return secondaryKey
+        + distanceFunction.getDistance(columnOf(start), rowOf(start), columnOf(cell), rowOf(cell))
+        + keyModifier;
+  }
+
+  private void addStep(int cell, DefaultGridState state) {
+    stepSink.accept(columnOf(cell), rowOf(cell), state);
+  }
+
+  private boolean isInside(int column, int row) {
+    return column >= 0 && row >= 0 && column < known.getWidth() && row < known.getHeight();
+  }
+
+  private int cellId(int column, int row) {
+    return row * known.getWidth() + column;
+  }
+
+  private int columnOf(int cell) {
+    return cell % known.getWidth();
+  }
+
+  private int rowOf(int cell) {
+    return cell / known.getWidth();
+  }
+
+  private GridCoordinate coordinateOf(int cell) {
+    return new GridCoordinate(columnOf(cell), rowOf(cell));
+  }
+}
@@ -0,0 +1,72 @@
+package me.ialistannen.pathfinding.visualize.algorithms.dstarlite;
+
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+
+/**
+ * The passability a {@link DStarLiteAlgorithm} currently plans with, one bit per cell.
+ *
+ * <p>It is only changed when the planner applies the queued edits of the real grid, so a running
+ * search always sees a consistent world.</p>
+ */
+class KnownGrid implements SearchGrid {
+
+  private final int width;
+  private final int height;
+  private final long[] passable;
+
+  /**
+   * Copies the current passability of a grid.
+   *
+   * @param grid the grid to copy
+   */
+  KnownGrid(SearchGrid grid) {
+    this.width = grid.getWidth();
+    this.height = grid.getHeight();
+    this.passable = new long[(int) (((long) width * height + 63) >>> 6)];
+
+    for (int row = 0; row < height; row++) {
+      for (int column = 0; column < width; column++) {
+        if (grid.isPassable(column, row)) {
+          int cell = row * width + column;
+          passable[cell >>> 6] |= 1L << cell;
+        }
+      }
+    }
+  }
+
+  /**
+   * Sets whether a cell is passable.
+   *
+   * @param column the column
+   * @param row the row
+   * @param isPassable whether the cell is passable
+   * @return true if the passability changed
+   */
+  boolean setPassable(int column, int row, boolean isPassable) {
+    if (isPassable(column, row) == isPassable) {
+      return false;
+    }
+    int cell = row * width + column;
+    passable[cell >>> 6] ^= 1L << cell;
+    return true;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public boolean isPassable(int column, int row) {
+    if (column < 0 || row < 0 || column >= width || row >= height) {
+      return false;
+    }
+    int cell = row * width + column;
+    return (passable[cell >>> 6] & (1L << cell)) != 0;
+  }
+}
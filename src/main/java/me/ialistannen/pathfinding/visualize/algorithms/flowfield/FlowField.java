@@ -0,0 +1,189 @@
+package me.ialistannen.pathfinding.visualize.algorithms.flowfield;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import me.ialistannen.collections.heap.IndexedMinHeap;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.base.SearchState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * The cost to reach the closest of a few goals and the direction to walk in, for every cell of a
+ * grid. Also known as a Dijkstra map.
+ *
+ * <p>The field is built by a single Dijkstra that starts at all goals and follows the moves in
+ * reverse. Any number of agents can then walk to the closest goal by looking up the direction of
+ * the cell they are in, instead of searching a path each.</p>
+ *
+ * <p>The field does not change with the grid. Build it from a {@link
+ * me.ialistannen.pathfinding.visualize.algorithms.GridSnapshot GridSnapshot}, if the grid may be
+ * changed while building, and build it again once walls changed.</p>
+ */
+public final class FlowField {
+
+  private static final byte NO_DIRECTION = -1;
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final int width;
+  private final int height;
+  private final float[] costs;
+  private final byte[] directions;
+
+  private FlowField(int width, int height, float[] costs, byte[] directions) {
+    this.width = width;
+    this.height = height;
+    this.costs = costs;
+    this.directions = directions;
+  }
+
+  /**
+   * Builds the flow field towards some goals.
+   *
+   * @param grid the grid
+   * @param goals the goals, e.g. the {@link
+   *     me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid#getStarts() starts} of a grid
+   * @param directions the directions agents can move in
+   * @return the built flow field
+   * @throws IllegalArgumentException if a goal is outside the grid
+   */
+  public static FlowField build(SearchGrid grid, Collection<GridCoordinate> goals,
+      List<Direction> directions) {
+    Objects.requireNonNull(grid, "grid can not be null!");
+    Objects.requireNonNull(goals, "goals can not be null!");
+    Objects.requireNonNull(directions, "directions can not be null!");
+
+    int width = grid.getWidth();
+    int cellCount = width * grid.getHeight();
+    Direction[] moves = directions.toArray(new Direction[0]);
+
+    SearchState state = new SearchState();
+    IndexedMinHeap openSet = new IndexedMinHeap(cellCount);
+    state.begin(cellCount);
+
+    for (GridCoordinate goal : goals) {
+      int column = goal.getColumn();
+      int row = goal.getRow();
+      if (column < 0 || row < 0 || column >= width || row >= grid.getHeight()) {
+        throw new IllegalArgumentException("goal is outside the grid: " + goal);
+      }
+      int cell = row * width + column;
+      state.visit(cell, 0, NO_CELL);
+      openSet.insertOrDecrease(cell, 0);
+    }
+
+    while (!openSet.isEmpty()) {
+      int cell = openSet.poll();
+      state.close(cell);
+
+      int column = cell % width;
+      int row = cell / width;
+      // every move into this cell costs as much as the cell
+      int cost = grid.getCost(column, row);
+      double distance = state.getDistance(cell);
+
+      for (Direction direction : moves) {
+        int newColumn = column + direction.getxMod();
+        int newRow = row + direction.getyMod();
+        if (!grid.canMove(newColumn, newRow, column, row)) {
+          continue;
+        }
+
+        int neighbour = newRow * width + newColumn;
+        double newDistance = distance + direction.getCost() * cost;
+        if (!state.isClosed(neighbour) && newDistance < state.getDistance(neighbour)) {
+          state.visit(neighbour, newDistance, cell);
+          openSet.insertOrDecrease(neighbour, newDistance);
+        }
+      }
+    }
+
+    float[] costs = new float[cellCount];
+    byte[] fieldDirections = new byte[cellCount];
+    for (int cell = 0; cell < cellCount; cell++) {
+      costs[cell] = (float) state.getDistance(cell);
+      fieldDirections[cell] = directionOf(cell, state.getParent(cell), width);
+    }
+
+    return new FlowField(width, grid.getHeight(), costs, fieldDirections);
+  }
+
+  /**
+   * @return the width of the grid
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * @return the height of the grid
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Returns the cost to reach the closest goal.
+   *
+   * @param column the column
+   * @param row the row
+   * @return the cost or {@link Float#POSITIVE_INFINITY} if no goal can be reached
+   */
+  public float getCost(int column, int row) {
+    return costs[cellId(column, row)];
+  }
+
+  /**
+   * Returns the direction to walk in to reach the closest goal.
+   *
+   * @param column the column
+   * @param row the row
+   * @return the direction or null if the cell is a goal or no goal can be reached
+   */
+  public Direction getDirection(int column, int row) {
+    byte direction = directions[cellId(column, row)];
+    return direction == NO_DIRECTION ? null : DIRECTIONS[direction];
+  }
+
+  /**
+   * Returns the next cell on the way to the closest goal.
+   *
+   * @param cell the cell id ({@code row * width + column})
+   * @return the id of the next cell or {@link SearchState#NO_CELL} if the cell is a goal or no
+   *     goal can be reached
+   */
+  public int getNextCell(int cell) {
+    byte direction = directions[cell];
+    if (direction == NO_DIRECTION) {
+      return NO_CELL;
+    }
+    return cell + DIRECTIONS[direction].getyMod() * width + DIRECTIONS[direction].getxMod();
+  }
+
+  /**
+   * @param column the column
+   * @param row the row
+   * @return true if a goal can be reached from the cell
+   */
+  public boolean canReachGoal(int column, int row) {
+    return costs[cellId(column, row)] != Float.POSITIVE_INFINITY;
+  }
+
+  private int cellId(int column, int row) {
+    if (column < 0 || row < 0 || column >= width || row >= height) {
+      throw new IndexOutOfBoundsException("cell is outside the grid: " + column + " " + row);
+    }
+    return row * width + column;
+  }
+
+  private static byte directionOf(int cell, int next, int width) {
+    if (next == NO_CELL) {
+      return NO_DIRECTION;
+    }
+    return (byte) Direction.forMod(next % width - cell % width, next / width - cell / width)
+        .ordinal();
+  }
+}
@@ -0,0 +1,193 @@
+package me.ialistannen.pathfinding.visualize.algorithms.hierarchical;
+
+/**
+ * A rectangular block of the grid together with its entrances and the cached distances and paths
+ * between them.
+ *
+ * <p>The paths are stored as the ordinals of the directions to move in, all packed into a single
+ * array.</p>
+ */
+final class Cluster {
+
+  private static final int[] NO_CELLS = new int[0];
+
+  private final int column;
+  private final int row;
+  private final int width;
+  private final int height;
+
+  private int[] entrances;
+  private int[][] partners;
+  private double[] distances;
+  private byte[] moves;
+  /**
+   * The start of the moves between every pair of entrances in {@link #moves}, row major, with
+   * the total amount at the end.
+   */
+  private int[] moveOffsets;
+  private int version;
+
+  /**
+   * Creates a new cluster without entrances.
+   *
+   * @param column the column of the top left cell
+   * @param row the row of the top left cell
+   * @param width the width in cells
+   * @param height the height in cells
+   */
+  Cluster(int column, int row, int width, int height) {
+    this.column = column;
+    this.row = row;
+    this.width = width;
+    this.height = height;
+    this.entrances = NO_CELLS;
+    this.partners = new int[0][];
+    this.distances = new double[0];
+    this.moves = new byte[0];
+    this.moveOffsets = new int[1];
+  }
+
+  int getColumn() {
+    return column;
+  }
+
+  int getRow() {
+    return row;
+  }
+
+  int getWidth() {
+    return width;
+  }
+
+  int getHeight() {
+    return height;
+  }
+
+  /**
+   * @return the amount of entrances
+   */
+  int getEntranceCount() {
+    return entrances.length;
+  }
+
+  /**
+   * @return the cell ids of all entrances. Must not be modified.
+   */
+  int[] getEntrances() {
+    return entrances;
+  }
+
+  /**
+   * @param index the index of the entrance
+   * @return the cell id of the entrance
+   */
+  int getEntrance(int index) {
+    return entrances[index];
+  }
+
+  /**
+   * Returns the cells in neighbouring clusters an entrance is directly connected to.
+   *
+   * @param index the index of the entrance
+   * @return the cell ids of the connected cells in other clusters
+   */
+  int[] getPartners(int index) {
+    return partners[index];
+  }
+
+  /**
+   * Returns the length of the shortest path between two entrances, staying inside the cluster.
+   *
+   * @param from the index of the first entrance
+   * @param to the index of the second entrance
+   * @return the distance or infinity if they are not connected inside this cluster
+   */
+  double getDistance(int from, int to) {
+    return distances[from * entrances.length + to];
+  }
+
+  /**
+   * Returns the length of the shortest path between two entrances, as stored by
+   * {@link #setEntrances(int[], int[][], double[], byte[][])}.
+   *
+   * @param from the index of the first entrance
+   * @param to the index of the second entrance
+   * @return the amount of moves or 0 if they are not connected inside this cluster
+   */
+  int getMoveCount(int from, int to) {
+    int pair = from * entrances.length + to;
+    return moveOffsets[pair + 1] - moveOffsets[pair];
+  }
+
+  /**
+   * Returns where the shortest path between two entrances starts in {@link #getMoves()}.
+   *
+   * @param from the index of the first entrance
+   * @param to the index of the second entrance
+   * @return the index of its first move
+   */
+  int getMoveOffset(int from, int to) {
+    return moveOffsets[from * entrances.length + to];
+  }
+
+  /**
+   * Returns the shortest paths between all entrances, packed into one array. Must not be
+   * modified.
+   *
+   * @return the ordinals of the directions to move in
+   */
+  byte[] getMoves() {
+    return moves;
+  }
+
+  /**
+   * Returns a number that changes every time the entrances are replaced, so data derived from them
+   * can be checked for being outdated.
+   *
+   * @return the version of the entrances
+   */
+  int getVersion() {
+    return version;
+  }
+
+  /**
+   * @param cell the id of the cell
+   * @return the index of the entrance or -1 if the cell is no entrance
+   */
+  int indexOf(int cell) {
+    for (int i = 0; i < entrances.length; i++) {
+      if (entrances[i] == cell) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Replaces the entrances and their distances and paths.
+   *
+   * @param entrances the cell ids of the entrances
+   * @param partners the connected cells in other clusters, per entrance
+   * @param distances the distances between all entrances, row major
+   * @param paths the moves between all entrances, row major. Null if they are not connected.
+   */
+  void setEntrances(int[] entrances, int[][] partners, double[] distances, byte[][] paths) {
+    int[] offsets = new int[paths.length + 1];
+    for (int i = 0; i < paths.length; i++) {
+      offsets[i + 1] = offsets[i] + (paths[i] == null ? 0 : paths[i].length);
+    }
+    byte[] packed = new byte[offsets[paths.length]];
+    for (int i = 0; i < paths.length; i++) {
+      if (paths[i] != null) {
+        System.arraycopy(paths[i], 0, packed, offsets[i], paths[i].length);
+      }
+    }
+
+    this.entrances = entrances;
+    this.partners = partners;
+    this.distances = distances;
+    this.moves = packed;
+    this.moveOffsets = offsets;
+    this.version++;
+  }
+}
@@ -0,0 +1,426 @@
+package me.ialistannen.pathfinding.visualize.algorithms.hierarchical;
+
+import java.util.Arrays;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+
+/**
+ * The abstract graph of HPA*: the grid is split into square clusters and every maximal run of
+ * open cells along the border of two clusters becomes an entrance.
+ *
+ * <p>Short runs get a single transition in their middle, longer ones one at each end. Each
+ * transition connects a cell on either side with a straight step. Inside a cluster, all
+ * entrances are connected by their shortest path within the cluster, computed with one Dijkstra
+ * sweep per entrance. Both the length and the path itself are kept, so refining an abstract path
+ * does not need to search again.</p>
+ *
+ * <p>Changed cells only mark their cluster (and the borders they lie on) as dirty. Those are
+ * rebuilt the next time {@link #update()} is called.</p>
+ */
+final class ClusterGraph {
+
+  /**
+   * Entrances that are at least this long get two transitions instead of one.
+   */
+  private static final int LONG_ENTRANCE_LENGTH = 6;
+
+  private final SearchGrid grid;
+  private final ClusterSearch clusterSearch;
+  private final int clusterSize;
+  private final int clustersX;
+  private final int clustersY;
+  private final Cluster[] clusters;
+
+  /**
+   * The transitions between {@code (x, y)} and {@code (x + 1, y)} as pairs of cell ids, the first
+   * one in the left cluster. Indexed by {@code y * (clustersX - 1) + x}.
+   */
+  private final int[][] verticalBorders;
+  /**
+   * The transitions between {@code (x, y)} and {@code (x, y + 1)} as pairs of cell ids, the first
+   * one in the upper cluster. Indexed by {@code y * clustersX + x}.
+   */
+  private final int[][] horizontalBorders;
+
+  private final boolean[] dirtyClusters;
+  private final boolean[] dirtyVerticalBorders;
+  private final boolean[] dirtyHorizontalBorders;
+  private boolean dirty;
+
+  /**
+   * The id of the first entrance of every cluster, with the total amount at the end.
+   */
+  private int[] nodeOffsets;
+  /**
+   * The cluster of every entrance id.
+   */
+  private int[] nodeClusters;
+  /**
+   * The cell id of every entrance id.
+   */
+  private int[] nodeCells;
+  /**
+   * The index of the first partner of every entrance id in {@link #partnerNodes}, with the total
+   * amount at the end.
+   */
+  private int[] partnerOffsets;
+  /**
+   * The entrance ids of the partners of all entrances, so the search does not need to look them
+   * up in their clusters.
+   */
+  private int[] partnerNodes;
+
+  /**
+   * Creates the graph and builds all clusters.
+   *
+   * @param grid the grid
+   * @param clusterSearch the search to use for distances inside the clusters
+   * @param clusterSize the width and height of a cluster
+   */
+  ClusterGraph(SearchGrid grid, ClusterSearch clusterSearch, int clusterSize) {
+    this.grid = grid;
+    this.clusterSearch = clusterSearch;
+    this.clusterSize = clusterSize;
+    this.clustersX = (grid.getWidth() + clusterSize - 1) / clusterSize;
+    this.clustersY = (grid.getHeight() + clusterSize - 1) / clusterSize;
+
+    this.clusters = new Cluster[clustersX * clustersY];
+    for (int y = 0; y < clustersY; y++) {
+      for (int x = 0; x < clustersX; x++) {
+        int column = x * clusterSize;
+        int row = y * clusterSize;
+        clusters[y * clustersX + x] = new Cluster(
+            column, row,
+            Math.min(clusterSize, grid.getWidth() - column),
+            Math.min(clusterSize, grid.getHeight() - row)
+        );
+      }
+    }
+
+    this.verticalBorders = new int[Math.max(0, clustersX - 1) * clustersY][];
+    this.horizontalBorders = new int[clustersX * Math.max(0, clustersY - 1)][];
+    this.dirtyClusters = new boolean[clusters.length];
+    this.dirtyVerticalBorders = new boolean[verticalBorders.length];
+    this.dirtyHorizontalBorders = new boolean[horizontalBorders.length];
+
+    Arrays.fill(dirtyClusters, true);
+    Arrays.fill(dirtyVerticalBorders, true);
+    Arrays.fill(dirtyHorizontalBorders, true);
+    this.dirty = true;
+
+    update();
+  }
+
+  /**
+   * Marks everything a changed cell can influence as dirty.
+   *
+   * @param column the column of the cell
+   * @param row the row of the cell
+   */
+  void invalidate(int column, int row) {
+    int x = column / clusterSize;
+    int y = row / clusterSize;
+
+    dirtyClusters[y * clustersX + x] = true;
+    dirty = true;
+
+    if (column % clusterSize == 0 && x > 0) {
+      dirtyVerticalBorders[y * (clustersX - 1) + x - 1] = true;
+    }
+    if (column % clusterSize == clusterSize - 1 && x < clustersX - 1) {
+      dirtyVerticalBorders[y * (clustersX - 1) + x] = true;
+    }
+    if (row % clusterSize == 0 && y > 0) {
+      dirtyHorizontalBorders[(y - 1) * clustersX + x] = true;
+    }
+    if (row % clusterSize == clusterSize - 1 && y < clustersY - 1) {
+      dirtyHorizontalBorders[y * clustersX + x] = true;
+    }
+  }
+
+  /**
+   * Marks all clusters as dirty, for changes whose cell is not known. The borders only depend on
+   * the passability, so they are kept.
+   */
+  void invalidateAll() {
+    Arrays.fill(dirtyClusters, true);
+    dirty = true;
+  }
+
+  /**
+   * Rebuilds all dirty borders and clusters.
+   */
+  void update() {
+    if (!dirty) {
+      return;
+    }
+
+    for (int i = 0; i < verticalBorders.length; i++) {
+      if (dirtyVerticalBorders[i]) {
+        int x = i % (clustersX - 1);
+        int y = i / (clustersX - 1);
+        Cluster left = clusters[y * clustersX + x];
+
+        verticalBorders[i] = computeBorder(
+            left.getRow() * grid.getWidth() + left.getColumn() + left.getWidth() - 1,
+            grid.getWidth(), left.getHeight(), 1
+        );
+        dirtyClusters[y * clustersX + x] = true;
+        dirtyClusters[y * clustersX + x + 1] = true;
+        dirtyVerticalBorders[i] = false;
+      }
+    }
+    for (int i = 0; i < horizontalBorders.length; i++) {
+      if (dirtyHorizontalBorders[i]) {
+        Cluster top = clusters[i];
+
+        horizontalBorders[i] = computeBorder(
+            (top.getRow() + top.getHeight() - 1) * grid.getWidth() + top.getColumn(),
+            1, top.getWidth(), grid.getWidth()
+        );
+        dirtyClusters[i] = true;
+        dirtyClusters[i + clustersX] = true;
+        dirtyHorizontalBorders[i] = false;
+      }
+    }
+
+    for (int i = 0; i < clusters.length; i++) {
+      if (dirtyClusters[i]) {
+        rebuildCluster(i);
+        dirtyClusters[i] = false;
+      }
+    }
+
+    renumber();
+    dirty = false;
+  }
+
+  /**
+   * @return the amount of entrances in the whole graph
+   */
+  int getNodeCount() {
+    return nodeOffsets[clusters.length];
+  }
+
+  /**
+   * @param cell the id of the cell
+   * @return the index of the cluster containing the cell
+   */
+  int clusterIndexOf(int cell) {
+    int column = cell % grid.getWidth();
+    int row = cell / grid.getWidth();
+    return (row / clusterSize) * clustersX + column / clusterSize;
+  }
+
+  /**
+   * @param index the index of the cluster
+   * @return the cluster
+   */
+  Cluster getCluster(int index) {
+    return clusters[index];
+  }
+
+  /**
+   * @param clusterIndex the index of the cluster
+   * @return the node id of the first entrance of the cluster
+   */
+  int getFirstNode(int clusterIndex) {
+    return nodeOffsets[clusterIndex];
+  }
+
+  /**
+   * @param node the node id of an entrance
+   * @return the index of the cluster the entrance belongs to
+   */
+  int getClusterOfNode(int node) {
+    return nodeClusters[node];
+  }
+
+  /**
+   * @param node the node id of an entrance
+   * @return the cell id of the entrance
+   */
+  int getCellOfNode(int node) {
+    return nodeCells[node];
+  }
+
+  /**
+   * @param node the node id of an entrance
+   * @return the index of its first partner for {@link #getPartnerNode(int)}
+   */
+  int getFirstPartner(int node) {
+    return partnerOffsets[node];
+  }
+
+  /**
+   * @param node the node id of an entrance
+   * @return the index after its last partner for {@link #getPartnerNode(int)}
+   */
+  int getPartnerEnd(int node) {
+    return partnerOffsets[node + 1];
+  }
+
+  /**
+   * @param partner the index of the partner, between {@link #getFirstPartner(int)} and {@link
+   *     #getPartnerEnd(int)} of an entrance
+   * @return the node id of the partner in the neighbouring cluster
+   */
+  int getPartnerNode(int partner) {
+    return partnerNodes[partner];
+  }
+
+  /**
+   * Finds the transitions along a border.
+   *
+   * @param firstCell the first cell on the near side of the border
+   * @param step the offset between two cells along the border
+   * @param length the length of the border
+   * @param across the offset from a near cell to its partner on the far side
+   * @return the transitions as pairs of cell ids, near cell first
+   */
+  private int[] computeBorder(int firstCell, int step, int length, int across) {
+    int[] transitions = new int[length * 2];
+    int count = 0;
+    int runStart = -1;
+
+    for (int i = 0; i <= length; i++) {
+      boolean open = i < length
+          && isPassable(firstCell + i * step)
+          && isPassable(firstCell + i * step + across);
+
+      if (open && runStart < 0) {
+        runStart = i;
+      } else if (!open && runStart >= 0) {
+        int runLength = i - runStart;
+        if (runLength >= LONG_ENTRANCE_LENGTH) {
+          transitions[count++] = firstCell + runStart * step;
+          transitions[count++] = firstCell + runStart * step + across;
+          transitions[count++] = firstCell + (i - 1) * step;
+          transitions[count++] = firstCell + (i - 1) * step + across;
+        } else {
+          int middle = runStart + (runLength - 1) / 2;
+          transitions[count++] = firstCell + middle * step;
+          transitions[count++] = firstCell + middle * step + across;
+        }
+        runStart = -1;
+      }
+    }
+
+    return Arrays.copyOf(transitions, count);
+  }
+
+  private void rebuildCluster(int index) {
+    int x = index % clustersX;
+    int y = index / clustersX;
+    Cluster cluster = clusters[index];
+
+    int capacity = 4 * (cluster.getWidth() + cluster.getHeight());
+    int[] entrances = new int[capacity];
+    int[][] partners = new int[capacity][];
+    int count = 0;
+
+    if (x > 0) {
+      count = collect(verticalBorders[y * (clustersX - 1) + x - 1], 1, entrances, partners, count);
+    }
+    if (x < clustersX - 1) {
+      count = collect(verticalBorders[y * (clustersX - 1) + x], 0, entrances, partners, count);
+    }
+    if (y > 0) {
+      count = collect(horizontalBorders[(y - 1) * clustersX + x], 1, entrances, partners, count);
+    }
+    if (y < clustersY - 1) {
+      count = collect(horizontalBorders[y * clustersX + x], 0, entrances, partners, count);
+    }
+
+    entrances = Arrays.copyOf(entrances, count);
+    partners = Arrays.copyOf(partners, count);
+
+    double[] distances = new double[count * count];
+    byte[][] paths = new byte[count * count][];
+    double[] row = new double[count];
+    for (int from = 0; from < count; from++) {
+      clusterSearch.distancesFrom(cluster, entrances[from], entrances, row);
+      System.arraycopy(row, 0, distances, from * count, count);
+
+      for (int to = 0; to < count; to++) {
+        if (to != from && row[to] != Double.POSITIVE_INFINITY) {
+          paths[from * count + to] = clusterSearch.movesTo(entrances[to]);
+        }
+      }
+    }
+
+    cluster.setEntrances(entrances, partners, distances, paths);
+  }
+
+  /**
+   * Adds the cells of one side of a border to the entrances of a cluster.
+   *
+   * @param transitions the transitions of the border
+   * @param side 0 if the cluster is left/above the border, 1 otherwise
+   * @param entrances the entrances of the cluster
+   * @param partners the partners of the entrances
+   * @param count the current amount of entrances
+   * @return the new amount of entrances
+   */
+  private int collect(int[] transitions, int side, int[] entrances, int[][] partners, int count) {
+    for (int i = 0; i < transitions.length; i += 2) {
+      int own = transitions[i + side];
+      int partner = transitions[i + 1 - side];
+
+      int index = indexOf(entrances, count, own);
+      if (index < 0) {
+        index = count++;
+        entrances[index] = own;
+        partners[index] = new int[0];
+      }
+      partners[index] = Arrays.copyOf(partners[index], partners[index].length + 1);
+      partners[index][partners[index].length - 1] = partner;
+    }
+    return count;
+  }
+
+  private void renumber() {
+    nodeOffsets = new int[clusters.length + 1];
+    for (int i = 0; i < clusters.length; i++) {
+      nodeOffsets[i + 1] = nodeOffsets[i] + clusters[i].getEntranceCount();
+    }
+
+    int nodeCount = nodeOffsets[clusters.length];
+    nodeClusters = new int[nodeCount];
+    nodeCells = new int[nodeCount];
+    partnerOffsets = new int[nodeCount + 1];
+    for (int i = 0; i < clusters.length; i++) {
+      Arrays.fill(nodeClusters, nodeOffsets[i], nodeOffsets[i + 1], i);
+
+      for (int entrance = 0; entrance < clusters[i].getEntranceCount(); entrance++) {
+        int node = nodeOffsets[i] + entrance;
+        nodeCells[node] = clusters[i].getEntrance(entrance);
+        partnerOffsets[node + 1] = partnerOffsets[node] + clusters[i].getPartners(entrance).length;
+      }
+    }
+
+    partnerNodes = new int[partnerOffsets[nodeCount]];
+    for (int node = 0; node < nodeCount; node++) {
+      Cluster cluster = clusters[nodeClusters[node]];
+      int[] partners = cluster.getPartners(node - nodeOffsets[nodeClusters[node]]);
+
+      for (int i = 0; i < partners.length; i++) {
+        int partnerCluster = clusterIndexOf(partners[i]);
+        partnerNodes[partnerOffsets[node] + i] = nodeOffsets[partnerCluster]
+            + clusters[partnerCluster].indexOf(partners[i]);
+      }
+    }
+  }
+
+  private boolean isPassable(int cell) {
+    return grid.isPassable(cell % grid.getWidth(), cell / grid.getWidth());
+  }
+
+  private static int indexOf(int[] array, int length, int value) {
+    for (int i = 0; i < length; i++) {
+      if (array[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,258 @@
+package me.ialistannen.pathfinding.visualize.algorithms.hierarchical;
+
+import java.util.List;
+import me.ialistannen.collections.heap.IndexedMinHeap;
+import me.ialistannen.pathfinding.visualize.algorithms.PathFinder;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.base.SearchState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * Runs searches that may not leave a single {@link Cluster}, by presenting the cluster as a small
+ * {@link SearchGrid} of its own.
+ *
+ * <p>Single paths are found with the given {@link PathFinder}, distances to many cells at once
+ * with a Dijkstra sweep. The paths of the last sweep can be read with {@link #movesTo(int)}.
+ * Both honour the {@link SearchGrid#getCost(int, int) cost} of the cells.</p>
+ */
+final class ClusterSearch implements SearchGrid {
+
+  private final SearchGrid grid;
+  private final PathFinder pathFinder;
+  private final Direction[] directions;
+
+  private final SearchState sweepState;
+  private final IndexedMinHeap sweepOpenSet;
+  private int[] targetMarks;
+  private int targetGeneration;
+  private boolean sweepTowardsStart;
+
+  private int originColumn;
+  private int originRow;
+  private int width;
+  private int height;
+
+  /**
+   * Creates a new cluster search.
+   *
+   * @param grid the whole grid
+   * @param pathFinder the path finder to use inside the clusters
+   * @param directions the directions you can move in
+   */
+  ClusterSearch(SearchGrid grid, PathFinder pathFinder, List<Direction> directions) {
+    this.grid = grid;
+    this.pathFinder = pathFinder;
+    this.directions = directions.toArray(new Direction[0]);
+    this.sweepState = new SearchState();
+    this.sweepOpenSet = new IndexedMinHeap(0);
+    this.targetMarks = new int[0];
+  }
+
+  /**
+   * Finds the shortest path between two cells of a cluster, that stays inside the cluster.
+   *
+   * @param cluster the cluster
+   * @param start the cell id of the start in the whole grid
+   * @param goal the cell id of the goal in the whole grid
+   * @return the found path, with cell ids of the whole grid
+   */
+  PathResult findPath(Cluster cluster, int start, int goal) {
+    setBounds(cluster);
+
+    PathResult result = pathFinder.findPath(this, toLocal(start), toLocal(goal));
+    if (!result.isFound()) {
+      return result;
+    }
+
+    int[] path = result.getPath();
+    for (int i = 0; i < path.length; i++) {
+      path[i] = toGlobal(path[i]);
+    }
+    return new PathResult(path, result.getCost(), result.getExpandedCells());
+  }
+
+  /**
+   * Computes the distances from a cell to several others, staying inside the cluster. Runs a
+   * single Dijkstra, that stops once all targets are reached, instead of one search per target.
+   *
+   * @param cluster the cluster
+   * @param start the cell id of the start in the whole grid
+   * @param targets the cell ids of the targets in the whole grid
+   * @param distances the array to write the distance to each target into. Unreachable targets
+   *     get infinity.
+   * @return the amount of expanded cells
+   */
+  int distancesFrom(Cluster cluster, int start, int[] targets, double[] distances) {
+    return sweep(cluster, start, targets, distances, false);
+  }
+
+  /**
+   * Computes the distances from several cells to a single one, staying inside the cluster.
+   *
+   * <p>Entering a cell costs its {@link SearchGrid#getCost(int, int) cost}, so the distance back
+   * differs from {@link #distancesFrom(Cluster, int, int[], double[])} on weighted grids.</p>
+   *
+   * @param cluster the cluster
+   * @param goal the cell id of the cell to reach in the whole grid
+   * @param sources the cell ids of the cells to start at in the whole grid
+   * @param distances the array to write the distance from each source into. Sources that can
+   *     not reach the goal get infinity.
+   * @return the amount of expanded cells
+   */
+  int distancesTo(Cluster cluster, int goal, int[] sources, double[] distances) {
+    return sweep(cluster, goal, sources, distances, true);
+  }
+
+  /**
+   * Runs a Dijkstra from a cell until all targets are reached.
+   *
+   * @param towardsStart true if the distances from the targets to the start should be computed
+   */
+  private int sweep(Cluster cluster, int start, int[] targets, double[] distances,
+      boolean towardsStart) {
+    setBounds(cluster);
+    sweepTowardsStart = towardsStart;
+
+    int cellCount = width * height;
+    sweepState.begin(cellCount);
+    sweepOpenSet.clear();
+    sweepOpenSet.ensureCapacity(cellCount);
+    if (targetMarks.length < cellCount) {
+      targetMarks = new int[cellCount];
+      targetGeneration = 0;
+    }
+    targetGeneration++;
+
+    int remaining = 0;
+    for (int target : targets) {
+      int local = toLocal(target);
+      if (targetMarks[local] != targetGeneration) {
+        targetMarks[local] = targetGeneration;
+        remaining++;
+      }
+    }
+
+    int localStart = toLocal(start);
+    sweepState.visit(localStart, 0, SearchState.NO_CELL);
+    sweepOpenSet.insert(localStart, 0);
+    int expanded = 0;
+
+    while (remaining > 0 && !sweepOpenSet.isEmpty()) {
+      int cell = sweepOpenSet.poll();
+      sweepState.close(cell);
+      expanded++;
+
+      if (targetMarks[cell] == targetGeneration) {
+        remaining--;
+      }
+
+      int column = cell % width;
+      int row = cell / width;
+      double distance = sweepState.getDistance(cell);
+
+      for (Direction direction : directions) {
+        int newColumn = column + direction.getxMod();
+        int newRow = row + direction.getyMod();
+        if (!canMove(column, row, newColumn, newRow)) {
+          continue;
+        }
+
+        int neighbour = newRow * width + newColumn;
+        // the cost of the cell that is entered, which is this one when walking backwards
+        double newDistance = towardsStart
+            ? distance + direction.getCost() * getCost(column, row)
+            : distance + direction.getCost() * getCost(newColumn, newRow);
+        if (!sweepState.isClosed(neighbour) && newDistance < sweepState.getDistance(neighbour)) {
+          sweepState.visit(neighbour, newDistance, cell);
+          sweepOpenSet.insertOrDecrease(neighbour, newDistance);
+        }
+      }
+    }
+
+    for (int i = 0; i < targets.length; i++) {
+      int local = toLocal(targets[i]);
+      distances[i] = sweepState.isClosed(local)
+          ? sweepState.getDistance(local)
+          : Double.POSITIVE_INFINITY;
+    }
+
+    return expanded;
+  }
+
+  /**
+   * Returns the shortest path between the start of the last sweep and one of its targets. That
+   * is from the start to the target after {@link #distancesFrom(Cluster, int, int[], double[])}
+   * and from the target to the start after {@link #distancesTo(Cluster, int, int[], double[])}.
+   *
+   * @param target the cell id of a reached target in the whole grid
+   * @return the ordinals of the {@link Direction}s to move in
+   */
+  byte[] movesTo(int target) {
+    int local = toLocal(target);
+
+    int length = 0;
+    for (int cell = local; sweepState.getParent(cell) != SearchState.NO_CELL;
+        cell = sweepState.getParent(cell)) {
+      length++;
+    }
+
+    byte[] moves = new byte[length];
+    int index = 0;
+    for (int cell = local; sweepState.getParent(cell) != SearchState.NO_CELL;
+        cell = sweepState.getParent(cell)) {
+      int parent = sweepState.getParent(cell);
+      Direction direction = Direction.forMod(
+          cell % width - parent % width, cell / width - parent / width
+      );
+      if (sweepTowardsStart) {
+        moves[index++] = (byte) direction.opposite().ordinal();
+      } else {
+        moves[moves.length - ++index] = (byte) direction.ordinal();
+      }
+    }
+    return moves;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public boolean isPassable(int column, int row) {
+    if (column < 0 || row < 0 || column >= width || row >= height) {
+      return false;
+    }
+    return grid.isPassable(originColumn + column, originRow + row);
+  }
+
+  @Override
+  public int getCost(int column, int row) {
+    return grid.getCost(originColumn + column, originRow + row);
+  }
+
+  private void setBounds(Cluster cluster) {
+    originColumn = cluster.getColumn();
+    originRow = cluster.getRow();
+    width = cluster.getWidth();
+    height = cluster.getHeight();
+  }
+
+  private int toLocal(int cell) {
+    int column = cell % grid.getWidth() - originColumn;
+    int row = cell / grid.getWidth() - originRow;
+    return row * width + column;
+  }
+
+  private int toGlobal(int localCell) {
+    int column = localCell % width + originColumn;
+    int row = localCell / width + originRow;
+    return row * grid.getWidth() + column;
+  }
+}
@@ -0,0 +1,409 @@
+package me.ialistannen.pathfinding.visualize.algorithms.hierarchical;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import me.ialistannen.collections.heap.IndexedMinHeap;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid.ChangeCallback;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.algorithms.astar.AStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.base.SearchState;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * Hierarchical path planning (HPA*) on an {@link AlgorithmGrid}.
+ *
+ * <p>The grid is split into clusters whose entrances and the paths between them are computed once.
+ * A query connects start and goal to the entrances of their clusters, searches the small abstract
+ * graph and then refines it by stitching together the stored paths of its edges. The connections
+ * of the last few starts and goals are cached as well, until their cluster is rebuilt.</p>
+ *
+ * <p>The finder listens to changes of the grid and only rebuilds the clusters whose passability
+ * changed, lazily before the next query. Changed {@link AlgorithmGrid#setCostAt(int, int, int)
+ * costs} are not reported to the listeners. They are noticed by the changed {@link
+ * AlgorithmGrid#getVersion() version} of the grid instead and rebuild every cluster.</p>
+ *
+ * <p>Paths are near optimal, not optimal: they cross cluster borders only at entrances and a path
+ * inside a single cluster is preferred if one exists. Their cost honours the cost of the
+ * cells.</p>
+ *
+ * <p><br><em>This class is not thread safe.</em></p>
+ *
+ * @param <T> the type of the cell states
+ */
+public class HierarchicalPathFinder<T extends GridCellState> {
+
+  /**
+   * The cost of crossing a border between two clusters, which is always a straight step. It is
+   * multiplied with the cost of the entered cell.
+   */
+  private static final double TRANSITION_COST = 1;
+  /**
+   * The amount of start and goal cells whose connections to their entrances are cached, each.
+   */
+  private static final int INSERTION_CACHE_SIZE = 256;
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final AlgorithmGrid<T> grid;
+  private final DistanceFunction distanceFunction;
+  private final ClusterSearch clusterSearch;
+  private final ClusterGraph graph;
+  private final ChangeCallback<T> changeCallback;
+  private final LinkedHashMap<Integer, Insertion> startInsertions;
+  private final LinkedHashMap<Integer, Insertion> goalInsertions;
+
+  private final SearchState state;
+  private final IndexedMinHeap openSet;
+  private int target;
+  private int expandedCells;
+  /**
+   * The latest grid version the change callback was told about.
+   */
+  private long seenVersion;
+
+  /**
+   * Creates a new finder and builds the abstract graph.
+   *
+   * @param grid the grid to find paths in
+   * @param clusterSize the width and height of a cluster
+   * @param distanceFunction the heuristic, which should be admissible for the directions
+   * @param directions the directions you can move in
+   * @throws IllegalArgumentException if the cluster size is smaller than two
+   */
+  public HierarchicalPathFinder(AlgorithmGrid<T> grid, int clusterSize,
+      DistanceFunction distanceFunction, List<Direction> directions) {
+    Objects.requireNonNull(grid, "grid can not be null!");
+    Objects.requireNonNull(distanceFunction, "distanceFunction can not be null!");
+    Objects.requireNonNull(directions, "directions can not be null!");
+
+    if (clusterSize < 2) {
+      throw new IllegalArgumentException("clusterSize must be at least 2, was " + clusterSize);
+    }
+
+    this.grid = grid;
+    this.distanceFunction = distanceFunction;
+    this.clusterSearch = new ClusterSearch(
+        grid, new AStarAlgorithm(distanceFunction, directions), directions
+    );
+    this.graph = new ClusterGraph(grid, clusterSearch, clusterSize);
+    this.state = new SearchState();
+    this.openSet = new IndexedMinHeap(0);
+    this.startInsertions = new LinkedHashMap<>(16, 0.75f, true);
+    this.goalInsertions = new LinkedHashMap<>(16, 0.75f, true);
+
+    this.seenVersion = grid.getVersion();
+
+    this.changeCallback = (coordinate, oldState, newState) -> {
+      invalidateIfChangedUnseen(grid.getVersion() - 1);
+      seenVersion = grid.getVersion();
+
+      if (oldState.isPassable() != newState.isPassable()) {
+        graph.invalidate(coordinate.getColumn(), coordinate.getRow());
+      }
+    };
+    grid.addChangeCallback(changeCallback);
+  }
+
+  /**
+   * Rebuilds all clusters if the grid changed without telling the change callback, which is the
+   * case for new cell costs.
+   *
+   * @param version the version the grid should have, if the callback saw all changes
+   */
+  private void invalidateIfChangedUnseen(long version) {
+    if (version != seenVersion) {
+      graph.invalidateAll();
+      seenVersion = version;
+    }
+  }
+
+  /**
+   * Stops listening to changes of the grid. The finder must not be used afterwards.
+   */
+  public void detach() {
+    grid.removeChangeCallback(changeCallback);
+  }
+
+  /**
+   * Returns the amount of entrances in the abstract graph, rebuilding dirty clusters first.
+   *
+   * @return the amount of nodes in the abstract graph
+   */
+  public int getAbstractNodeCount() {
+    invalidateIfChangedUnseen(grid.getVersion());
+    graph.update();
+    return graph.getNodeCount();
+  }
+
+  /**
+   * Finds a path between two passable cells.
+   *
+   * @param start the cell id of the start
+   * @param goal the cell id of the goal
+   * @return the found path, containing every cell of it
+   */
+  public PathResult findPath(int start, int goal) {
+    invalidateIfChangedUnseen(grid.getVersion());
+    graph.update();
+    expandedCells = 0;
+
+    if (!isPassable(start) || !isPassable(goal)) {
+      return PathResult.notFound(0);
+    }
+    if (start == goal) {
+      return new PathResult(new int[]{start}, 0, 0);
+    }
+
+    int startClusterIndex = graph.clusterIndexOf(start);
+    int goalClusterIndex = graph.clusterIndexOf(goal);
+    Cluster startCluster = graph.getCluster(startClusterIndex);
+    Cluster goalCluster = graph.getCluster(goalClusterIndex);
+
+    if (startClusterIndex == goalClusterIndex) {
+      PathResult local = clusterSearch.findPath(startCluster, start, goal);
+      if (local.isFound()) {
+        return local;
+      }
+      expandedCells += local.getExpandedCells();
+    }
+
+    Insertion startInsertion = getInsertion(startInsertions, startCluster, start, false);
+    Insertion goalInsertion = getInsertion(goalInsertions, goalCluster, goal, true);
+
+    if (!searchAbstract(
+        start, goal, startClusterIndex, startInsertion.costs, goalClusterIndex, goalInsertion.costs
+    )) {
+      return PathResult.notFound(expandedCells);
+    }
+
+    return refine(start, startInsertion, goalInsertion);
+  }
+
+  /**
+   * Returns the cached connections of a cell to the entrances of its cluster or computes them.
+   *
+   * @param cache the cache to use
+   * @param cluster the cluster of the cell
+   * @param cell the cell id
+   * @param toCell true if the costs and paths should lead from the entrances to the cell
+   * @return the connections
+   */
+  private Insertion getInsertion(LinkedHashMap<Integer, Insertion> cache, Cluster cluster,
+      int cell, boolean toCell) {
+    Insertion insertion = cache.get(cell);
+    if (insertion != null && insertion.version == cluster.getVersion()) {
+      return insertion;
+    }
+
+    int[] entrances = cluster.getEntrances();
+    double[] costs = new double[entrances.length];
+    if (toCell) {
+      expandedCells += clusterSearch.distancesTo(cluster, cell, entrances, costs);
+    } else {
+      expandedCells += clusterSearch.distancesFrom(cluster, cell, entrances, costs);
+    }
+
+    byte[][] moves = new byte[entrances.length][];
+    for (int i = 0; i < entrances.length; i++) {
+      if (costs[i] != Double.POSITIVE_INFINITY) {
+        moves[i] = clusterSearch.movesTo(entrances[i]);
+      }
+    }
+
+    insertion = new Insertion(cluster.getVersion(), costs, moves);
+    cache.put(cell, insertion);
+    if (cache.size() > INSERTION_CACHE_SIZE) {
+      Iterator<Insertion> iterator = cache.values().iterator();
+      iterator.next();
+      iterator.remove();
+    }
+    return insertion;
+  }
+
+  /**
+   * Runs A* on the abstract graph, with two extra nodes for start and goal.
+   *
+   * @return true if the goal was reached
+   */
+  private boolean searchAbstract(int start, int goal, int startClusterIndex, double[] startCosts,
+      int goalClusterIndex, double[] goalCosts) {
+    int startNode = graph.getNodeCount();
+    int goalNode = startNode + 1;
+
+    state.begin(startNode + 2);
+    openSet.clear();
+    openSet.ensureCapacity(startNode + 2);
+    target = goal;
+
+    state.visit(startNode, 0, NO_CELL);
+    openSet.insert(startNode, heuristic(start));
+
+    while (!openSet.isEmpty()) {
+      int node = openSet.poll();
+      if (node == goalNode) {
+        return true;
+      }
+      state.close(node);
+      expandedCells++;
+
+      double distance = state.getDistance(node);
+
+      if (node == startNode) {
+        int firstNode = graph.getFirstNode(startClusterIndex);
+        for (int i = 0; i < startCosts.length; i++) {
+          relax(node, firstNode + i, distance + startCosts[i], goalNode);
+        }
+        continue;
+      }
+
+      int clusterIndex = graph.getClusterOfNode(node);
+      Cluster cluster = graph.getCluster(clusterIndex);
+      int firstNode = graph.getFirstNode(clusterIndex);
+      int index = node - firstNode;
+
+      for (int other = 0; other < cluster.getEntranceCount(); other++) {
+        if (other != index) {
+          relax(node, firstNode + other, distance + cluster.getDistance(index, other), goalNode);
+        }
+      }
+
+      for (int i = graph.getFirstPartner(node); i < graph.getPartnerEnd(node); i++) {
+        int partnerNode = graph.getPartnerNode(i);
+        relax(node, partnerNode, distance + TRANSITION_COST * getCost(partnerNode), goalNode);
+      }
+
+      if (clusterIndex == goalClusterIndex) {
+        relax(node, goalNode, distance + goalCosts[index], goalNode);
+      }
+    }
+
+    return false;
+  }
+
+  private void relax(int parent, int node, double distance, int goalNode) {
+    if (distance == Double.POSITIVE_INFINITY || state.isClosed(node)) {
+      return;
+    }
+    if (distance < state.getDistance(node)) {
+      state.visit(node, distance, parent);
+
+      double heuristic = node == goalNode ? 0 : heuristic(graph.getCellOfNode(node));
+      openSet.insertOrDecrease(node, distance + heuristic);
+    }
+  }
+
+  /**
+   * Turns the abstract path into a path of cells, by following the stored paths of its edges.
+   */
+  private PathResult refine(int start, Insertion startInsertion, Insertion goalInsertion) {
+    int startNode = graph.getNodeCount();
+    int goalNode = startNode + 1;
+
+    int abstractLength = 0;
+    for (int node = goalNode; node != NO_CELL; node = state.getParent(node)) {
+      abstractLength++;
+    }
+    int[] nodes = new int[abstractLength];
+    for (int node = goalNode; node != NO_CELL; node = state.getParent(node)) {
+      nodes[--abstractLength] = node;
+    }
+
+    int width = grid.getWidth();
+    int[] path = new int[16];
+    int length = 0;
+    int cell = start;
+    path[length++] = cell;
+
+    for (int i = 1; i < nodes.length; i++) {
+      int from = nodes[i - 1];
+      int to = nodes[i];
+
+      byte[] moves;
+      int offset = 0;
+      int moveCount;
+
+      if (from == startNode) {
+        moves = startInsertion.moves[to - graph.getFirstNode(graph.getClusterOfNode(to))];
+        moveCount = moves.length;
+      } else if (to == goalNode) {
+        moves = goalInsertion.moves[from - graph.getFirstNode(graph.getClusterOfNode(from))];
+        moveCount = moves.length;
+      } else if (graph.getClusterOfNode(from) != graph.getClusterOfNode(to)) {
+        // a transition, the cells are neighbours
+        cell = graph.getCellOfNode(to);
+        path = ensureCapacity(path, length + 1);
+        path[length++] = cell;
+        continue;
+      } else {
+        int clusterIndex = graph.getClusterOfNode(from);
+        Cluster cluster = graph.getCluster(clusterIndex);
+        int fromIndex = from - graph.getFirstNode(clusterIndex);
+        int toIndex = to - graph.getFirstNode(clusterIndex);
+        moves = cluster.getMoves();
+        offset = cluster.getMoveOffset(fromIndex, toIndex);
+        moveCount = cluster.getMoveCount(fromIndex, toIndex);
+      }
+
+      path = ensureCapacity(path, length + moveCount);
+      for (int j = 0; j < moveCount; j++) {
+        Direction direction = DIRECTIONS[moves[offset + j]];
+        cell += direction.getxMod() + direction.getyMod() * width;
+        path[length++] = cell;
+      }
+    }
+
+    return new PathResult(
+        Arrays.copyOf(path, length), state.getDistance(goalNode), expandedCells
+    );
+  }
+
+  private double heuristic(int cell) {
+    int width = grid.getWidth();
+    return distanceFunction.getDistance(
+        cell % width, cell / width, target % width, target / width
+    );
+  }
+
+  private int getCost(int node) {
+    int cell = graph.getCellOfNode(node);
+    return grid.getCost(cell % grid.getWidth(), cell / grid.getWidth());
+  }
+
+  private boolean isPassable(int cell) {
+    return cell >= 0 && cell < grid.getWidth() * grid.getHeight()
+        && grid.isPassable(cell % grid.getWidth(), cell / grid.getWidth());
+  }
+
+  private static int[] ensureCapacity(int[] array, int capacity) {
+    if (capacity <= array.length) {
+      return array;
+    }
+    return Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+  }
+
+  /**
+   * The connections of a start or goal cell to the entrances of its cluster.
+   */
+  private static final class Insertion {
+
+    private final int version;
+    private final double[] costs;
+    /**
+     * The direction ordinals of the path to or from every entrance. Null if it is unreachable.
+     */
+    private final byte[][] moves;
+
+    private Insertion(int version, double[] costs, byte[][] moves) {
+      this.version = version;
+      this.costs = costs;
+      this.moves = moves;
+    }
+  }
+}
@@ -0,0 +1,247 @@
+package me.ialistannen.pathfinding.visualize.algorithms.jps;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.PassabilityBitmap;
+import me.ialistannen.pathfinding.visualize.algorithms.PassabilityTracker;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * Jump point search that scans straight lines 64 cells at a time.
+ *
+ * <p>A straight jump stops at the first wall on its line or the first cell with a wall next to
+ * the line. Both can be found for a whole word of a {@link PassabilityBitmap} at once, by
+ * combining the words of the line and its two neighbours and looking for the first set bit.
+ * Columns are scanned in a transposed copy of the bitmap. Diagonal jumps still step cell by cell,
+ * but every straight jump they start is a block scan.</p>
+ *
+ * <p>When run on an {@link AlgorithmGrid} the bitmaps are built once and then kept up to date by
+ * listening to changes of the grid. Headless queries build them per {@link SearchGrid}
+ * instance, so they should be run on an immutable one like a
+ * {@link me.ialistannen.pathfinding.visualize.algorithms.GridSnapshot}.</p>
+ */
+public class BlockJumpPointSearchAlgorithm extends JumpPointSearchAlgorithm {
+
+  private final PassabilityTracker<DefaultGridState> tracker;
+  private SearchGrid bitmapSource;
+  private PassabilityBitmap rows;
+  private PassabilityBitmap columns;
+
+  /**
+   * The amount of cells the last successful {@link #jump(int, int, Direction)} travelled.
+   */
+  private int jumpLength;
+
+  public BlockJumpPointSearchAlgorithm(DistanceFunction distanceFunction) {
+    super(distanceFunction);
+
+    this.tracker = new PassabilityTracker<>();
+  }
+
+  /**
+   * Stops listening to changes of the grid the algorithm was last run on.
+   */
+  public void detach() {
+    tracker.detach();
+  }
+
+  @Override
+  protected SearchGrid searchGridOf(AlgorithmGrid<DefaultGridState> grid) {
+    if (tracker.track(grid)) {
+      rows = PassabilityBitmap.of(grid);
+      columns = rows.transpose();
+      bitmapSource = rows;
+      return rows;
+    }
+
+    GridCoordinate coordinate;
+    while ((coordinate = tracker.poll()) != null) {
+      int column = coordinate.getColumn();
+      int row = coordinate.getRow();
+      boolean passable = grid.isPassable(column, row);
+
+      rows.setPassable(column, row, passable);
+      columns.setPassable(row, column, passable);
+    }
+    return rows;
+  }
+
+  @Override
+  protected void reset(SearchGrid grid) {
+    if (grid != bitmapSource) {
+      tracker.detach();
+      rows = PassabilityBitmap.of(grid);
+      columns = rows.transpose();
+      bitmapSource = grid;
+    }
+
+    super.reset(rows);
+  }
+
+  @Override
+  protected void jumpTowards(int cell, Direction direction) {
+    int jumpPoint = jump(columnOf(cell), rowOf(cell), direction);
+
+    if (jumpPoint != NO_CELL) {
+      relax(cell, jumpPoint, state.getDistance(cell) + jumpLength * direction.getCost());
+    }
+  }
+
+  /**
+   * Walks from the given cell in a direction until a jump point is found.
+   *
+   * @param column the column to start at
+   * @param row the row to start at
+   * @param direction the direction to walk in
+   * @return the id of the jump point or {@link me.ialistannen.pathfinding.visualize.algorithms.base.SearchState#NO_CELL}
+   *     if the walk hit a wall
+   */
+  private int jump(int column, int row, Direction direction) {
+    if (!direction.isDiagonal()) {
+      return jumpStraight(column, row, direction);
+    }
+
+    int xMod = direction.getxMod();
+    int yMod = direction.getyMod();
+    int length = 0;
+
+    while (true) {
+      int newColumn = column + xMod;
+      int newRow = row + yMod;
+
+      if (!rows.canMove(column, row, newColumn, newRow)) {
+        return NO_CELL;
+      }
+      length++;
+
+      int cell = cellId(newColumn, newRow);
+      addStep(cell, DefaultGridState.OTHER);
+
+      if (isEnd(cell) || hasForcedNeighbour(rows, newColumn, newRow, direction)
+          || jumpStraight(newColumn, newRow, verticalPart(direction)) != NO_CELL
+          || jumpStraight(newColumn, newRow, horizontalPart(direction)) != NO_CELL) {
+        jumpLength = length;
+        return cell;
+      }
+
+      column = newColumn;
+      row = newRow;
+    }
+  }
+
+  /**
+   * Jumps along a row or column, by scanning the bitmap word by word.
+   *
+   * @param column the column to start at
+   * @param row the row to start at
+   * @param direction the straight direction to jump in
+   * @return the id of the jump point or the goal, or {@code NO_CELL} if the jump hit a wall
+   */
+  private int jumpStraight(int column, int row, Direction direction) {
+    boolean horizontal = direction.getyMod() == 0;
+    PassabilityBitmap bitmap = horizontal ? rows : columns;
+    int line = horizontal ? row : column;
+    int position = horizontal ? column : row;
+    int step = horizontal ? direction.getxMod() : direction.getyMod();
+
+    int stop = step > 0
+        ? scanForward(bitmap, line, position)
+        : scanBackward(bitmap, line, position);
+    boolean hitWall = !bitmap.isPassable(stop, line);
+    int lastReachable = hitWall ? stop - step : stop;
+
+    if (goal != NO_CELL) {
+      int goalLine = horizontal ? rowOf(goal) : columnOf(goal);
+      int goalPosition = horizontal ? columnOf(goal) : rowOf(goal);
+
+      if (goalLine == line && (goalPosition - position) * step > 0
+          && (lastReachable - goalPosition) * step >= 0) {
+        jumpLength = Math.abs(goalPosition - position);
+        return goal;
+      }
+    }
+
+    if (hitWall) {
+      return NO_CELL;
+    }
+    jumpLength = Math.abs(stop - position);
+    return horizontal ? cellId(stop, line) : cellId(line, stop);
+  }
+
+  /**
+   * Finds the first cell after the position, that is blocked or has a blocked neighbour in the
+   * lines next to it.
+   *
+   * @param bitmap the bitmap to scan in
+   * @param line the row in the bitmap
+   * @param position the column in the bitmap to start after
+   * @return the column of the found cell, which is the width of the bitmap if there is none
+   */
+  private static int scanForward(PassabilityBitmap bitmap, int line, int position) {
+    int first = position + 1;
+    if (first >= bitmap.getWidth()) {
+      return bitmap.getWidth();
+    }
+
+    int wordIndex = first >>> 6;
+    long stops = stopWord(bitmap, line, wordIndex) & (-1L << first);
+
+    while (stops == 0) {
+      if (++wordIndex >= bitmap.getWordsPerRow()) {
+        return bitmap.getWidth();
+      }
+      stops = stopWord(bitmap, line, wordIndex);
+    }
+
+    return Math.min((wordIndex << 6) + Long.numberOfTrailingZeros(stops), bitmap.getWidth());
+  }
+
+  /**
+   * Finds the first cell before the position, that is blocked or has a blocked neighbour in the
+   * lines next to it.
+   *
+   * @param bitmap the bitmap to scan in
+   * @param line the row in the bitmap
+   * @param position the column in the bitmap to start before
+   * @return the column of the found cell, which is -1 if there is none
+   */
+  private static int scanBackward(PassabilityBitmap bitmap, int line, int position) {
+    int first = position - 1;
+    if (first < 0) {
+      return -1;
+    }
+
+    int wordIndex = first >>> 6;
+    long stops = stopWord(bitmap, line, wordIndex) & (-1L >>> (63 - (first & 63)));
+
+    while (stops == 0) {
+      if (--wordIndex < 0) {
+        return -1;
+      }
+      stops = stopWord(bitmap, line, wordIndex);
+    }
+
+    return (wordIndex << 6) + 63 - Long.numberOfLeadingZeros(stops);
+  }
+
+  /**
+   * Returns the cells of a word that stop a straight jump: blocked cells of the line itself and
+   * cells with a blocked neighbour in the lines next to it. Lines outside the grid never block.
+   */
+  private static long stopWord(PassabilityBitmap bitmap, int line, int wordIndex) {
+    long stops = ~bitmap.getWord(line, wordIndex);
+
+    if (line > 0) {
+      stops |= ~bitmap.getWord(line - 1, wordIndex);
+    }
+    if (line < bitmap.getHeight() - 1) {
+      stops |= ~bitmap.getWord(line + 1, wordIndex);
+    }
+    return stops;
+  }
+}
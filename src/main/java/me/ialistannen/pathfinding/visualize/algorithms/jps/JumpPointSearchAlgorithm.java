@@ -1,199 +1,215 @@
 package me.ialistannen.pathfinding.visualize.algorithms.jps;
 
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
 import me.ialistannen.pathfinding.visualize.algorithms.astar.AStarAlgorithm;
 import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
 import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
-import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
 import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
 
 public class JumpPointSearchAlgorithm extends AStarAlgorithm {
 
+  private static final Direction[] HORIZONTAL_PARTS = new Direction[Direction.values().length];
+  private static final Direction[] VERTICAL_PARTS = new Direction[Direction.values().length];
+
+  static {
+    for (Direction direction : Direction.values()) {
+      HORIZONTAL_PARTS[direction.ordinal()] = Direction.forMod(direction.getxMod(), 0);
+      VERTICAL_PARTS[direction.ordinal()] = Direction.forMod(0, direction.getyMod());
+    }
+  }
+
+  /**
+   * The amount of cells the last successful {@link #jump(int, int, Direction)} travelled.
+   */
+  private int jumpLength;
+
   public JumpPointSearchAlgorithm(DistanceFunction distanceFunction) {
     super(distanceFunction, new ArrayList<>(Arrays.asList(Direction.values())));
   }
 
   @Override
-  protected void expand(AStarNode node) {
-    markAsClosed(node.getCoordinate());
+  protected void expand(int cell) {
+    markAsClosed(cell);
 
-    List<GridCoordinate> neighbours = new ArrayList<>();
+    int parent = state.getParent(cell);
 
-    if (node.getParent() != null) {
-      neighbours.addAll(findNeighbours(
-          node.getCoordinate(), directionToParent(node)
-      ));
-    } else {
+    if (parent == NO_CELL) {
       for (Direction direction : directions) {
-        neighbours.addAll(findNeighbours(node.getCoordinate(), direction));
+        jumpTowards(cell, direction);
       }
+      return;
     }
 
-    List<AStarNode> successors = new ArrayList<>();
+    Direction direction = directionBetween(parent, cell);
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+    int xMod = direction.getxMod();
+    int yMod = direction.getyMod();
 
-    for (GridCoordinate coordinate : neighbours) {
-      if (isClosed(coordinate)) {
-        continue;
-      }
-
-      Direction direction = directionBetween(node.getCoordinate(), coordinate);
+    // BASE CASES
+    jumpTowards(cell, direction);
 
-      AStarNode jump = jump(node, node.getCoordinate(), direction);
+    if (direction.isDiagonal()) {
+      jumpTowards(cell, Direction.forMod(xMod, 0));
+      jumpTowards(cell, Direction.forMod(0, yMod));
 
-      if (jump != null) {
-        addStep(coordinate, DefaultGridState.OPEN_SET);
-        successors.add(jump);
+      // forced neighbours
+      if (isBlocked(column - xMod, row)) {
+        jumpTowards(cell, Direction.forMod(-xMod, yMod));
       }
-    }
-
-    for (AStarNode successor : successors) {
-      markNodeForExamination(successor);
-    }
-  }
-
-  private List<GridCoordinate> findNeighbours(GridCoordinate start, Direction direction) {
-    List<GridCoordinate> neighbours = new ArrayList<>();
-
-    switch (direction) {
-      case WEST:
-      case EAST:
-      case NORTH:
-      case SOUTH:
-        // BASE CASES
-        neighbours.add(start.getNeighbour(direction));
-
-        neighbours.addAll(getStraightForcedNeighbours(start, direction));
-        break;
-      case NORTH_EAST:
-      case NORTH_WEST:
-      case SOUTH_EAST:
-      case SOUTH_WEST:
-        // BASE CASES
-        neighbours.add(start.getNeighbour(direction));
-        neighbours.add(start.add(direction.getxMod(), 0));
-        neighbours.add(start.add(0, direction.getyMod()));
-
-        neighbours.addAll(getDiagonalForcedNeighbours(start, direction));
-        break;
-    }
-
-    return neighbours;
-  }
-
-  private List<GridCoordinate> getStraightForcedNeighbours(GridCoordinate start,
-      Direction currentDirection) {
-
-    List<GridCoordinate> neighbours = new ArrayList<>();
-
-    GridCoordinate next = start.getNeighbour(currentDirection);
-
-    if (currentDirection.getyMod() == 0) {
-      if (isBlocked(start.add(0, 1))) {
-        neighbours.add(next.add(0, 1));
+      if (isBlocked(column, row - yMod)) {
+        jumpTowards(cell, Direction.forMod(xMod, -yMod));
       }
-      if (isBlocked(start.add(0, -1))) {
-        neighbours.add(next.add(0, -1));
+    } else if (yMod == 0) {
+      if (isBlocked(column, row + 1)) {
+        jumpTowards(cell, Direction.forMod(xMod, 1));
+      }
+      if (isBlocked(column, row - 1)) {
+        jumpTowards(cell, Direction.forMod(xMod, -1));
       }
     } else {
-      if (isBlocked(start.add(1, 0))) {
-        neighbours.add(next.add(1, 0));
+      if (isBlocked(column + 1, row)) {
+        jumpTowards(cell, Direction.forMod(1, yMod));
       }
-      if (isBlocked(start.add(-1, 0))) {
-        neighbours.add(next.add(-1, 0));
+      if (isBlocked(column - 1, row)) {
+        jumpTowards(cell, Direction.forMod(-1, yMod));
       }
     }
-
-    return neighbours;
   }
 
-  private List<GridCoordinate> getDiagonalForcedNeighbours(GridCoordinate start,
-      Direction currentDirection) {
-
-    List<GridCoordinate> neighbours = new ArrayList<>();
-
-    GridCoordinate next = start.getNeighbour(currentDirection);
-
-    if (isBlocked(start.add(-currentDirection.getxMod(), 0))) {
-      neighbours.add(next.add(currentDirection.getxMod() * -2, 0));
+  /**
+   * Jumps from a cell in the given direction and relaxes the found jump point, if any.
+   *
+   * @param cell the id of the cell to jump from
+   * @param direction the direction to jump in
+   */
+  protected void jumpTowards(int cell, Direction direction) {
+    int jumpPoint = jump(columnOf(cell), rowOf(cell), direction);
+
+    if (jumpPoint != NO_CELL) {
+      relax(cell, jumpPoint, state.getDistance(cell) + jumpLength * direction.getCost());
     }
-    if (isBlocked(start.add(0, -currentDirection.getyMod()))) {
-      neighbours.add(next.add(0, currentDirection.getyMod() * -2));
-    }
-
-    return neighbours;
   }
 
-  private AStarNode jump(AStarNode parent, GridCoordinate coordinate, Direction direction) {
-    GridCoordinate newCoordinate = coordinate.getNeighbour(direction);
+  /**
+   * Walks from the given cell in a direction until a jump point is found.
+   *
+   * @param column the column to start at
+   * @param row the row to start at
+   * @param direction the direction to walk in
+   * @return the id of the jump point or {@link me.ialistannen.pathfinding.visualize.algorithms.base.SearchState#NO_CELL}
+   *     if the walk hit a wall
+   */
+  private int jump(int column, int row, Direction direction) {
+    int xMod = direction.getxMod();
+    int yMod = direction.getyMod();
+    int length = 0;
+
+    while (true) {
+      int newColumn = column + xMod;
+      int newRow = row + yMod;
+
+      if (!canMoveTo(column, row, newColumn, newRow)) {
+        return NO_CELL;
+      }
+      length++;
 
-    if (!canMoveTo(coordinate, newCoordinate)) {
-      return null;
-    }
+      int cell = cellId(newColumn, newRow);
+      addStep(cell, DefaultGridState.OTHER);
 
-    AStarNode nextNode = createNode(parent, newCoordinate, direction);
+      if (isEnd(cell) || hasForcedNeighbour(grid, newColumn, newRow, direction)) {
+        jumpLength = length;
+        return cell;
+      }
 
-    addStep(nextNode.getCoordinate(), DefaultGridState.OTHER);
+      // horizontal / vertical check
+      if (direction.isDiagonal()) {
+        if (jump(newColumn, newRow, Direction.forMod(0, yMod)) != NO_CELL
+            || jump(newColumn, newRow, Direction.forMod(xMod, 0)) != NO_CELL) {
+          jumpLength = length;
+          return cell;
+        }
+      }
 
-    if (grid.getStateAt(newCoordinate).isEnd()) {
-      return nextNode;
+      column = newColumn;
+      row = newRow;
     }
+  }
 
+  /**
+   * Checks if a cell has a forced neighbour, i.e. if it is important.
+   *
+   * @param grid the grid the cell is in
+   * @param column the column of the cell
+   * @param row the row of the cell
+   * @param direction the direction the cell was reached with
+   * @return true if the cell has a forced neighbour
+   */
+  static boolean hasForcedNeighbour(SearchGrid grid, int column, int row, Direction direction) {
     if (direction.isDiagonal()) {
-      // if we have a forced neighbour, we are important
-      if (!getDiagonalForcedNeighbours(newCoordinate, direction).isEmpty()) {
-        return nextNode;
-      }
+      return isBlocked(grid, column - direction.getxMod(), row)
+          || isBlocked(grid, column, row - direction.getyMod());
+    }
+    if (direction.getyMod() == 0) {
+      return isBlocked(grid, column, row + 1) || isBlocked(grid, column, row - 1);
+    }
+    return isBlocked(grid, column + 1, row) || isBlocked(grid, column - 1, row);
+  }
 
-      // horizontal / vertical check
-      if (jump(nextNode, newCoordinate, Direction.forMod(0, direction.getyMod())) != null
-          || jump(nextNode, newCoordinate, Direction.forMod(direction.getxMod(), 0)) != null) {
-        return nextNode;
-      }
-    } else {
-      // if we have a forced neighbour, we are important
-      if (!getStraightForcedNeighbours(newCoordinate, direction).isEmpty()) {
-        return nextNode;
-      }
+  @Override
+  protected void addPathSegment(int cell, int parent, DefaultGridState solutionState) {
+    if (parent == NO_CELL) {
+      addStep(cell, solutionState);
+      return;
     }
 
-    return jump(nextNode, newCoordinate, direction);
-  }
+    // jump points are connected by straight or diagonal lines, fill in the cells between
+    Direction direction = directionBetween(cell, parent);
+    int column = columnOf(cell);
+    int row = rowOf(cell);
 
-  private boolean isBlocked(GridCoordinate coordinate) {
-    return grid.isBlocked(coordinate);
+    for (int current = cell; current != parent; current = cellId(column, row)) {
+      addStep(current, solutionState);
+      column += direction.getxMod();
+      row += direction.getyMod();
+    }
   }
 
-  private AStarNode createNode(AStarNode parent, GridCoordinate coordinate, Direction direction) {
-    double newDistance = parent.getDistanceToStart() + direction.getCost();
-    AStarNode node = getCachedOrCreate(
-        coordinate,
-        new AStarNode(
-            newDistance,
-            coordinate, parent.getTarget(), parent
-        )
-    );
+  private boolean isBlocked(int column, int row) {
+    return isBlocked(grid, column, row);
+  }
 
-    if (newDistance < node.getDistanceToStart()) {
-      node.setParent(parent);
-      node.setDistanceToStart(newDistance);
-    }
+  private static boolean isBlocked(SearchGrid grid, int column, int row) {
+    boolean inside = column >= 0 && row >= 0
+        && column < grid.getWidth() && row < grid.getHeight();
 
-    return node;
+    return inside && !grid.isPassable(column, row);
   }
 
-  private Direction directionToParent(AStarNode child) {
-    GridCoordinate parentCoordinate = child.getParent().getCoordinate();
-    GridCoordinate childCoordinate = child.getCoordinate();
+  /**
+   * @param direction the direction
+   * @return the horizontal part of the direction or null, if it is vertical
+   */
+  static Direction horizontalPart(Direction direction) {
+    return HORIZONTAL_PARTS[direction.ordinal()];
+  }
 
-    return directionBetween(parentCoordinate, childCoordinate);
+  /**
+   * @param direction the direction
+   * @return the vertical part of the direction or null, if it is horizontal
+   */
+  static Direction verticalPart(Direction direction) {
+    return VERTICAL_PARTS[direction.ordinal()];
   }
 
-  private Direction directionBetween(GridCoordinate parent, GridCoordinate child) {
+  private Direction directionBetween(int parent, int child) {
     return Direction.forMod(
-        child.getColumn() - parent.getColumn(),
-        child.getRow() - parent.getRow()
+        columnOf(child) - columnOf(parent),
+        rowOf(child) - rowOf(parent)
     );
   }
 }
@@ -0,0 +1,130 @@
+package me.ialistannen.pathfinding.visualize.algorithms.jps;
+
+import static me.ialistannen.pathfinding.visualize.algorithms.base.SearchState.NO_CELL;
+
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.PassabilityTracker;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * Jump point search with precomputed jumps (JPS+). Every jump is a lookup in a
+ * {@link JumpPointTable}, instead of a walk over the grid.
+ *
+ * <p>When run on an {@link AlgorithmGrid} the table is built once and then kept up to date by
+ * listening to changes of the grid. Headless queries build a table per {@link SearchGrid}
+ * instance, so they should be run on an immutable one like a
+ * {@link me.ialistannen.pathfinding.visualize.algorithms.GridSnapshot}.</p>
+ */
+public class JumpPointSearchPlusAlgorithm extends JumpPointSearchAlgorithm {
+
+  private final PassabilityTracker<DefaultGridState> tracker;
+  private SearchGrid tableSource;
+  private JumpPointTable table;
+
+  public JumpPointSearchPlusAlgorithm(DistanceFunction distanceFunction) {
+    super(distanceFunction);
+
+    this.tracker = new PassabilityTracker<>();
+  }
+
+  /**
+   * Stops listening to changes of the grid the algorithm was last run on.
+   */
+  public void detach() {
+    tracker.detach();
+  }
+
+  @Override
+  protected SearchGrid searchGridOf(AlgorithmGrid<DefaultGridState> grid) {
+    if (tracker.track(grid)) {
+      table = new JumpPointTable(grid);
+      tableSource = table;
+      return table;
+    }
+
+    GridCoordinate coordinate;
+    while ((coordinate = tracker.poll()) != null) {
+      table.setPassable(
+          coordinate.getColumn(), coordinate.getRow(),
+          grid.isPassable(coordinate.getColumn(), coordinate.getRow())
+      );
+    }
+    return table;
+  }
+
+  @Override
+  protected void reset(SearchGrid grid) {
+    if (grid != tableSource) {
+      tracker.detach();
+      table = new JumpPointTable(grid);
+      tableSource = grid;
+    }
+
+    super.reset(table);
+  }
+
+  @Override
+  protected void jumpTowards(int cell, Direction direction) {
+    int jumpDistance = table.getJumpDistance(cell, direction);
+    int reachable = Math.abs(jumpDistance);
+
+    int goalSteps = stepsToGoal(cell, direction);
+    if (goalSteps > 0 && goalSteps <= reachable) {
+      relaxJump(cell, direction, goalSteps);
+      return;
+    }
+
+    if (jumpDistance > 0) {
+      relaxJump(cell, direction, jumpDistance);
+    }
+  }
+
+  /**
+   * Returns the amount of steps until the goal is reached or, for diagonal directions, until
+   * the goal is in the same row or column. Those cells are jump points in the normal jump point
+   * search, but can not be precomputed.
+   *
+   * @param cell the id of the cell to start at
+   * @param direction the direction to walk in
+   * @return the amount of steps or zero, if walking in that direction does not lead towards the
+   *     goal
+   */
+  private int stepsToGoal(int cell, Direction direction) {
+    if (goal == NO_CELL) {
+      return 0;
+    }
+    int columnDelta = columnOf(goal) - columnOf(cell);
+    int rowDelta = rowOf(goal) - rowOf(cell);
+
+    if (direction.isDiagonal()) {
+      if (Integer.signum(columnDelta) != direction.getxMod()
+          || Integer.signum(rowDelta) != direction.getyMod()) {
+        return 0;
+      }
+      return Math.min(Math.abs(columnDelta), Math.abs(rowDelta));
+    }
+
+    if (direction.getxMod() != 0) {
+      return rowDelta == 0 && Integer.signum(columnDelta) == direction.getxMod()
+          ? Math.abs(columnDelta)
+          : 0;
+    }
+    return columnDelta == 0 && Integer.signum(rowDelta) == direction.getyMod()
+        ? Math.abs(rowDelta)
+        : 0;
+  }
+
+  private void relaxJump(int cell, Direction direction, int steps) {
+    int target = cellId(
+        columnOf(cell) + steps * direction.getxMod(),
+        rowOf(cell) + steps * direction.getyMod()
+    );
+    addStep(target, DefaultGridState.OTHER);
+
+    relax(cell, target, state.getDistance(cell) + steps * direction.getCost());
+  }
+}
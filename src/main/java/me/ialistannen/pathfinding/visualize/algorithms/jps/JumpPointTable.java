@@ -0,0 +1,222 @@
+package me.ialistannen.pathfinding.visualize.algorithms.jps;
+
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * The precomputed jumps of {@link JumpPointSearchAlgorithm} for every cell and direction, as used
+ * by {@link JumpPointSearchPlusAlgorithm}.
+ *
+ * <p>An entry is the amount of steps to the next jump point in that direction, if it is positive.
+ * Otherwise its absolute value is the amount of steps you can walk before hitting a wall. The
+ * goal is not known in advance, so it is not a jump point here.</p>
+ *
+ * <p>The table keeps its own copy of the passability, one bit per cell, and is a
+ * {@link SearchGrid} itself. When a cell changes, only the entries on the lines through its
+ * neighbours are repaired, walking backwards until an entry stays the same.</p>
+ */
+class JumpPointTable implements SearchGrid {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final int width;
+  private final int height;
+  private final long[] passable;
+  private final int[][] jumpDistances;
+
+  /**
+   * Copies the passability of a grid and computes all jumps.
+   *
+   * @param grid the grid to copy
+   */
+  JumpPointTable(SearchGrid grid) {
+    this.width = grid.getWidth();
+    this.height = grid.getHeight();
+    this.passable = new long[(int) (((long) width * height + 63) >>> 6)];
+    this.jumpDistances = new int[DIRECTIONS.length][width * height];
+
+    for (int row = 0; row < height; row++) {
+      for (int column = 0; column < width; column++) {
+        if (grid.isPassable(column, row)) {
+          int cell = row * width + column;
+          passable[cell >>> 6] |= 1L << cell;
+        }
+      }
+    }
+
+    // diagonal jumps look at the straight ones
+    for (Direction direction : DIRECTIONS) {
+      if (!direction.isDiagonal()) {
+        computeAll(direction);
+      }
+    }
+    for (Direction direction : DIRECTIONS) {
+      if (direction.isDiagonal()) {
+        computeAll(direction);
+      }
+    }
+  }
+
+  /**
+   * Returns the precomputed jump from a cell.
+   *
+   * @param cell the id of the cell
+   * @param direction the direction to jump in
+   * @return the distance to the next jump point if positive, else the negated distance to the
+   *     next wall
+   */
+  int getJumpDistance(int cell, Direction direction) {
+    return jumpDistances[direction.ordinal()][cell];
+  }
+
+  /**
+   * Sets whether a cell is passable and repairs the affected jumps.
+   *
+   * @param column the column
+   * @param row the row
+   * @param isPassable whether the cell is passable
+   */
+  void setPassable(int column, int row, boolean isPassable) {
+    if (isPassable(column, row) == isPassable) {
+      return;
+    }
+    int cell = row * width + column;
+    passable[cell >>> 6] ^= 1L << cell;
+
+    // a cell is only looked at by the jumps into its direct neighbours
+    for (Direction direction : DIRECTIONS) {
+      if (!direction.isDiagonal()) {
+        repairAround(column, row, direction);
+      }
+    }
+    for (Direction direction : DIRECTIONS) {
+      if (direction.isDiagonal()) {
+        repairAround(column, row, direction);
+      }
+    }
+  }
+
+  private void repairAround(int column, int row, Direction direction) {
+    for (int neighbourRow = row - 1; neighbourRow <= row + 1; neighbourRow++) {
+      for (int neighbourColumn = column - 1; neighbourColumn <= column + 1; neighbourColumn++) {
+        repair(
+            neighbourColumn - direction.getxMod(), neighbourRow - direction.getyMod(), direction
+        );
+      }
+    }
+  }
+
+  /**
+   * Recomputes the jumps from a cell and then from the cells before it on the same line, until a
+   * jump does not change anymore. Changed straight jumps also repair the diagonal jumps reaching
+   * the cell.
+   *
+   * @param column the column of the cell
+   * @param row the row of the cell
+   * @param direction the direction of the jumps
+   */
+  private void repair(int column, int row, Direction direction) {
+    int[] distances = jumpDistances[direction.ordinal()];
+
+    while (isInside(column, row)) {
+      int cell = row * width + column;
+      int distance = computeJumpDistance(column, row, direction);
+      if (distance == distances[cell]) {
+        return;
+      }
+      distances[cell] = distance;
+
+      if (!direction.isDiagonal()) {
+        for (Direction diagonal : DIRECTIONS) {
+          if (diagonal.isDiagonal()) {
+            repair(column - diagonal.getxMod(), row - diagonal.getyMod(), diagonal);
+          }
+        }
+      }
+
+      column -= direction.getxMod();
+      row -= direction.getyMod();
+    }
+  }
+
+  /**
+   * Computes all jumps in one direction, visiting every cell after the one it steps to.
+   *
+   * @param direction the direction
+   */
+  private void computeAll(Direction direction) {
+    int[] distances = jumpDistances[direction.ordinal()];
+    boolean reverseRows = direction.getyMod() > 0;
+    boolean reverseColumns = direction.getxMod() > 0;
+
+    for (int i = 0; i < height; i++) {
+      int row = reverseRows ? height - 1 - i : i;
+
+      for (int j = 0; j < width; j++) {
+        int column = reverseColumns ? width - 1 - j : j;
+
+        distances[row * width + column] = computeJumpDistance(column, row, direction);
+      }
+    }
+  }
+
+  /**
+   * Computes a single jump from the jump of the next cell.
+   *
+   * @param column the column of the cell
+   * @param row the row of the cell
+   * @param direction the direction
+   * @return the jump distance, see {@link #getJumpDistance(int, Direction)}
+   */
+  private int computeJumpDistance(int column, int row, Direction direction) {
+    int newColumn = column + direction.getxMod();
+    int newRow = row + direction.getyMod();
+
+    if (!canMove(column, row, newColumn, newRow)) {
+      return 0;
+    }
+
+    int next = newRow * width + newColumn;
+    if (isJumpPoint(newColumn, newRow, next, direction)) {
+      return 1;
+    }
+
+    int nextDistance = jumpDistances[direction.ordinal()][next];
+    return nextDistance > 0 ? nextDistance + 1 : nextDistance - 1;
+  }
+
+  private boolean isJumpPoint(int column, int row, int cell, Direction direction) {
+    if (JumpPointSearchAlgorithm.hasForcedNeighbour(this, column, row, direction)) {
+      return true;
+    }
+    if (!direction.isDiagonal()) {
+      return false;
+    }
+
+    return getJumpDistance(cell, JumpPointSearchAlgorithm.horizontalPart(direction)) > 0
+        || getJumpDistance(cell, JumpPointSearchAlgorithm.verticalPart(direction)) > 0;
+  }
+
+  private boolean isInside(int column, int row) {
+    return column >= 0 && row >= 0 && column < width && row < height;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public boolean isPassable(int column, int row) {
+    if (!isInside(column, row)) {
+      return false;
+    }
+    int cell = row * width + column;
+    return (passable[cell >>> 6] & (1L << cell)) != 0;
+  }
+}
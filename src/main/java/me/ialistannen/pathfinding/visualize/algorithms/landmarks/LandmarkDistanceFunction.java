@@ -0,0 +1,66 @@
+package me.ialistannen.pathfinding.visualize.algorithms.landmarks;
+
+import java.util.Objects;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+
+/**
+ * A heuristic using the triangle inequality with precomputed landmarks (ALT).
+ *
+ * <p>For every landmark {@code L} the distance from {@code L} to the target can not be larger
+ * than the distance from {@code L} to the cell plus the remaining distance, so
+ * {@code d(L, target) - d(L, cell)} is a lower bound. If the table is symmetric, the absolute
+ * value can be used. The result is the largest bound of all landmarks, or of the fallback if that
+ * is larger.</p>
+ *
+ * <p>Unlike the geometric distances this knows about walls, which makes it much better informed
+ * on maze like maps. The table must have been built for the searched grid, with no more
+ * directions than the search uses.</p>
+ */
+public class LandmarkDistanceFunction implements DistanceFunction {
+
+  private final LandmarkTable table;
+  private final DistanceFunction fallback;
+
+  /**
+   * Creates a new landmark heuristic.
+   *
+   * @param table the landmark table of the searched grid
+   * @param fallback the heuristic to use if it is larger, e.g. for cells no landmark can reach
+   */
+  public LandmarkDistanceFunction(LandmarkTable table, DistanceFunction fallback) {
+    this.table = Objects.requireNonNull(table, "table can not be null!");
+    this.fallback = Objects.requireNonNull(fallback, "fallback can not be null!");
+  }
+
+  @Override
+  public double getDistance(int fromColumn, int fromRow, int toColumn, int toRow) {
+    double best = fallback.getDistance(fromColumn, fromRow, toColumn, toRow);
+
+    if (!isInside(fromColumn, fromRow) || !isInside(toColumn, toRow)) {
+      return best;
+    }
+    int fromCell = fromRow * table.getWidth() + fromColumn;
+    int toCell = toRow * table.getWidth() + toColumn;
+
+    for (int i = 0; i < table.getLandmarkCount(); i++) {
+      float fromDistance = table.getDistance(i, fromCell);
+      float toDistance = table.getDistance(i, toCell);
+      if (fromDistance == Float.POSITIVE_INFINITY || toDistance == Float.POSITIVE_INFINITY) {
+        continue;
+      }
+
+      double bound = (double) toDistance - fromDistance;
+      if (table.isSymmetric()) {
+        bound = Math.abs(bound);
+      }
+      // the distances were rounded to floats, which must not make the bound too large
+      best = Math.max(best, bound - Math.ulp(fromDistance) - Math.ulp(toDistance));
+    }
+
+    return best;
+  }
+
+  private boolean isInside(int column, int row) {
+    return column >= 0 && row >= 0 && column < table.getWidth() && row < table.getHeight();
+  }
+}
@@ -0,0 +1,376 @@
+package me.ialistannen.pathfinding.visualize.algorithms.landmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import me.ialistannen.collections.heap.IndexedMinHeap;
+import me.ialistannen.pathfinding.visualize.algorithms.ConnectivityIndex;
+import me.ialistannen.pathfinding.visualize.algorithms.SearchGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.base.SearchState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+
+/**
+ * The distances from a few landmark cells to every cell of a grid, as used by the
+ * {@link LandmarkDistanceFunction}.
+ *
+ * <p>Landmarks are picked by farthest point selection in the largest region of the grid: every
+ * new landmark is the cell farthest away from all landmarks picked so far. The distances are
+ * stored as floats, with the distances of all landmarks to one cell next to each other.</p>
+ *
+ * <p>Building a table runs one Dijkstra per landmark, so tables should be built once per map and
+ * then {@link #write(Path) written} to disk.</p>
+ */
+public final class LandmarkTable {
+
+  /**
+   * "ALT1" in ASCII.
+   */
+  private static final int MAGIC = 0x414C5431;
+  private static final int HEADER_BYTES = 4 * Integer.BYTES + 1;
+
+  private final int width;
+  private final int height;
+  private final int[] landmarks;
+  private final float[] distances;
+  private final boolean symmetric;
+
+  private LandmarkTable(int width, int height, int[] landmarks, float[] distances,
+      boolean symmetric) {
+    this.width = width;
+    this.height = height;
+    this.landmarks = landmarks;
+    this.distances = distances;
+    this.symmetric = symmetric;
+  }
+
+  /**
+   * Picks landmarks and computes their distances.
+   *
+   * @param grid the grid
+   * @param landmarkCount the amount of landmarks to pick
+   * @param directions the directions you can move in. Searches using the table must not be able
+   *     to move in any other direction.
+   * @return the built table, which has fewer landmarks if the grid has fewer passable cells
+   * @throws IllegalArgumentException if landmarkCount is not positive
+   */
+  public static LandmarkTable build(SearchGrid grid, int landmarkCount,
+      List<Direction> directions) {
+    Objects.requireNonNull(grid, "grid can not be null!");
+    Objects.requireNonNull(directions, "directions can not be null!");
+    if (landmarkCount <= 0) {
+      throw new IllegalArgumentException("landmarkCount must be positive: " + landmarkCount);
+    }
+
+    int width = grid.getWidth();
+    int cellCount = width * grid.getHeight();
+    Sweep sweep = new Sweep(grid, directions.toArray(new Direction[0]));
+
+    int origin = cellOfLargestRegion(grid);
+    if (origin < 0) {
+      return new LandmarkTable(width, grid.getHeight(), new int[0], new float[0], true);
+    }
+
+    // the distance of every cell to its closest landmark
+    double[] closest = new double[cellCount];
+    int[] picked = new int[landmarkCount];
+    float[] distances = new float[cellCount * landmarkCount];
+
+    int next = farthest(sweep.run(origin));
+    int count = 0;
+
+    while (count < landmarkCount && next >= 0 && (count == 0 || closest[next] > 0)) {
+      picked[count] = next;
+      double[] landmarkDistances = sweep.run(next);
+
+      for (int cell = 0; cell < cellCount; cell++) {
+        double distance = landmarkDistances[cell];
+        distances[cell * landmarkCount + count] = (float) distance;
+        closest[cell] = count == 0 ? distance : Math.min(closest[cell], distance);
+      }
+      count++;
+      next = farthest(closest);
+    }
+
+    if (count < landmarkCount) {
+      distances = pack(distances, landmarkCount, count);
+    }
+
+    return new LandmarkTable(
+        width, grid.getHeight(), Arrays.copyOf(picked, count), distances, hasUniformCost(grid)
+    );
+  }
+
+  /**
+   * Reads a table written by {@link #write(Path)}.
+   *
+   * @param path the path to read from
+   * @return the read table
+   * @throws IOException if the file could not be read or is no landmark table
+   */
+  public static LandmarkTable read(Path path) throws IOException {
+    Objects.requireNonNull(path, "path can not be null!");
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES) {
+        throw new IOException("Not a landmark table: " + path);
+      }
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a landmark table: " + path);
+      }
+      int width = buffer.getInt();
+      int height = buffer.getInt();
+      int landmarkCount = buffer.getInt();
+      boolean symmetric = buffer.get() != 0;
+
+      long expectedSize = HEADER_BYTES + (long) landmarkCount * Integer.BYTES
+          + (long) width * height * landmarkCount * Float.BYTES;
+      if (width < 0 || height < 0 || landmarkCount < 0 || channel.size() != expectedSize
+          || (long) width * height * landmarkCount > Integer.MAX_VALUE) {
+        throw new IOException("Landmark table has the wrong size: " + path);
+      }
+
+      int[] landmarks = new int[landmarkCount];
+      buffer.asIntBuffer().get(landmarks);
+      buffer.position(buffer.position() + landmarkCount * Integer.BYTES);
+
+      float[] distances = new float[width * height * landmarkCount];
+      buffer.asFloatBuffer().get(distances);
+
+      return new LandmarkTable(width, height, landmarks, distances, symmetric);
+    }
+  }
+
+  /**
+   * Writes this table to a file, replacing it if it exists.
+   *
+   * @param path the path to write to
+   * @throws IOException if the file could not be written
+   */
+  public void write(Path path) throws IOException {
+    Objects.requireNonNull(path, "path can not be null!");
+
+    ByteBuffer buffer = ByteBuffer
+        .allocate(HEADER_BYTES + landmarks.length * Integer.BYTES + distances.length * Float.BYTES)
+        .order(ByteOrder.LITTLE_ENDIAN);
+
+    buffer.putInt(MAGIC)
+        .putInt(width)
+        .putInt(height)
+        .putInt(landmarks.length)
+        .put((byte) (symmetric ? 1 : 0));
+    buffer.asIntBuffer().put(landmarks);
+    buffer.position(buffer.position() + landmarks.length * Integer.BYTES);
+    buffer.asFloatBuffer().put(distances);
+    buffer.position(buffer.capacity());
+    buffer.flip();
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Checks whether this table was built for a grid of the same size. It can not detect changed
+   * walls, tables must be rebuilt whenever the grid changes.
+   *
+   * @param grid the grid
+   * @return true if the table has the size of the grid
+   */
+  public boolean fits(SearchGrid grid) {
+    return grid.getWidth() == width && grid.getHeight() == height;
+  }
+
+  /**
+   * @return the amount of landmarks
+   */
+  public int getLandmarkCount() {
+    return landmarks.length;
+  }
+
+  /**
+   * Returns a landmark.
+   *
+   * @param index the index of the landmark
+   * @return the cell id of the landmark ({@code row * width + column})
+   */
+  public int getLandmark(int index) {
+    return landmarks[index];
+  }
+
+  /**
+   * Returns whether walking between two cells costs the same in both directions. This is the
+   * case if all cells have a cost of 1.
+   *
+   * @return true if all distances are symmetric
+   */
+  public boolean isSymmetric() {
+    return symmetric;
+  }
+
+  /**
+   * @return the width of the grid
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * @return the height of the grid
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Returns the distance from a landmark to a cell.
+   *
+   * @param index the index of the landmark
+   * @param cell the cell id
+   * @return the distance or {@link Float#POSITIVE_INFINITY} if the landmark can not reach the cell
+   */
+  public float getDistance(int index, int cell) {
+    return distances[cell * landmarks.length + index];
+  }
+
+  private static int cellOfLargestRegion(SearchGrid grid) {
+    ConnectivityIndex connectivityIndex = new ConnectivityIndex(grid);
+    int[] sizes = new int[grid.getWidth() * grid.getHeight()];
+    int best = -1;
+    int bestSize = 0;
+
+    for (int row = 0; row < grid.getHeight(); row++) {
+      for (int column = 0; column < grid.getWidth(); column++) {
+        int component = connectivityIndex.getComponent(column, row);
+        if (component == ConnectivityIndex.NO_COMPONENT) {
+          continue;
+        }
+        // labels are smaller than the amount of cells right after building the index
+        if (++sizes[component] > bestSize) {
+          bestSize = sizes[component];
+          best = row * grid.getWidth() + column;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Removes the unused landmark slots of every cell.
+   *
+   * @param distances the distances with room for all requested landmarks
+   * @param stride the amount of requested landmarks
+   * @param count the amount of picked landmarks
+   * @return the packed distances
+   */
+  private static float[] pack(float[] distances, int stride, int count) {
+    int cellCount = distances.length / stride;
+    float[] packed = new float[cellCount * count];
+
+    for (int cell = 0; cell < cellCount; cell++) {
+      System.arraycopy(distances, cell * stride, packed, cell * count, count);
+    }
+    return packed;
+  }
+
+  private static int farthest(double[] closest) {
+    int best = -1;
+    double bestDistance = -1;
+
+    for (int cell = 0; cell < closest.length; cell++) {
+      if (closest[cell] != Double.POSITIVE_INFINITY && closest[cell] > bestDistance) {
+        bestDistance = closest[cell];
+        best = cell;
+      }
+    }
+    return best;
+  }
+
+  private static boolean hasUniformCost(SearchGrid grid) {
+    for (int row = 0; row < grid.getHeight(); row++) {
+      for (int column = 0; column < grid.getWidth(); column++) {
+        if (grid.getCost(column, row) != 1) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * A Dijkstra visiting the whole region of a cell.
+   */
+  private static final class Sweep {
+
+    private final SearchGrid grid;
+    private final Direction[] directions;
+    private final SearchState state;
+    private final IndexedMinHeap openSet;
+    private final double[] distances;
+
+    private Sweep(SearchGrid grid, Direction[] directions) {
+      this.grid = grid;
+      this.directions = directions;
+      this.state = new SearchState();
+      this.openSet = new IndexedMinHeap(grid.getWidth() * grid.getHeight());
+      this.distances = new double[grid.getWidth() * grid.getHeight()];
+    }
+
+    /**
+     * Computes the distances from a cell to all others.
+     *
+     * @param origin the cell to start at
+     * @return the distances, infinite for unreachable cells. Reused by the next run.
+     */
+    private double[] run(int origin) {
+      int width = grid.getWidth();
+      state.begin(distances.length);
+      openSet.clear();
+
+      state.visit(origin, 0, SearchState.NO_CELL);
+      openSet.insert(origin, 0);
+
+      while (!openSet.isEmpty()) {
+        int cell = openSet.poll();
+        state.close(cell);
+
+        int column = cell % width;
+        int row = cell / width;
+        double distance = state.getDistance(cell);
+
+        for (Direction direction : directions) {
+          int newColumn = column + direction.getxMod();
+          int newRow = row + direction.getyMod();
+          if (!grid.canMove(column, row, newColumn, newRow)) {
+            continue;
+          }
+
+          int neighbour = newRow * width + newColumn;
+          double newDistance = distance + direction.getCost() * grid.getCost(newColumn, newRow);
+          if (!state.isClosed(neighbour) && newDistance < state.getDistance(neighbour)) {
+            state.visit(neighbour, newDistance, cell);
+            openSet.insertOrDecrease(neighbour, newDistance);
+          }
+        }
+      }
+
+      for (int cell = 0; cell < distances.length; cell++) {
+        distances[cell] = state.getDistance(cell);
+      }
+      return distances;
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package me.ialistannen.pathfinding.visualize.algorithms.movingai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+
+/**
+ * Reads maps in the format of the <a href="https://movingai.com/benchmarks/">Moving AI grid
+ * benchmarks</a>.
+ *
+ * <p>A map consists of a short header ({@code type}, {@code height}, {@code width}, {@code map})
+ * followed by one line per row. Cells are {@code .}, {@code G} and {@code S} (passable) or
+ * {@code @}, {@code O}, {@code T} and {@code W} (blocked).</p>
+ *
+ * <p>The file is memory mapped and the rows are parsed byte by byte, without creating a string
+ * per line.</p>
+ */
+public final class MovingAiMapReader {
+
+  private static final byte UNKNOWN = 0;
+  private static final byte PASSABLE = 1;
+  private static final byte BLOCKED = 2;
+
+  private static final byte[] TERRAIN = new byte[256];
+
+  static {
+    for (char c : new char[]{'.', 'G', 'S'}) {
+      TERRAIN[c] = PASSABLE;
+    }
+    for (char c : new char[]{'@', 'O', 'T', 'W'}) {
+      TERRAIN[c] = BLOCKED;
+    }
+  }
+
+  private MovingAiMapReader() {
+    throw new UnsupportedOperationException("No instantiation");
+  }
+
+  /**
+   * Reads a map into a grid of {@link DefaultGridState#EMPTY} and {@link DefaultGridState#WALL}
+   * cells.
+   *
+   * @param path the path to the map file
+   * @return the read grid
+   * @throws IOException if the file could not be read or is malformed
+   */
+  public static AlgorithmGrid<DefaultGridState> read(Path path) throws IOException {
+    return read(path, DefaultGridState.EMPTY, DefaultGridState.WALL);
+  }
+
+  /**
+   * Reads a map into a grid.
+   *
+   * @param path the path to the map file
+   * @param passable the state for passable cells. Also the default state of the grid.
+   * @param blocked the state for blocked cells
+   * @param <T> the type of the cell states
+   * @return the read grid
+   * @throws IOException if the file could not be read or is malformed
+   */
+  public static <T extends GridCellState> AlgorithmGrid<T> read(Path path, T passable,
+      T blocked) throws IOException {
+    Objects.requireNonNull(path, "path can not be null!");
+    Objects.requireNonNull(passable, "passable can not be null!");
+    Objects.requireNonNull(blocked, "blocked can not be null!");
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+
+      return parse(buffer, passable, blocked);
+    }
+  }
+
+  private static <T extends GridCellState> AlgorithmGrid<T> parse(ByteBuffer buffer, T passable,
+      T blocked) throws IOException {
+    int width = -1;
+    int height = -1;
+
+    header:
+    while (true) {
+      String key = readToken(buffer);
+      switch (key) {
+        case "type":
+          readToken(buffer);
+          break;
+        case "width":
+          width = readInt(buffer);
+          break;
+        case "height":
+          height = readInt(buffer);
+          break;
+        case "map":
+          break header;
+        default:
+          throw new IOException("Unknown header field '" + key + "'");
+      }
+    }
+
+    if (width <= 0 || height <= 0) {
+      throw new IOException("Invalid or missing dimensions: " + width + "x" + height);
+    }
+
+    AlgorithmGrid<T> grid = new AlgorithmGrid<>(passable, width, height);
+    byte[] line = new byte[width];
+
+    for (int row = 0; row < height; row++) {
+      skipLineBreaks(buffer);
+
+      if (buffer.remaining() < width) {
+        throw new IOException("Unexpected end of file in row " + row);
+      }
+      buffer.get(line);
+
+      // blocked cells are set in runs, passable ones are already the default
+      int runStart = -1;
+      for (int column = 0; column < width; column++) {
+        byte terrain = TERRAIN[line[column] & 0xFF];
+
+        if (terrain == UNKNOWN) {
+          throw new IOException("Unknown terrain at " + column + "/" + row);
+        }
+        if (terrain == BLOCKED && runStart < 0) {
+          runStart = column;
+        } else if (terrain == PASSABLE && runStart >= 0) {
+          grid.fillRow(row, runStart, column, blocked);
+          runStart = -1;
+        }
+      }
+      if (runStart >= 0) {
+        grid.fillRow(row, runStart, width, blocked);
+      }
+    }
+
+    return grid;
+  }
+
+  private static void skipLineBreaks(ByteBuffer buffer) {
+    while (buffer.hasRemaining()) {
+      byte next = buffer.get(buffer.position());
+      if (next != '\n' && next != '\r') {
+        return;
+      }
+      buffer.get();
+    }
+  }
+
+  private static String readToken(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining() && Character.isWhitespace(buffer.get(buffer.position()))) {
+      buffer.get();
+    }
+
+    StringBuilder token = new StringBuilder();
+    while (buffer.hasRemaining() && !Character.isWhitespace(buffer.get(buffer.position()))) {
+      token.append((char) buffer.get());
+    }
+
+    if (token.length() == 0) {
+      throw new IOException("Unexpected end of file in header");
+    }
+    return token.toString();
+  }
+
+  private static int readInt(ByteBuffer buffer) throws IOException {
+    String token = readToken(buffer);
+    try {
+      return Integer.parseInt(token);
+    } catch (NumberFormatException e) {
+      throw new IOException("Expected a number, got '" + token + "'", e);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package me.ialistannen.pathfinding.visualize.algorithms.movingai;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads Moving AI scenario ({@code .scen}) files.
+ *
+ * <p>A scenario starts with a {@code version 1} line, followed by one tab separated query per
+ * line: {@code bucket map width height startX startY goalX goalY optimalLength}.</p>
+ */
+public final class MovingAiScenarioReader {
+
+  private MovingAiScenarioReader() {
+    throw new UnsupportedOperationException("No instantiation");
+  }
+
+  /**
+   * Reads all queries of a scenario.
+   *
+   * @param path the path to the scenario file
+   * @return all queries in the file, in order
+   * @throws IOException if the file could not be read or is malformed
+   */
+  public static List<ScenarioEntry> read(Path path) throws IOException {
+    Objects.requireNonNull(path, "path can not be null!");
+
+    List<ScenarioEntry> entries = new ArrayList<>();
+
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        line = line.trim();
+
+        if (line.isEmpty() || line.startsWith("version")) {
+          continue;
+        }
+
+        entries.add(parseEntry(line, lineNumber));
+      }
+    }
+
+    return entries;
+  }
+
+  private static ScenarioEntry parseEntry(String line, int lineNumber) throws IOException {
+    String[] parts = line.split("\\s+");
+    if (parts.length != 9) {
+      throw new IOException("Expected 9 fields in line " + lineNumber + ", got " + parts.length);
+    }
+
+    try {
+      return new ScenarioEntry(
+          Integer.parseInt(parts[0]),
+          parts[1],
+          Integer.parseInt(parts[2]),
+          Integer.parseInt(parts[3]),
+          Integer.parseInt(parts[4]),
+          Integer.parseInt(parts[5]),
+          Integer.parseInt(parts[6]),
+          Integer.parseInt(parts[7]),
+          Double.parseDouble(parts[8])
+      );
+    } catch (NumberFormatException e) {
+      throw new IOException("Malformed number in line " + lineNumber, e);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package me.ialistannen.pathfinding.visualize.algorithms.movingai;
+
+/**
+ * A single query of a Moving AI scenario file.
+ */
+public final class ScenarioEntry {
+
+  private final int bucket;
+  private final String mapName;
+  private final int mapWidth;
+  private final int mapHeight;
+  private final int startColumn;
+  private final int startRow;
+  private final int goalColumn;
+  private final int goalRow;
+  private final double optimalLength;
+
+  ScenarioEntry(int bucket, String mapName, int mapWidth, int mapHeight, int startColumn,
+      int startRow, int goalColumn, int goalRow, double optimalLength) {
+    this.bucket = bucket;
+    this.mapName = mapName;
+    this.mapWidth = mapWidth;
+    this.mapHeight = mapHeight;
+    this.startColumn = startColumn;
+    this.startRow = startRow;
+    this.goalColumn = goalColumn;
+    this.goalRow = goalRow;
+    this.optimalLength = optimalLength;
+  }
+
+  /**
+   * @return the bucket of the query. Queries in the same bucket have similar optimal lengths.
+   */
+  public int getBucket() {
+    return bucket;
+  }
+
+  public String getMapName() {
+    return mapName;
+  }
+
+  public int getMapWidth() {
+    return mapWidth;
+  }
+
+  public int getMapHeight() {
+    return mapHeight;
+  }
+
+  public int getStartColumn() {
+    return startColumn;
+  }
+
+  public int getStartRow() {
+    return startRow;
+  }
+
+  public int getGoalColumn() {
+    return goalColumn;
+  }
+
+  public int getGoalRow() {
+    return goalRow;
+  }
+
+  /**
+   * Returns the optimal path length. Diagonal moves cost {@code sqrt(2)} and must not cut
+   * corners, i.e. both orthogonal neighbours have to be passable.
+   *
+   * @return the optimal path length
+   */
+  public double getOptimalLength() {
+    return optimalLength;
+  }
+
+  @Override
+  public String toString() {
+    return "ScenarioEntry{" +
+        "bucket=" + bucket +
+        ", mapName='" + mapName + '\'' +
+        ", start=" + startColumn + "/" + startRow +
+        ", goal=" + goalColumn + "/" + goalRow +
+        ", optimalLength=" + optimalLength +
+        '}';
+  }
+}
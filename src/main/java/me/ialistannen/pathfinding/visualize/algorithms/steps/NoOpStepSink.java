@@ -0,0 +1,18 @@
+package me.ialistannen.pathfinding.visualize.algorithms.steps;
+
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+
+/**
+ * A {@link StepSink} that discards all steps.
+ */
+final class NoOpStepSink implements StepSink<GridCellState> {
+
+  static final NoOpStepSink INSTANCE = new NoOpStepSink();
+
+  private NoOpStepSink() {
+  }
+
+  @Override
+  public void accept(int column, int row, GridCellState state) {
+  }
+}
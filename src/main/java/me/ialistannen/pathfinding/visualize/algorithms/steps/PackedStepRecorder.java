@@ -0,0 +1,119 @@
+package me.ialistannen.pathfinding.visualize.algorithms.steps;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.StatefulGridCoordinate;
+
+/**
+ * Records all steps packed into a growable {@code long[]}, so they can be replayed later.
+ *
+ * <p>A step takes eight bytes, instead of a {@link StatefulGridCoordinate} and a
+ * {@link GridCoordinate} object.</p>
+ *
+ * @param <T> the type of the cell states
+ */
+public class PackedStepRecorder<T extends GridCellState> implements StepSink<T> {
+
+  private final StatePalette<T> palette;
+  private long[] steps;
+  private int size;
+
+  /**
+   * Creates a new, empty recorder.
+   */
+  public PackedStepRecorder() {
+    this.palette = new StatePalette<>();
+    this.steps = new long[64];
+  }
+
+  @Override
+  public void accept(int column, int row, T state) {
+    if (size == steps.length) {
+      steps = Arrays.copyOf(steps, steps.length * 2);
+    }
+    steps[size++] = palette.pack(column, row, state);
+  }
+
+  /**
+   * @return the amount of recorded steps
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param index the index of the step
+   * @return the column of the step
+   */
+  public int getColumn(int index) {
+    return StatePalette.column(get(index));
+  }
+
+  /**
+   * @param index the index of the step
+   * @return the row of the step
+   */
+  public int getRow(int index) {
+    return StatePalette.row(get(index));
+  }
+
+  /**
+   * @param index the index of the step
+   * @return the state of the step
+   */
+  public T getState(int index) {
+    return palette.state(get(index));
+  }
+
+  /**
+   * Replays the steps in the given range into another sink.
+   *
+   * @param from the index of the first step (inclusive)
+   * @param to the index of the last step (exclusive)
+   * @param target the sink to replay them into
+   */
+  public void replay(int from, int to, StepSink<T> target) {
+    if (from < 0 || to > size || from > to) {
+      throw new IndexOutOfBoundsException("Range " + from + " - " + to + ", size " + size);
+    }
+    for (int i = from; i < to; i++) {
+      long step = steps[i];
+      target.accept(StatePalette.column(step), StatePalette.row(step), palette.state(step));
+    }
+  }
+
+  /**
+   * Returns an unmodifiable view of the steps. Elements are only created when they are accessed.
+   *
+   * @return a view of all recorded steps
+   */
+  public List<StatefulGridCoordinate<T>> asList() {
+    return new StepList();
+  }
+
+  private long get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+    }
+    return steps[index];
+  }
+
+  private class StepList extends AbstractList<StatefulGridCoordinate<T>> implements RandomAccess {
+
+    @Override
+    public StatefulGridCoordinate<T> get(int index) {
+      return new StatefulGridCoordinate<>(
+          new GridCoordinate(getColumn(index), getRow(index)), getState(index)
+      );
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
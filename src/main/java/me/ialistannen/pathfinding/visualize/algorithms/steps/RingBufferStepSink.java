@@ -0,0 +1,134 @@
+package me.ialistannen.pathfinding.visualize.algorithms.steps;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+
+/**
+ * A bounded single producer, single consumer ring buffer of steps, which lets a UI play back the
+ * steps of an algorithm while it is still running.
+ *
+ * <p>The algorithm (producer) waits if the buffer is full, so a slow consumer throttles the
+ * search instead of letting memory grow. Call {@link #finish()} once the producer is done and
+ * {@link #cancel()} if the consumer is no longer interested. The next step the producer adds
+ * then throws a {@link CancellationException}, which aborts the algorithm.</p>
+ *
+ * @param <T> the type of the cell states
+ */
+public class RingBufferStepSink<T extends GridCellState> implements StepSink<T> {
+
+  private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private final long[] buffer;
+  private final int mask;
+  private final StatePalette<T> palette;
+
+  /**
+   * The index of the next step to read. Only written by the consumer.
+   */
+  private final AtomicLong head;
+  /**
+   * The index of the next step to write. Only written by the producer.
+   */
+  private final AtomicLong tail;
+  /**
+   * The last head the producer has seen.
+   */
+  private long cachedHead;
+
+  private volatile boolean finished;
+  private volatile boolean cancelled;
+
+  /**
+   * Creates a new ring buffer.
+   *
+   * @param capacity the minimum capacity. Will be rounded up to a power of two.
+   * @throws IllegalArgumentException if the capacity is not positive or bigger than 2^30
+   */
+  public RingBufferStepSink(int capacity) {
+    if (capacity <= 0 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    int actualCapacity = Integer.highestOneBit(capacity);
+    if (actualCapacity < capacity) {
+      actualCapacity <<= 1;
+    }
+
+    this.buffer = new long[actualCapacity];
+    this.mask = actualCapacity - 1;
+    this.palette = new StatePalette<>();
+    this.head = new AtomicLong();
+    this.tail = new AtomicLong();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws CancellationException if the consumer {@link #cancel() cancelled}
+   */
+  @Override
+  public void accept(int column, int row, T state) {
+    if (cancelled) {
+      throw new CancellationException("The consumer is no longer interested");
+    }
+    long currentTail = tail.get();
+
+    while (currentTail - cachedHead >= buffer.length) {
+      if (cancelled) {
+        throw new CancellationException("The consumer is no longer interested");
+      }
+      cachedHead = head.get();
+      if (currentTail - cachedHead < buffer.length) {
+        break;
+      }
+      LockSupport.parkNanos(WAIT_NANOS);
+    }
+
+    buffer[(int) (currentTail & mask)] = palette.pack(column, row, state);
+    tail.lazySet(currentTail + 1);
+  }
+
+  /**
+   * Passes up to the given amount of buffered steps to the consumer. Must only be called from
+   * the consumer thread.
+   *
+   * @param consumer the consumer to pass them to
+   * @param maxSteps the maximum amount of steps to pass
+   * @return the amount of steps passed to the consumer
+   */
+  public int drain(StepSink<T> consumer, int maxSteps) {
+    long currentHead = head.get();
+    int count = (int) Math.min(tail.get() - currentHead, maxSteps);
+
+    for (int i = 0; i < count; i++) {
+      long step = buffer[(int) ((currentHead + i) & mask)];
+      consumer.accept(StatePalette.column(step), StatePalette.row(step), palette.state(step));
+    }
+    head.lazySet(currentHead + count);
+
+    return count;
+  }
+
+  /**
+   * Marks the producer as done. No more steps may be added after this.
+   */
+  public void finish() {
+    finished = true;
+  }
+
+  /**
+   * Tells the producer that nobody is interested in further steps, which aborts it.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * @return true if the producer is done and all steps were drained
+   */
+  public boolean isDrained() {
+    return finished && head.get() == tail.get();
+  }
+}
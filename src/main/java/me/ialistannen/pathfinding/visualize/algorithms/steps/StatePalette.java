@@ -0,0 +1,98 @@
+package me.ialistannen.pathfinding.visualize.algorithms.steps;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+
+/**
+ * Maps states to small indices, so a step can be packed into a single {@code long}.
+ *
+ * <p>A step is packed as {@code column << 40 | row << 16 | stateIndex}.</p>
+ *
+ * <p>Only the producer may call {@link #indexOf(GridCellState)}. The states are published
+ * through a volatile copy-on-write array, so a consumer thread can resolve every index it read
+ * from a step published after the state was added.</p>
+ *
+ * @param <T> the type of the cell states
+ */
+class StatePalette<T extends GridCellState> {
+
+  private static final int MAX_COORDINATE = (1 << 24) - 1;
+  private static final int MAX_STATES = 1 << 16;
+
+  private final Map<T, Integer> indices;
+  private volatile Object[] states;
+
+  StatePalette() {
+    this.indices = new HashMap<>();
+    this.states = new Object[0];
+  }
+
+  /**
+   * Packs a step.
+   *
+   * @param column the column of the cell
+   * @param row the row of the cell
+   * @param state the state of the cell
+   * @return the packed step
+   * @throws IllegalArgumentException if the column or row is negative or too big
+   * @throws IllegalStateException if there are more than 65536 different states
+   */
+  long pack(int column, int row, T state) {
+    if (column < 0 || row < 0 || column > MAX_COORDINATE || row > MAX_COORDINATE) {
+      throw new IllegalArgumentException("Coordinate can not be packed: " + column + "/" + row);
+    }
+    return (long) column << 40 | (long) row << 16 | indexOf(state);
+  }
+
+  /**
+   * Returns the index of a state, adding it if it is new.
+   *
+   * @param state the state
+   * @return the index of the state
+   * @throws IllegalStateException if there are more than 65536 different states
+   */
+  private int indexOf(T state) {
+    Integer index = indices.get(state);
+    if (index != null) {
+      return index;
+    }
+
+    Object[] current = states;
+    if (current.length >= MAX_STATES) {
+      throw new IllegalStateException("More than " + MAX_STATES + " states recorded");
+    }
+    Object[] updated = Arrays.copyOf(current, current.length + 1);
+    updated[current.length] = state;
+    indices.put(state, current.length);
+    states = updated;
+
+    return current.length;
+  }
+
+  /**
+   * @param step the packed step
+   * @return the column of the step
+   */
+  static int column(long step) {
+    return (int) (step >>> 40);
+  }
+
+  /**
+   * @param step the packed step
+   * @return the row of the step
+   */
+  static int row(long step) {
+    return (int) (step >>> 16) & MAX_COORDINATE;
+  }
+
+  /**
+   * @param step the packed step
+   * @return the state of the step
+   */
+  @SuppressWarnings("unchecked")
+  T state(long step) {
+    return (T) states[(int) (step & (MAX_STATES - 1))];
+  }
+}
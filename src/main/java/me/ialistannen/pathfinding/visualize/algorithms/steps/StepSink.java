@@ -0,0 +1,35 @@
+package me.ialistannen.pathfinding.visualize.algorithms.steps;
+
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+
+/**
+ * Receives the steps of an algorithm, i.e. the state changes it wants to visualize, in order.
+ *
+ * <p>Implementations should not allocate per step, as algorithms push every opened and examined
+ * cell.</p>
+ *
+ * @param <T> the type of the cell states
+ */
+@FunctionalInterface
+public interface StepSink<T extends GridCellState> {
+
+  /**
+   * Accepts a single step.
+   *
+   * @param column the column of the cell
+   * @param row the row of the cell
+   * @param state the state the cell had at this point
+   */
+  void accept(int column, int row, T state);
+
+  /**
+   * Returns a sink that discards all steps.
+   *
+   * @param <T> the type of the cell states
+   * @return a sink that discards all steps
+   */
+  @SuppressWarnings("unchecked")
+  static <T extends GridCellState> StepSink<T> noOp() {
+    return (StepSink<T>) NoOpStepSink.INSTANCE;
+  }
+}
@@ -0,0 +1,54 @@
+package me.ialistannen.pathfinding.visualize.algorithms.storage;
+
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+
+/**
+ * Stores the cell states of an {@link me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid}.
+ *
+ * <p>Implementations do not perform any bounds checking, the grid does that.</p>
+ *
+ * @param <T> the type of the cell states
+ */
+public interface CellStorage<T extends GridCellState> {
+
+  /**
+   * Returns the state at the given position.
+   *
+   * @param column the column
+   * @param row the row
+   * @return the state at that position
+   */
+  T get(int column, int row);
+
+  /**
+   * Sets the state at the given position.
+   *
+   * @param column the column
+   * @param row the row
+   * @param state the new state
+   */
+  void set(int column, int row, T state);
+
+  /**
+   * Sets a run of cells in a row to the same state.
+   *
+   * @param row the row
+   * @param fromColumn the first column (inclusive)
+   * @param toColumn the last column (exclusive)
+   * @param state the new state
+   */
+  default void fillRow(int row, int fromColumn, int toColumn, T state) {
+    for (int column = fromColumn; column < toColumn; column++) {
+      set(column, row, state);
+    }
+  }
+
+  /**
+   * Checks if the state at the given position is passable.
+   *
+   * @param column the column
+   * @param row the row
+   * @return true if you can walk through the cell
+   */
+  boolean isPassable(int column, int row);
+}
@@ -0,0 +1,105 @@
+package me.ialistannen.pathfinding.visualize.algorithms.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+
+/**
+ * A {@link CellStorage} that keeps one byte per cell, indexed by {@code row * width + column}.
+ *
+ * <p>The byte is an index into a small palette of the states that were ever stored, so at most
+ * 256 distinct states are supported. The default state always has index 0, which means a fresh
+ * grid needs no initialization at all.</p>
+ *
+ * @param <T> the type of the cell states
+ */
+public class DenseCellStorage<T extends GridCellState> implements CellStorage<T> {
+
+  private static final int MAX_PALETTE_SIZE = 256;
+
+  private final byte[] cells;
+  private final int width;
+
+  private final List<T> palette;
+  private final Map<T, Integer> paletteIndices;
+  private boolean[] passable;
+
+  /**
+   * Creates a new dense storage.
+   *
+   * @param defaultState the state all cells start with
+   * @param width the width of the grid
+   * @param height the height of the grid
+   * @throws IllegalArgumentException if the grid has too many cells to index with an int
+   */
+  public DenseCellStorage(T defaultState, int width, int height) {
+    if ((long) width * height > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "A grid of " + width + "x" + height + " is too big for dense storage!"
+      );
+    }
+    this.width = width;
+    this.cells = new byte[width * height];
+
+    this.palette = new ArrayList<>();
+    this.paletteIndices = new HashMap<>();
+    this.passable = new boolean[16];
+
+    getPaletteIndex(defaultState);
+  }
+
+  @Override
+  public T get(int column, int row) {
+    return palette.get(cells[row * width + column] & 0xFF);
+  }
+
+  @Override
+  public void set(int column, int row, T state) {
+    cells[row * width + column] = (byte) getPaletteIndex(state);
+  }
+
+  @Override
+  public void fillRow(int row, int fromColumn, int toColumn, T state) {
+    int rowStart = row * width;
+    Arrays.fill(cells, rowStart + fromColumn, rowStart + toColumn, (byte) getPaletteIndex(state));
+  }
+
+  @Override
+  public boolean isPassable(int column, int row) {
+    return passable[cells[row * width + column] & 0xFF];
+  }
+
+  /**
+   * Returns the palette index for a state, adding it to the palette if needed.
+   *
+   * @param state the state
+   * @return the index of the state in the palette
+   * @throws IllegalStateException if the palette is full
+   */
+  private int getPaletteIndex(T state) {
+    Integer index = paletteIndices.get(state);
+    if (index != null) {
+      return index;
+    }
+
+    if (palette.size() >= MAX_PALETTE_SIZE) {
+      throw new IllegalStateException(
+          "Dense storage supports at most " + MAX_PALETTE_SIZE + " distinct states!"
+      );
+    }
+
+    int newIndex = palette.size();
+    palette.add(state);
+    paletteIndices.put(state, newIndex);
+
+    if (newIndex >= passable.length) {
+      passable = Arrays.copyOf(passable, passable.length * 2);
+    }
+    passable[newIndex] = state.isPassable();
+
+    return newIndex;
+  }
+}
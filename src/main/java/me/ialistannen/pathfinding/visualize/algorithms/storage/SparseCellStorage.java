@@ -0,0 +1,48 @@
+package me.ialistannen.pathfinding.visualize.algorithms.storage;
+
+import java.util.HashMap;
+import java.util.Map;
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+
+/**
+ * A {@link CellStorage} that only remembers cells that are not in the default state.
+ *
+ * <p>Useful for huge grids that are mostly empty, but every access needs a hash lookup.</p>
+ *
+ * @param <T> the type of the cell states
+ */
+public class SparseCellStorage<T extends GridCellState> implements CellStorage<T> {
+
+  private final Map<GridCoordinate, T> values;
+  private final T defaultState;
+
+  /**
+   * Creates a new sparse storage.
+   *
+   * @param defaultState the state of all cells that were never set
+   */
+  public SparseCellStorage(T defaultState) {
+    this.defaultState = defaultState;
+    this.values = new HashMap<>();
+  }
+
+  @Override
+  public T get(int column, int row) {
+    return values.getOrDefault(new GridCoordinate(column, row), defaultState);
+  }
+
+  @Override
+  public void set(int column, int row, T state) {
+    if (state.equals(defaultState)) {
+      values.remove(new GridCoordinate(column, row));
+    } else {
+      values.put(new GridCoordinate(column, row), state);
+    }
+  }
+
+  @Override
+  public boolean isPassable(int column, int row) {
+    return get(column, row).isPassable();
+  }
+}
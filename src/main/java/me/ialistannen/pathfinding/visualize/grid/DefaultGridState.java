@@ -1,6 +1,5 @@
 package me.ialistannen.pathfinding.visualize.grid;
 
-import java.util.function.Supplier;
 import javafx.scene.Node;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
@@ -13,32 +12,37 @@ import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 
 public enum DefaultGridState implements GridCellState {
-  EMPTY(() -> getColoredNode(Color.WHITE)),
-  WALL(() -> getColoredNode(Color.web("#808080"))),
-  OPEN_SET(() -> getColoredNode(Color.web("#98fb98"))),
-  EXAMINED(() -> getColoredNode(Color.web("#afeeee"))),
-  START(true, false, () -> getColoredNode(Color.web("#00dd00"))),
-  END(false, true, () -> getColoredNode(Color.web("#ee4400"))),
-  SOLUTION(() -> getColoredNode(Color.ROYALBLUE)),
-  OTHER(() -> getColoredNode(Color.web("#e5e5e5")));
+  EMPTY(Color.WHITE),
+  WALL(Color.web("#808080")),
+  OPEN_SET(Color.web("#98fb98")),
+  EXAMINED(Color.web("#afeeee")),
+  START(true, false, Color.web("#00dd00")),
+  END(false, true, Color.web("#ee4400")),
+  SOLUTION(Color.ROYALBLUE),
+  OTHER(Color.web("#e5e5e5"));
 
-  private Supplier<Node> factory;
+  private Color color;
   private boolean isEnd;
   private boolean isStart;
 
-  DefaultGridState(Supplier<Node> factory) {
-    this(false, false, factory);
+  DefaultGridState(Color color) {
+    this(false, false, color);
   }
 
-  DefaultGridState(boolean isStart, boolean isEnd, Supplier<Node> factory) {
-    this.factory = factory;
+  DefaultGridState(boolean isStart, boolean isEnd, Color color) {
+    this.color = color;
     this.isStart = isStart;
     this.isEnd = isEnd;
   }
 
   @Override
   public Node getNode() {
-    return factory.get();
+    return getColoredNode(color);
+  }
+
+  @Override
+  public Color getColor() {
+    return color;
   }
 
   @Override
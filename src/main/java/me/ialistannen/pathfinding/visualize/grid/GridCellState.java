@@ -1,6 +1,7 @@
 package me.ialistannen.pathfinding.visualize.grid;
 
 import javafx.scene.Node;
+import javafx.scene.paint.Color;
 
 public interface GridCellState {
 
@@ -11,6 +12,13 @@ public interface GridCellState {
    */
   Node getNode();
 
+  /**
+   * Returns the color to paint this state in, if the grid is not made of nodes.
+   *
+   * @return the color of this state
+   */
+  Color getColor();
+
   /**
    * @return true if this state is an end state
    */
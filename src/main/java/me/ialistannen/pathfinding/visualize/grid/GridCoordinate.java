@@ -80,6 +80,17 @@ public class GridCoordinate {
     public static List<Direction> NO_DIAGONAL = Arrays.asList(NORTH, SOUTH, EAST, WEST);
     public static List<Direction> WITH_DIAGONAL = Arrays.asList(Direction.values());
 
+    /**
+     * The directions indexed by {@code (yMod + 1) * 3 + xMod + 1}. The center is null.
+     */
+    private static final Direction[] BY_MOD = new Direction[9];
+
+    static {
+      for (Direction direction : values()) {
+        BY_MOD[(direction.getyMod() + 1) * 3 + direction.getxMod() + 1] = direction;
+      }
+    }
+
     private int xMod;
     private int yMod;
     private double cost;
@@ -114,20 +125,15 @@ public class GridCoordinate {
     }
 
     /**
-     * Returns the {@link Direction} for the given modifies
+     * Returns the {@link Direction} for the given modifies. Only their signs are used, so this
+     * also works for the difference between two cells on a straight or diagonal line.
      *
      * @param x the x coordinate
      * @param y the y coordinate
-     * @return the direction or null if none matched
+     * @return the direction or null if both are zero
      */
     public static Direction forMod(int x, int y) {
-      return Arrays
-          .stream(values())
-          .filter(direction ->
-              direction.getxMod() == Math.signum(x) && direction.getyMod() == Math.signum(y)
-          )
-          .findFirst()
-          .orElse(null);
+      return BY_MOD[(Integer.signum(y) + 1) * 3 + Integer.signum(x) + 1];
     }
   }
 }
@@ -1,6 +1,7 @@
 package me.ialistannen.pathfinding.visualize.grid.interaction;
 
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 import javafx.event.Event;
 import javafx.scene.Node;
@@ -20,6 +21,7 @@ public class GridInteractionManager<T extends GridCellState> {
   private AlgorithmGrid<T> grid;
   private GridInteractionListener<T> interactionListener;
   private GridInteractionState<T> dragStartState;
+  private GridCoordinate lastDragCoordinate;
 
   private Set<GridCoordinate> visitedInDrag;
 
@@ -90,6 +92,111 @@ public class GridInteractionManager<T extends GridCellState> {
     });
   }
 
+  /**
+   * Configures a single node that displays the whole grid, e.g. a canvas.
+   *
+   * <p>The cells are found by the position of the mouse and a drag is followed with plain mouse
+   * events, instead of a drag and drop gesture between the nodes of the cells. The listener is
+   * called the same way as for {@link #configureNode(Node)}.</p>
+   *
+   * @param node the node displaying the grid
+   * @param locator finds the cell at a position in the node
+   */
+  public void configureArea(Node node, CellLocator locator) {
+    Objects.requireNonNull(node, "node can not be null!");
+    Objects.requireNonNull(locator, "locator can not be null!");
+
+    node.setOnMouseClicked(event -> {
+      if (!event.isStillSincePress()) {
+        return;
+      }
+      GridInteractionState<T> state = getStateAt(
+          node, locator.getCoordinateAt(event.getX(), event.getY())
+      );
+
+      if (state == null) {
+        return;
+      }
+
+      interactionListener.onClick(state);
+    });
+
+    node.setOnDragDetected(event -> {
+      dragStartState = getStateAt(node, locator.getCoordinateAt(event.getX(), event.getY()));
+
+      if (dragStartState == null) {
+        return;
+      }
+
+      lastDragCoordinate = dragStartState.getCoordinate();
+
+      interactionListener.onDragStart(dragStartState);
+      visitedInDrag = new HashSet<>();
+    });
+    node.setOnMouseDragged(event -> {
+      GridCoordinate coordinate = locator.getCoordinateAt(event.getX(), event.getY());
+
+      if (dragStartState == null || !isInGrid(coordinate)) {
+        return;
+      }
+
+      // the mouse skips cells when it is moved quickly, so every cell in between is dragged over
+      int columnDelta = coordinate.getColumn() - lastDragCoordinate.getColumn();
+      int rowDelta = coordinate.getRow() - lastDragCoordinate.getRow();
+      int steps = Math.max(Math.abs(columnDelta), Math.abs(rowDelta));
+
+      for (int step = 1; step <= steps; step++) {
+        GridCoordinate between = new GridCoordinate(
+            lastDragCoordinate.getColumn() + Math.round((float) columnDelta * step / steps),
+            lastDragCoordinate.getRow() + Math.round((float) rowDelta * step / steps)
+        );
+        dragOver(getStateAt(node, between));
+      }
+
+      lastDragCoordinate = coordinate;
+    });
+    node.setOnMouseReleased(event -> {
+      if (dragStartState == null) {
+        return;
+      }
+
+      // the drag ends at the last cell it was over, even if the mouse left the grid
+      GridInteractionState<T> state = getStateAt(node, lastDragCoordinate);
+      GridInteractionState<T> startState = dragStartState;
+      dragStartState = null;
+
+      if (state != null) {
+        interactionListener.onDragStop(state, startState);
+      }
+    });
+  }
+
+  private void dragOver(GridInteractionState<T> state) {
+    if (state == null) {
+      return;
+    }
+
+    if (interactionListener.suppressDuplicateDragEvents()
+        && !visitedInDrag.add(state.getCoordinate())) {
+      return;
+    }
+
+    interactionListener.onDragOver(state, dragStartState);
+  }
+
+  private GridInteractionState<T> getStateAt(Node node, GridCoordinate coordinate) {
+    if (interactionListener == null || !isInGrid(coordinate)) {
+      return null;
+    }
+    return new GridInteractionState<>(coordinate, grid.getStateAt(coordinate), node, grid);
+  }
+
+  private boolean isInGrid(GridCoordinate coordinate) {
+    return coordinate != null
+        && coordinate.getColumn() >= 0 && coordinate.getColumn() < grid.getWidth()
+        && coordinate.getRow() >= 0 && coordinate.getRow() < grid.getHeight();
+  }
+
   private GridInteractionState<T> getStateFromEvent(Event event) {
     if (!(event.getSource() instanceof Node) || interactionListener == null) {
       return null;
@@ -128,4 +235,19 @@ public class GridInteractionManager<T extends GridCellState> {
 
     event.acceptTransferModes(TransferMode.ANY);
   }
+
+  /**
+   * Finds the cell at a position in a node displaying the whole grid.
+   */
+  public interface CellLocator {
+
+    /**
+     * Returns the cell at a position.
+     *
+     * @param x the x coordinate in the node
+     * @param y the y coordinate in the node
+     * @return the coordinate of the cell. May be outside the grid.
+     */
+    GridCoordinate getCoordinateAt(double x, double y);
+  }
 }
@@ -0,0 +1,263 @@
+package me.ialistannen.pathfinding.visualize.grid.node;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.grid.GridCellState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.interaction.GridInteractionListener;
+import me.ialistannen.pathfinding.visualize.grid.interaction.GridInteractionManager;
+
+/**
+ * Displays an {@link AlgorithmGrid} on a single {@link Canvas}.
+ *
+ * <p>The {@link DisplayedGrid} needs a node per cell, which gets slow for large grids. This grid
+ * only keeps the state of every cell as an index into a small palette and marks changed cells in
+ * a bitset. Once per frame the changed cells are painted in their {@link GridCellState#getColor()
+ * color}, merging neighbouring cells in the same state of a row into a single rectangle.</p>
+ *
+ * @param <T> the type of the cell states
+ */
+public class CanvasGrid<T extends GridCellState> extends Region {
+
+  /**
+   * Cells smaller than this many pixels are painted without a border.
+   */
+  private static final double MIN_BORDERED_CELL_SIZE = 5;
+  private static final Color BORDER_COLOR = Color.web("#d9d9d9");
+
+  private final int columns;
+  private final int rows;
+  private final Canvas canvas;
+  private final GridInteractionManager<T> gridInteractionManager;
+
+  private final List<T> palette;
+  private final Map<T, Integer> paletteIndices;
+  private final int[] states;
+
+  private final long[] dirty;
+  // the range of dirty words that may have bits set
+  private int firstDirtyWord;
+  private int lastDirtyWord;
+  private boolean repaintAll;
+
+  public CanvasGrid(AlgorithmGrid<T> grid) {
+    Objects.requireNonNull(grid, "grid can not be null!");
+
+    this.columns = grid.getWidth();
+    this.rows = grid.getHeight();
+    this.canvas = new Canvas();
+    this.gridInteractionManager = new GridInteractionManager<>(grid);
+    this.palette = new ArrayList<>();
+    this.paletteIndices = new HashMap<>();
+    this.states = new int[columns * rows];
+    this.dirty = new long[(states.length + 63) >>> 6];
+    this.firstDirtyWord = dirty.length;
+    this.lastDirtyWord = -1;
+
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        states[row * columns + column] = getPaletteIndex(grid.getStateAt(column, row));
+      }
+    }
+
+    grid.addChangeCallback((coordinate, oldState, newState) -> setCellState(coordinate, newState));
+
+    gridInteractionManager.configureArea(canvas, this::getCoordinateAt);
+    getChildren().add(canvas);
+    setMinSize(0, 0);
+
+    AnimationTimer painter = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        paintDirtyCells();
+      }
+    };
+    sceneProperty().addListener((observable, oldScene, newScene) -> {
+      if (newScene == null) {
+        painter.stop();
+      } else {
+        painter.start();
+      }
+    });
+  }
+
+  /**
+   * Sets the {@link GridInteractionListener} this {@link CanvasGrid} uses.
+   *
+   * @param interactionListener the {@link GridInteractionListener} to use
+   */
+  public void setInteractionListener(GridInteractionListener<T> interactionListener) {
+    gridInteractionManager.setInteractionListener(interactionListener);
+  }
+
+  @Override
+  protected void layoutChildren() {
+    if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+      canvas.setWidth(getWidth());
+      canvas.setHeight(getHeight());
+
+      synchronized (this) {
+        repaintAll = true;
+      }
+    }
+  }
+
+  /**
+   * Marks a cell as changed. It is painted in the next frame.
+   *
+   * @param coordinate the coordinate of the cell
+   * @param state the new state
+   */
+  private synchronized void setCellState(GridCoordinate coordinate, T state) {
+    Objects.requireNonNull(coordinate, "coordinate can not be null!");
+    Objects.requireNonNull(state, "state can not be null!");
+
+    int cell = coordinate.getRow() * columns + coordinate.getColumn();
+    states[cell] = getPaletteIndex(state);
+
+    int word = cell >>> 6;
+    dirty[word] |= 1L << cell;
+    firstDirtyWord = Math.min(firstDirtyWord, word);
+    lastDirtyWord = Math.max(lastDirtyWord, word);
+  }
+
+  private int getPaletteIndex(T state) {
+    Integer index = paletteIndices.get(state);
+    if (index == null) {
+      index = palette.size();
+      palette.add(state);
+      paletteIndices.put(state, index);
+    }
+    return index;
+  }
+
+  private GridCoordinate getCoordinateAt(double x, double y) {
+    return new GridCoordinate(
+        (int) Math.floor(x / getCellWidth()),
+        (int) Math.floor(y / getCellHeight())
+    );
+  }
+
+  private double getCellWidth() {
+    return canvas.getWidth() / columns;
+  }
+
+  private double getCellHeight() {
+    return canvas.getHeight() / rows;
+  }
+
+  /**
+   * Paints all cells that changed since the last call, or the whole grid if it was resized.
+   */
+  private synchronized void paintDirtyCells() {
+    if (canvas.getWidth() <= 0 || canvas.getHeight() <= 0) {
+      return;
+    }
+    GraphicsContext context = canvas.getGraphicsContext2D();
+
+    if (repaintAll) {
+      repaintAll = false;
+      clearDirtyCells();
+      for (int row = 0; row < rows; row++) {
+        paintRow(context, row);
+      }
+      return;
+    }
+
+    int runStart = -1;
+    int runEnd = -1;
+
+    for (int word = firstDirtyWord; word <= lastDirtyWord; word++) {
+      long bits = dirty[word];
+      dirty[word] = 0;
+
+      while (bits != 0) {
+        int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+
+        boolean extendsRun = cell == runEnd
+            && cell % columns != 0
+            && states[cell] == states[runStart];
+        if (!extendsRun) {
+          paintRun(context, runStart, runEnd);
+          runStart = cell;
+        }
+        runEnd = cell + 1;
+      }
+    }
+    paintRun(context, runStart, runEnd);
+
+    firstDirtyWord = dirty.length;
+    lastDirtyWord = -1;
+  }
+
+  private void clearDirtyCells() {
+    for (int word = firstDirtyWord; word <= lastDirtyWord; word++) {
+      dirty[word] = 0;
+    }
+    firstDirtyWord = dirty.length;
+    lastDirtyWord = -1;
+  }
+
+  /**
+   * Paints a whole row, merging the cells in the same state.
+   */
+  private void paintRow(GraphicsContext context, int row) {
+    int runStart = row * columns;
+    int rowEnd = runStart + columns;
+    for (int cell = runStart + 1; cell < rowEnd; cell++) {
+      if (states[cell] != states[runStart]) {
+        paintRun(context, runStart, cell);
+        runStart = cell;
+      }
+    }
+    paintRun(context, runStart, rowEnd);
+  }
+
+  /**
+   * Paints cells in the same state and row.
+   *
+   * @param from the id of the first cell or -1 to paint nothing
+   * @param to the id after the last cell
+   */
+  private void paintRun(GraphicsContext context, int from, int to) {
+    if (from < 0) {
+      return;
+    }
+    double cellWidth = getCellWidth();
+    double cellHeight = getCellHeight();
+
+    int row = from / columns;
+    double top = Math.floor(row * cellHeight);
+    double bottom = Math.floor((row + 1) * cellHeight);
+    double left = Math.floor(from % columns * cellWidth);
+    double right = Math.floor(((to - 1) % columns + 1) * cellWidth);
+
+    Color color = palette.get(states[from]).getColor();
+
+    if (cellWidth < MIN_BORDERED_CELL_SIZE || cellHeight < MIN_BORDERED_CELL_SIZE) {
+      context.setFill(color);
+      context.fillRect(left, top, right - left, bottom - top);
+      return;
+    }
+
+    context.setFill(BORDER_COLOR);
+    context.fillRect(left, top, right - left, bottom - top);
+
+    context.setFill(color);
+    for (int column = from % columns; column <= (to - 1) % columns; column++) {
+      double cellLeft = Math.floor(column * cellWidth);
+      double cellRight = Math.floor((column + 1) * cellWidth);
+      context.fillRect(cellLeft + 1, top + 1, cellRight - cellLeft - 1, bottom - top - 1);
+    }
+  }
+}
@@ -22,7 +22,7 @@ public class DisplayedGrid<T extends GridCellState> extends GridPane {
 
     initializeGrid(grid.getWidth(), grid.getHeight());
 
-    grid.setChangeCallback((coordinate, oldState, newState) -> setCellState(coordinate, newState));
+    grid.addChangeCallback((coordinate, oldState, newState) -> setCellState(coordinate, newState));
 
     fillWithState(grid.getWidth(), grid.getHeight(), grid, grid.getDefaultState());
   }
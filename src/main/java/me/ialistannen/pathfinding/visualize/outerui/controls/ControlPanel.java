@@ -20,11 +20,19 @@ import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
 import me.ialistannen.pathfinding.visualize.outerui.controls.Runner.StateCallback;
 import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.AStarTitledPane;
 import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.AlgorithmTitledPane;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.AnytimeAStarPane;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.BidirectionalAStarPane;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.BidirectionalDijkstraPane;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.BlockJumpPointSearchPane;
 import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.BreadthFirstPane;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.DStarLitePane;
 import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.DepthFirstPane;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.DialPane;
 import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.DijkstraTitledPane;
 import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.GreedyBFSPane;
 import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.JumpPointSearchPane;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.JumpPointSearchPlusPane;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.ThetaStarPane;
 
 @SuppressWarnings("unused")
 public class ControlPanel extends BorderPane implements StateCallback {
@@ -55,12 +63,25 @@ public class ControlPanel extends BorderPane implements StateCallback {
   @FXML
   private void initialize() {
     accordion.getPanes().add(new DijkstraTitledPane());
+    accordion.getPanes().add(new DialPane());
     accordion.getPanes().add(new AStarTitledPane());
+    accordion.getPanes().add(new AnytimeAStarPane());
+    accordion.getPanes().add(new ThetaStarPane());
+    accordion.getPanes().add(new BidirectionalDijkstraPane());
+    accordion.getPanes().add(new BidirectionalAStarPane());
+    accordion.getPanes().add(new DStarLitePane());
     accordion.getPanes().add(new BreadthFirstPane());
     accordion.getPanes().add(new GreedyBFSPane());
     accordion.getPanes().add(new DepthFirstPane());
     accordion.getPanes().add(new JumpPointSearchPane());
+    accordion.getPanes().add(new JumpPointSearchPlusPane());
+    accordion.getPanes().add(new BlockJumpPointSearchPane());
     accordion.setExpandedPane(accordion.getPanes().get(0));
+
+    runner = new Runner<>(speedSlider.getValue(), this);
+    speedSlider.valueProperty().addListener(
+        (observable, oldValue, newValue) -> runner.setDelayMillis(newValue.doubleValue())
+    );
   }
 
   public void setGrid(AlgorithmGrid<DefaultGridState> grid) {
@@ -81,25 +102,21 @@ public class ControlPanel extends BorderPane implements StateCallback {
 
   @FXML
   void onGo() {
-    if (runner != null && runner.isRunning()) {
+    if (runner.isRunning()) {
       runner.stop();
       onClearPath();
       return;
     }
     onClearPath();
 
-    runner = new Runner<>((int) speedSlider.getValue(), this);
-
     TitledPane expandedPane = accordion.getExpandedPane();
 
     if (!(expandedPane instanceof AlgorithmTitledPane)) {
       return;
     }
 
-    new Thread(() -> {
-      Algorithm<DefaultGridState> algorithm = ((AlgorithmTitledPane) expandedPane).getAlgorithm();
-      runner.run(algorithm, grid);
-    }).start();
+    Algorithm<DefaultGridState> algorithm = ((AlgorithmTitledPane) expandedPane).getAlgorithm();
+    runner.run(algorithm, grid);
   }
 
   @Override
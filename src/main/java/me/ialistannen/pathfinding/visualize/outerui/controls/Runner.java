@@ -1,79 +1,159 @@
 package me.ialistannen.pathfinding.visualize.outerui.controls;
 
-import java.util.List;
-import javafx.animation.Animation;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import javafx.animation.Animation.Status;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.application.Platform;
-import javafx.util.Duration;
+import javafx.animation.AnimationTimer;
 import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
 import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.steps.RingBufferStepSink;
 import me.ialistannen.pathfinding.visualize.grid.GridCellState;
-import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
-import me.ialistannen.pathfinding.visualize.grid.StatefulGridCoordinate;
 
+/**
+ * Runs algorithms in the background and plays their steps back on the grid while they run.
+ *
+ * <p>The playback speed is given as a delay, in which {@link #STEPS_PER_DELAY} steps are played
+ * on a grid of {@link #REFERENCE_CELLS} cells. Larger grids play proportionally more steps, so
+ * a search takes about as long to watch on any grid. Every frame plays the steps that are due,
+ * but stops after {@link #FRAME_BUDGET_NANOS}, so the application stays responsive.</p>
+ *
+ * @param <T> the type of the cell states
+ */
 public class Runner<T extends GridCellState> {
 
-  private Timeline ticker;
-  private long delayMillis;
-  private int counter;
+  /**
+   * The amount of steps the algorithm may be ahead of the playback.
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int STEPS_PER_DELAY = 2;
+  private static final int REFERENCE_CELLS = 40 * 40;
+  private static final long FRAME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(8);
+  /**
+   * The amount of steps played between two checks of the frame budget.
+   */
+  private static final int STEPS_PER_CHECK = 256;
+
+  private final ExecutorService executor;
+  private final AnimationTimer ticker;
+  private final StateCallback stateCallback;
+  private double delayMillis;
+
+  private RingBufferStepSink<T> stepSink;
+  private AlgorithmGrid<T> grid;
+  private boolean running;
+  private double dueSteps;
+  private long lastFrame;
+
+  Runner(double delayMillis, StateCallback stateCallback) {
+    this.stateCallback = stateCallback;
+
+    setDelayMillis(delayMillis);
+
+    executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "Algorithm runner");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    ticker = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        tick(now);
+      }
+    };
+  }
 
-  Runner(long delayMillis, StateCallback stateCallback) {
+  /**
+   * Sets the playback speed. May be changed while running.
+   *
+   * @param delayMillis the time to play {@link #STEPS_PER_DELAY} steps in, on a small grid
+   * @throws IllegalArgumentException if the delay is not positive
+   */
+  public void setDelayMillis(double delayMillis) {
+    if (delayMillis <= 0) {
+      throw new IllegalArgumentException("delay must be positive: " + delayMillis);
+    }
     this.delayMillis = delayMillis;
-
-    ticker = new Timeline();
-    ticker.setCycleCount(Animation.INDEFINITE);
-    ticker.statusProperty()
-        .addListener((observable, oldValue, newValue) -> Platform.runLater(
-            () -> stateCallback.statusChanged(newValue)
-        ));
   }
 
   /**
-   * Runs the given algorithm and displays it in the grid.
+   * Runs the given algorithm in the background and displays it in the grid. Stops the last run
+   * first. Must be called on the application thread.
    *
-   * @param algorithm the {@link AlgorithmGrid} to run
+   * @param algorithm the {@link Algorithm} to run
    * @param grid the {@link AlgorithmGrid} to use
    */
   public void run(Algorithm<T> algorithm, AlgorithmGrid<T> grid) {
-    if (ticker != null) {
-      ticker.stop();
-    }
-    counter = 0;
+    stop();
+
+    RingBufferStepSink<T> stepSink = new RingBufferStepSink<>(BUFFER_SIZE);
+    this.stepSink = stepSink;
+    this.grid = grid;
+    this.dueSteps = 0;
+    this.lastFrame = -1;
+
+    executor.execute(() -> {
+      try {
+        algorithm.compute(grid, stepSink);
+      } catch (CancellationException ignored) {
+        // stopped before it was done
+      } finally {
+        stepSink.finish();
+      }
+    });
+
+    running = true;
+    ticker.start();
+    stateCallback.statusChanged(Status.RUNNING);
+  }
 
-    List<StatefulGridCoordinate<T>> steps = algorithm.compute(grid).getSteps();
+  private void tick(long now) {
+    double frameSteps = lastFrame < 0 ? 0 : (now - lastFrame) * getStepsPerNano();
+    dueSteps += frameSteps;
+    lastFrame = now;
 
-    ticker.getKeyFrames().setAll(new KeyFrame(
-        Duration.millis(delayMillis),
-        event -> tick(steps, grid, 2)
-    ));
+    long deadline = System.nanoTime() + FRAME_BUDGET_NANOS;
+    boolean bufferEmpty = false;
 
-    ticker.playFromStart();
-  }
+    while (dueSteps >= 1 && System.nanoTime() < deadline) {
+      int maxSteps = (int) Math.min(dueSteps, STEPS_PER_CHECK);
+      int played = stepSink.drain(this::apply, maxSteps);
+      dueSteps -= played;
 
-  private void tick(List<StatefulGridCoordinate<T>> steps, AlgorithmGrid<T> grid, int count) {
-    for (int i = 0; i < count; i++) {
-      tick(steps, grid);
+      if (played < maxSteps) {
+        bufferEmpty = true;
+        break;
+      }
     }
-  }
 
-  private void tick(List<StatefulGridCoordinate<T>> steps, AlgorithmGrid<T> grid) {
-    if (counter >= steps.size()) {
-      ticker.stop();
-      return;
+    if (bufferEmpty) {
+      // the algorithm is slower than the playback, it should not catch up in a burst later
+      dueSteps = 0;
+    } else {
+      // the frames are slower than the playback, so drop what would never be caught up with
+      dueSteps = Math.min(dueSteps, frameSteps);
+    }
+
+    if (stepSink.isDrained()) {
+      stop();
     }
+  }
 
-    StatefulGridCoordinate<T> state = steps.get(counter++);
-    GridCoordinate coordinate = state.getCoordinate();
+  private double getStepsPerNano() {
+    double gridScale = Math.max(1, (double) grid.getWidth() * grid.getHeight() / REFERENCE_CELLS);
+    return STEPS_PER_DELAY * gridScale / TimeUnit.MILLISECONDS.toNanos(1) / delayMillis;
+  }
 
-    T currentState = grid.getStateAt(coordinate);
+  private void apply(int column, int row, T state) {
+    T currentState = grid.getStateAt(column, row);
 
     if (currentState.isEnd() || currentState.isStart() || !currentState.isPassable()) {
       return;
     }
 
-    grid.setStateAt(coordinate, state.getState());
+    grid.setStateAt(column, row, state);
   }
 
   /**
@@ -82,15 +162,21 @@ public class Runner<T extends GridCellState> {
    * @return true if this object is running
    */
   public boolean isRunning() {
-    return ticker.getStatus() == Status.RUNNING;
+    return running;
   }
 
   /**
-   * Pauses the playback.
+   * Stops the playback and the algorithm, if it is still running.
    */
   public void stop() {
-    if (ticker.getStatus() == Status.RUNNING) {
-      ticker.stop();
+    if (stepSink != null) {
+      stepSink.cancel();
+    }
+    ticker.stop();
+
+    if (running) {
+      running = false;
+      stateCallback.statusChanged(Status.STOPPED);
     }
   }
 
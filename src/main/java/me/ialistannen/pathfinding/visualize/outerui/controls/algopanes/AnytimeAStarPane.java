@@ -0,0 +1,34 @@
+package me.ialistannen.pathfinding.visualize.outerui.controls.algopanes;
+
+import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
+import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.astar.AnytimeAStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.parts.DistanceSelectionPanel;
+
+public class AnytimeAStarPane extends AlgorithmTitledPane {
+
+  private static final double INITIAL_WEIGHT = 3;
+  private static final double WEIGHT_DECREMENT = 0.5;
+
+  @FXML
+  private CheckBox diagonalCheckbox;
+
+  @FXML
+  private DistanceSelectionPanel distancePanel;
+
+  public AnytimeAStarPane() {
+    super("/fxml/AStarTitledPane.fxml", "Anytime A* (ARA*)");
+  }
+
+  @Override
+  public Algorithm<DefaultGridState> getAlgorithm() {
+    return new AnytimeAStarAlgorithm(
+        distancePanel.getDistanceFunction(),
+        withDiagonal(diagonalCheckbox.isSelected()),
+        INITIAL_WEIGHT,
+        WEIGHT_DECREMENT
+    );
+  }
+}
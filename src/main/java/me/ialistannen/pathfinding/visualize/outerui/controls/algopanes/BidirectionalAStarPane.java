@@ -0,0 +1,29 @@
+package me.ialistannen.pathfinding.visualize.outerui.controls.algopanes;
+
+import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
+import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.bidirectional.BidirectionalAStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.parts.DistanceSelectionPanel;
+
+public class BidirectionalAStarPane extends AlgorithmTitledPane {
+
+  @FXML
+  private CheckBox diagonalCheckbox;
+
+  @FXML
+  private DistanceSelectionPanel distancePanel;
+
+  public BidirectionalAStarPane() {
+    super("/fxml/BidirectionalAStarTitledPane.fxml", "Bidirectional A*");
+  }
+
+  @Override
+  public Algorithm<DefaultGridState> getAlgorithm() {
+    return new BidirectionalAStarAlgorithm(
+        distancePanel.getDistanceFunction(),
+        withDiagonal(diagonalCheckbox.isSelected())
+    );
+  }
+}
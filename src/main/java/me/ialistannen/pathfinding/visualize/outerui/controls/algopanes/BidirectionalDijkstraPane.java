@@ -0,0 +1,22 @@
+package me.ialistannen.pathfinding.visualize.outerui.controls.algopanes;
+
+import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
+import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.bidirectional.BidirectionalDijkstraAlgorithm;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+
+public class BidirectionalDijkstraPane extends AlgorithmTitledPane {
+
+  @FXML
+  private CheckBox diagonalCheckbox;
+
+  public BidirectionalDijkstraPane() {
+    super("/fxml/BidirectionalDijkstraTitledPane.fxml", "Bidirectional Dijkstra");
+  }
+
+  @Override
+  public Algorithm<DefaultGridState> getAlgorithm() {
+    return new BidirectionalDijkstraAlgorithm(withDiagonal(diagonalCheckbox.isSelected()));
+  }
+}
@@ -0,0 +1,42 @@
+package me.ialistannen.pathfinding.visualize.outerui.controls.algopanes;
+
+import javafx.fxml.FXML;
+import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+import me.ialistannen.pathfinding.visualize.algorithms.jps.BlockJumpPointSearchAlgorithm;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.parts.DistanceSelectionPanel;
+
+public class BlockJumpPointSearchPane extends AlgorithmTitledPane {
+
+  @FXML
+  private DistanceSelectionPanel distancePanel;
+
+  private BlockJumpPointSearchAlgorithm algorithm;
+  private DistanceFunction distanceFunction;
+
+  public BlockJumpPointSearchPane() {
+    super("/fxml/BlockJumpPointSearchTitledPane.fxml", "Block jump point search");
+  }
+
+  /**
+   * Returns the algorithm. It is reused as long as the distance function does not change, so
+   * that its bitmaps only need to be built once.
+   *
+   * @return the algorithm
+   */
+  @Override
+  public Algorithm<DefaultGridState> getAlgorithm() {
+    DistanceFunction newDistanceFunction = distancePanel.getDistanceFunction();
+
+    if (algorithm == null || newDistanceFunction != distanceFunction) {
+      if (algorithm != null) {
+        algorithm.detach();
+      }
+      distanceFunction = newDistanceFunction;
+      algorithm = new BlockJumpPointSearchAlgorithm(distanceFunction);
+    }
+
+    return algorithm;
+  }
+}
@@ -0,0 +1,52 @@
+package me.ialistannen.pathfinding.visualize.outerui.controls.algopanes;
+
+import java.util.List;
+import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
+import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+import me.ialistannen.pathfinding.visualize.algorithms.dstarlite.DStarLiteAlgorithm;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.parts.DistanceSelectionPanel;
+
+public class DStarLitePane extends AlgorithmTitledPane {
+
+  @FXML
+  private CheckBox diagonalCheckbox;
+
+  @FXML
+  private DistanceSelectionPanel distancePanel;
+
+  private DStarLiteAlgorithm algorithm;
+  private DistanceFunction distanceFunction;
+  private List<Direction> directions;
+
+  public DStarLitePane() {
+    super("/fxml/DStarLiteTitledPane.fxml", "D* Lite");
+  }
+
+  /**
+   * Returns the planner. It is reused as long as the settings do not change, so that later runs
+   * only repair the previous search.
+   *
+   * @return the planner
+   */
+  @Override
+  public Algorithm<DefaultGridState> getAlgorithm() {
+    DistanceFunction newDistanceFunction = distancePanel.getDistanceFunction();
+    List<Direction> newDirections = withDiagonal(diagonalCheckbox.isSelected());
+
+    if (algorithm == null || newDistanceFunction != distanceFunction
+        || newDirections != directions) {
+      if (algorithm != null) {
+        algorithm.detach();
+      }
+      distanceFunction = newDistanceFunction;
+      directions = newDirections;
+      algorithm = new DStarLiteAlgorithm(distanceFunction, directions);
+    }
+
+    return algorithm;
+  }
+}
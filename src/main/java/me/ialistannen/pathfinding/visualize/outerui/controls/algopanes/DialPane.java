@@ -0,0 +1,17 @@
+package me.ialistannen.pathfinding.visualize.outerui.controls.algopanes;
+
+import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.dial.DialAlgorithm;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+
+public class DialPane extends AlgorithmTitledPane {
+
+  public DialPane() {
+    super("/fxml/DialTitledPane.fxml", "Dijkstra (buckets)");
+  }
+
+  @Override
+  public Algorithm<DefaultGridState> getAlgorithm() {
+    return new DialAlgorithm();
+  }
+}
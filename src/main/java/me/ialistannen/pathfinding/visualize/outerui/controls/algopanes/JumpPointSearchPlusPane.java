@@ -0,0 +1,42 @@
+package me.ialistannen.pathfinding.visualize.outerui.controls.algopanes;
+
+import javafx.fxml.FXML;
+import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DistanceFunction;
+import me.ialistannen.pathfinding.visualize.algorithms.jps.JumpPointSearchPlusAlgorithm;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.parts.DistanceSelectionPanel;
+
+public class JumpPointSearchPlusPane extends AlgorithmTitledPane {
+
+  @FXML
+  private DistanceSelectionPanel distancePanel;
+
+  private JumpPointSearchPlusAlgorithm algorithm;
+  private DistanceFunction distanceFunction;
+
+  public JumpPointSearchPlusPane() {
+    super("/fxml/JumpPointSearchPlusTitledPane.fxml", "Jump point search+");
+  }
+
+  /**
+   * Returns the algorithm. It is reused as long as the distance function does not change, so
+   * that its jump table only needs to be built once.
+   *
+   * @return the algorithm
+   */
+  @Override
+  public Algorithm<DefaultGridState> getAlgorithm() {
+    DistanceFunction newDistanceFunction = distancePanel.getDistanceFunction();
+
+    if (algorithm == null || newDistanceFunction != distanceFunction) {
+      if (algorithm != null) {
+        algorithm.detach();
+      }
+      distanceFunction = newDistanceFunction;
+      algorithm = new JumpPointSearchPlusAlgorithm(distanceFunction);
+    }
+
+    return algorithm;
+  }
+}
@@ -0,0 +1,29 @@
+package me.ialistannen.pathfinding.visualize.outerui.controls.algopanes;
+
+import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
+import me.ialistannen.pathfinding.visualize.algorithms.Algorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.anyangle.ThetaStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.outerui.controls.algopanes.parts.DistanceSelectionPanel;
+
+public class ThetaStarPane extends AlgorithmTitledPane {
+
+  @FXML
+  private CheckBox diagonalCheckbox;
+
+  @FXML
+  private DistanceSelectionPanel distancePanel;
+
+  public ThetaStarPane() {
+    super("/fxml/AStarTitledPane.fxml", "Theta*");
+  }
+
+  @Override
+  public Algorithm<DefaultGridState> getAlgorithm() {
+    return new ThetaStarAlgorithm(
+        distancePanel.getDistanceFunction(),
+        withDiagonal(diagonalCheckbox.isSelected())
+    );
+  }
+}
@@ -20,6 +20,9 @@ public class DistanceSelectionPanel extends VBox {
   @FXML
   private RadioButton chebyshevButton;
 
+  @FXML
+  private RadioButton octileButton;
+
   public DistanceSelectionPanel() {
     FXMLLoader loader = new FXMLLoader(
         getClass().getResource("/fxml/DistanceSelectionPanel.fxml")
@@ -40,6 +43,7 @@ public class DistanceSelectionPanel extends VBox {
     manhattenButton.setToggleGroup(toggleGroup);
     euclideanButton.setToggleGroup(toggleGroup);
     chebyshevButton.setToggleGroup(toggleGroup);
+    octileButton.setToggleGroup(toggleGroup);
   }
 
 
@@ -53,6 +57,9 @@ public class DistanceSelectionPanel extends VBox {
     if (euclideanButton.isSelected()) {
       return DefaultDistanceFunction.EUCLIDEAN;
     }
-    return DefaultDistanceFunction.CHEBYSHEV;
+    if (chebyshevButton.isSelected()) {
+      return DefaultDistanceFunction.CHEBYSHEV;
+    }
+    return DefaultDistanceFunction.OCTILE;
   }
 }
@@ -7,7 +7,7 @@ import javafx.scene.layout.StackPane;
 import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
 import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
 import me.ialistannen.pathfinding.visualize.grid.interaction.PaintingGridListener;
-import me.ialistannen.pathfinding.visualize.grid.node.DisplayedGrid;
+import me.ialistannen.pathfinding.visualize.grid.node.CanvasGrid;
 import me.ialistannen.pathfinding.visualize.outerui.controls.ControlPanel;
 
 public class MainScreenController {
@@ -23,7 +23,7 @@ public class MainScreenController {
     AlgorithmGrid<DefaultGridState> algorithmGrid = new AlgorithmGrid<>(
         DefaultGridState.EMPTY, 40, 40
     );
-    DisplayedGrid<DefaultGridState> displayedGrid = new DisplayedGrid<>(algorithmGrid);
+    CanvasGrid<DefaultGridState> displayedGrid = new CanvasGrid<>(algorithmGrid);
     displayedGrid.setInteractionListener(new PaintingGridListener());
 
     addStartAndEnd(algorithmGrid);
@@ -0,0 +1,160 @@
+package me.ialistannen.pathfinding.visualize.algorithms;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import org.junit.Test;
+
+public class ConnectivityIndexTest {
+
+  private static final int RUNS = 200;
+  private static final int EDITS_PER_RUN = 100;
+  private static final int RANDOM_PAIRS_PER_EDIT = 32;
+
+  /**
+   * Interleaves blocking and opening cells and compares every answer with a flood fill of the
+   * grid after each edit.
+   */
+  @Test
+  public void canReachMatchesFloodFill() {
+    for (int run = 0; run < RUNS; run++) {
+      Random random = new Random(run);
+      int width = 4 + random.nextInt(29);
+      int height = 4 + random.nextInt(29);
+      double wallChance = 0.2 + random.nextDouble() * 0.4;
+
+      AlgorithmGrid<DefaultGridState> grid = new AlgorithmGrid<>(
+          DefaultGridState.EMPTY, width, height
+      );
+      for (int row = 0; row < height; row++) {
+        for (int column = 0; column < width; column++) {
+          if (random.nextDouble() < wallChance) {
+            grid.setStateAt(column, row, DefaultGridState.WALL);
+          }
+        }
+      }
+      ConnectivityIndex index = grid.getConnectivityIndex();
+
+      for (int edit = 0; edit < EDITS_PER_RUN; edit++) {
+        int column = random.nextInt(width);
+        int row = random.nextInt(height);
+        DefaultGridState toggled = grid.getStateAt(column, row) == DefaultGridState.WALL
+            ? DefaultGridState.EMPTY
+            : DefaultGridState.WALL;
+        grid.setStateAt(column, row, toggled);
+
+        String message = "run " + run + ", edit " + edit + " at " + column + " " + row;
+        int[] regions = floodFill(grid);
+
+        // splits and merges happen around the edited cell
+        for (int startRow = row - 1; startRow <= row + 1; startRow++) {
+          for (int startColumn = column - 1; startColumn <= column + 1; startColumn++) {
+            for (int goalRow = row - 1; goalRow <= row + 1; goalRow++) {
+              for (int goalColumn = column - 1; goalColumn <= column + 1; goalColumn++) {
+                if (isInside(grid, startColumn, startRow) && isInside(grid, goalColumn, goalRow)) {
+                  assertCanReach(
+                      message, grid, index, regions,
+                      startRow * width + startColumn, goalRow * width + goalColumn
+                  );
+                }
+              }
+            }
+          }
+        }
+
+        for (int i = 0; i < RANDOM_PAIRS_PER_EDIT; i++) {
+          assertCanReach(
+              message, grid, index, regions,
+              random.nextInt(width * height), random.nextInt(width * height)
+          );
+        }
+      }
+    }
+  }
+
+  private static void assertCanReach(String message, SearchGrid grid, ConnectivityIndex index,
+      int[] regions, int start, int goal) {
+    int width = grid.getWidth();
+    assertEquals(
+        message + ": from " + start % width + " " + start / width
+            + " to " + goal % width + " " + goal / width,
+        canReach(grid, regions, start, goal),
+        index.canReach(start, goal)
+    );
+  }
+
+  /**
+   * The expected answer of {@link ConnectivityIndex#canReach(int, int)}: a blocked start can
+   * still be left through its passable straight neighbours.
+   */
+  private static boolean canReach(SearchGrid grid, int[] regions, int start, int goal) {
+    if (start == goal) {
+      return true;
+    }
+    if (regions[goal] < 0) {
+      return false;
+    }
+    if (regions[start] >= 0) {
+      return regions[start] == regions[goal];
+    }
+
+    int width = grid.getWidth();
+    int column = start % width;
+    int row = start / width;
+    return isInRegion(grid, regions, column, row - 1, regions[goal])
+        || isInRegion(grid, regions, column + 1, row, regions[goal])
+        || isInRegion(grid, regions, column, row + 1, regions[goal])
+        || isInRegion(grid, regions, column - 1, row, regions[goal]);
+  }
+
+  private static boolean isInRegion(SearchGrid grid, int[] regions, int column, int row,
+      int region) {
+    return isInside(grid, column, row) && regions[row * grid.getWidth() + column] == region;
+  }
+
+  /**
+   * Labels the regions connected through straight moves with a plain flood fill.
+   *
+   * @return the region of every cell, -1 for blocked ones
+   */
+  private static int[] floodFill(SearchGrid grid) {
+    int width = grid.getWidth();
+    int height = grid.getHeight();
+    int[] regions = new int[width * height];
+    Arrays.fill(regions, -1);
+    int[] stack = new int[width * height];
+    int regionCount = 0;
+
+    for (int cell = 0; cell < regions.length; cell++) {
+      if (regions[cell] >= 0 || !grid.isPassable(cell % width, cell / width)) {
+        continue;
+      }
+
+      int size = 0;
+      stack[size++] = cell;
+      regions[cell] = regionCount;
+      while (size > 0) {
+        int current = stack[--size];
+        int column = current % width;
+        int row = current / width;
+        int[][] neighbours = {{column, row - 1}, {column + 1, row}, {column, row + 1},
+            {column - 1, row}};
+        for (int[] neighbour : neighbours) {
+          int neighbourCell = neighbour[1] * width + neighbour[0];
+          if (grid.isPassable(neighbour[0], neighbour[1]) && regions[neighbourCell] < 0) {
+            regions[neighbourCell] = regionCount;
+            stack[size++] = neighbourCell;
+          }
+        }
+      }
+      regionCount++;
+    }
+    return regions;
+  }
+
+  private static boolean isInside(SearchGrid grid, int column, int row) {
+    return column >= 0 && row >= 0 && column < grid.getWidth() && row < grid.getHeight();
+  }
+}
@@ -0,0 +1,147 @@
+package me.ialistannen.pathfinding.visualize.algorithms.dstarlite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.PathResult;
+import me.ialistannen.pathfinding.visualize.algorithms.astar.AStarAlgorithm;
+import me.ialistannen.pathfinding.visualize.algorithms.distance.DefaultDistanceFunction;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+import org.junit.Test;
+
+public class DStarLiteAlgorithmTest {
+
+  private static final int RUNS = 1600;
+  private static final int EDITS_PER_RUN = 10;
+
+  /**
+   * Edits the grid and moves the start between two runs, which used to leave cells on the path
+   * inconsistent when their keys differed from the one of the start by a rounding error.
+   */
+  @Test
+  public void repairedSearchFindsTheSamePathAsAFreshOne() {
+    for (int run = 0; run < RUNS; run++) {
+      Random random = new Random(run);
+      int size = 20 + random.nextInt(40);
+      AlgorithmGrid<DefaultGridState> grid = randomGrid(random, size);
+
+      DStarLiteAlgorithm planner = new DStarLiteAlgorithm(
+          DefaultDistanceFunction.EUCLIDEAN, Direction.WITH_DIAGONAL
+      );
+      planner.compute(grid, (column, row, state) -> {
+      });
+
+      toggleRandomWalls(random, grid);
+      moveStart(random, grid);
+
+      assertSameAsFreshSearch("run " + run, planner, grid);
+    }
+  }
+
+  private static AlgorithmGrid<DefaultGridState> randomGrid(Random random, int size) {
+    AlgorithmGrid<DefaultGridState> grid = new AlgorithmGrid<>(DefaultGridState.EMPTY, size, size);
+    for (int i = 0; i < size * size / 4; i++) {
+      grid.setStateAt(random.nextInt(size), random.nextInt(size), DefaultGridState.WALL);
+    }
+
+    int startColumn = random.nextInt(size);
+    int startRow = random.nextInt(size);
+    grid.setStateAt(startColumn, startRow, DefaultGridState.START);
+
+    int goalColumn;
+    int goalRow;
+    do {
+      goalColumn = random.nextInt(size);
+      goalRow = random.nextInt(size);
+    } while (goalColumn == startColumn && goalRow == startRow);
+    grid.setStateAt(goalColumn, goalRow, DefaultGridState.END);
+
+    return grid;
+  }
+
+  private static void toggleRandomWalls(Random random, AlgorithmGrid<DefaultGridState> grid) {
+    for (int i = 0; i < EDITS_PER_RUN; i++) {
+      int column = random.nextInt(grid.getWidth());
+      int row = random.nextInt(grid.getHeight());
+
+      DefaultGridState state = grid.getStateAt(column, row);
+      if (state.isStart() || state.isEnd()) {
+        continue;
+      }
+      DefaultGridState toggled = state == DefaultGridState.WALL
+          ? DefaultGridState.EMPTY
+          : DefaultGridState.WALL;
+      grid.setStateAt(column, row, toggled);
+    }
+  }
+
+  private static void moveStart(Random random, AlgorithmGrid<DefaultGridState> grid) {
+    GridCoordinate start = grid.getStarts().iterator().next();
+    int column = clamp(start.getColumn() + random.nextInt(7) - 3, grid.getWidth());
+    int row = clamp(start.getRow() + random.nextInt(7) - 3, grid.getHeight());
+
+    if (grid.getStateAt(column, row).isEnd()) {
+      return;
+    }
+    grid.setStateAt(start.getColumn(), start.getRow(), DefaultGridState.EMPTY);
+    grid.setStateAt(column, row, DefaultGridState.START);
+  }
+
+  private static int clamp(int value, int size) {
+    return Math.max(0, Math.min(size - 1, value));
+  }
+
+  private static void assertSameAsFreshSearch(String message, DStarLiteAlgorithm planner,
+      AlgorithmGrid<DefaultGridState> grid) {
+    List<GridCoordinate> path = new ArrayList<>();
+    boolean found = planner.compute(grid, (column, row, state) -> {
+      if (state == DefaultGridState.SOLUTION) {
+        path.add(new GridCoordinate(column, row));
+      }
+    });
+
+    boolean foundByFreshPlanner = new DStarLiteAlgorithm(
+        DefaultDistanceFunction.EUCLIDEAN, Direction.WITH_DIAGONAL
+    ).compute(grid, (column, row, state) -> {
+    });
+    assertEquals(message, foundByFreshPlanner, found);
+
+    GridCoordinate start = grid.getStarts().iterator().next();
+    GridCoordinate end = grid.getEnd();
+    PathResult optimal = new AStarAlgorithm(
+        DefaultDistanceFunction.EUCLIDEAN, Direction.WITH_DIAGONAL
+    ).findPath(
+        grid.snapshot(),
+        start.getRow() * grid.getWidth() + start.getColumn(),
+        end.getRow() * grid.getWidth() + end.getColumn()
+    );
+    assertEquals(message, optimal.isFound(), found);
+
+    if (found) {
+      assertEquals(message, optimal.getCost(), getCost(message, grid, path), 1e-9);
+    }
+  }
+
+  private static double getCost(String message, AlgorithmGrid<DefaultGridState> grid,
+      List<GridCoordinate> path) {
+    double cost = 0;
+    for (int i = 1; i < path.size(); i++) {
+      GridCoordinate from = path.get(i - 1);
+      GridCoordinate to = path.get(i);
+      assertTrue(
+          message + ": can not move from " + from + " to " + to,
+          grid.canMove(from.getColumn(), from.getRow(), to.getColumn(), to.getRow())
+      );
+
+      cost += Direction.forMod(to.getColumn() - from.getColumn(), to.getRow() - from.getRow())
+          .getCost();
+    }
+    return cost;
+  }
+}
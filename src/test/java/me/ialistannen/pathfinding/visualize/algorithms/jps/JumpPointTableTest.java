@@ -0,0 +1,82 @@
+package me.ialistannen.pathfinding.visualize.algorithms.jps;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import me.ialistannen.pathfinding.visualize.algorithms.AlgorithmGrid;
+import me.ialistannen.pathfinding.visualize.algorithms.PassabilityTracker;
+import me.ialistannen.pathfinding.visualize.grid.DefaultGridState;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate;
+import me.ialistannen.pathfinding.visualize.grid.GridCoordinate.Direction;
+import org.junit.Test;
+
+public class JumpPointTableTest {
+
+  private static final int RUNS = 200;
+  private static final int EDITS_PER_RUN = 60;
+
+  /**
+   * Toggles random cells and compares the repaired table with a fresh build after every edit.
+   */
+  @Test
+  public void repairedTableEqualsFreshBuild() {
+    for (int run = 0; run < RUNS; run++) {
+      Random random = new Random(run);
+      int width = 8 + random.nextInt(25);
+      int height = 8 + random.nextInt(25);
+      double wallChance = random.nextDouble() * 0.4;
+
+      AlgorithmGrid<DefaultGridState> grid = new AlgorithmGrid<>(
+          DefaultGridState.EMPTY, width, height
+      );
+      for (int row = 0; row < height; row++) {
+        for (int column = 0; column < width; column++) {
+          if (random.nextDouble() < wallChance) {
+            grid.setStateAt(column, row, DefaultGridState.WALL);
+          }
+        }
+      }
+
+      PassabilityTracker<DefaultGridState> tracker = new PassabilityTracker<>();
+      tracker.track(grid);
+      JumpPointTable table = new JumpPointTable(grid);
+
+      for (int edit = 0; edit < EDITS_PER_RUN; edit++) {
+        int column = random.nextInt(width);
+        int row = random.nextInt(height);
+        DefaultGridState toggled = grid.getStateAt(column, row) == DefaultGridState.WALL
+            ? DefaultGridState.EMPTY
+            : DefaultGridState.WALL;
+        grid.setStateAt(column, row, toggled);
+
+        GridCoordinate coordinate;
+        while ((coordinate = tracker.poll()) != null) {
+          table.setPassable(
+              coordinate.getColumn(), coordinate.getRow(),
+              grid.isPassable(coordinate.getColumn(), coordinate.getRow())
+          );
+        }
+
+        assertTablesEqual(
+            "run " + run + ", edit " + edit + " at " + column + " " + row,
+            new JumpPointTable(grid), table
+        );
+      }
+      tracker.detach();
+    }
+  }
+
+  private static void assertTablesEqual(String message, JumpPointTable expected,
+      JumpPointTable actual) {
+    int width = expected.getWidth();
+    for (int cell = 0; cell < width * expected.getHeight(); cell++) {
+      for (Direction direction : Direction.values()) {
+        assertEquals(
+            message + ": jump from " + cell % width + " " + cell / width + " " + direction,
+            expected.getJumpDistance(cell, direction),
+            actual.getJumpDistance(cell, direction)
+        );
+      }
+    }
+  }
+}